@@ -0,0 +1,339 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.method.MethodMatchers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.BinaryTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.CompoundAssignmentTree;
+import com.sun.source.tree.DoWhileLoopTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.ForLoopTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.InstanceOfTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.UnaryTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.tree.WhileLoopTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import javax.lang.model.element.ElementKind;
+
+/**
+ * Updating a boxed number allocates a new box whenever the result falls outside the small value cache, so a boxed
+ * local used as a counter or sum within a loop allocates on almost every iteration. The same applies to counters held
+ * as boxed map values and incremented using {@code map.put(key, map.get(key) + 1)}, which also looks up the key twice.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = SeverityLevel.WARNING,
+        summary = "Boxed numbers updated within a loop allocate on every iteration. Prefer a primitive local, or"
+                + " Map.merge for counters held in a map.")
+public final class BoxedAccumulatorInLoop extends BugChecker
+        implements BugChecker.VariableTreeMatcher, BugChecker.MethodInvocationTreeMatcher {
+
+    private static final String MAP = "java.util.Map";
+
+    private static final Matcher<ExpressionTree> GET =
+            MethodMatchers.instanceMethod().onDescendantOf(MAP).named("get");
+
+    private static final Matcher<ExpressionTree> PUT =
+            MethodMatchers.instanceMethod().onDescendantOf(MAP).named("put");
+
+    @Override
+    public Description matchVariable(VariableTree tree, VisitorState state) {
+        VarSymbol symbol = ASTHelpers.getSymbol(tree);
+        Tree scope = state.getPath().getParentPath().getLeaf();
+        if (symbol == null
+                || symbol.getKind() != ElementKind.LOCAL_VARIABLE
+                || !isBoxedNumber(symbol.type, state)
+                || !(scope instanceof BlockTree || scope instanceof ForLoopTree)) {
+            return Description.NO_MATCH;
+        }
+        AccumulatorScanner scanner = new AccumulatorScanner(symbol, scope, state);
+        scanner.scan(state.getPath().getParentPath(), null);
+        if (scanner.updatesInLoop == 0) {
+            return Description.NO_MATCH;
+        }
+        Type primitive = state.getTypes().unboxedType(symbol.type);
+        Description.Builder description = buildDescription(tree)
+                .setMessage(String.format(
+                        "'%1$s' is a boxed %2$s updated within a loop, which allocates a new %2$s on most"
+                                + " iterations. Prefer declaring it as a %3$s.",
+                        tree.getName(), symbol.type.tsym.getSimpleName(), primitive));
+        Tree type = tree.getType();
+        String typeSource = type == null ? null : state.getSourceForNode(type);
+        if (scanner.unboxable
+                && isNeverNull(tree.getInitializer())
+                && typeSource != null
+                && !typeSource.equals("var")) {
+            description.addFix(SuggestedFix.replace(type, primitive.toString()));
+        }
+        return description.build();
+    }
+
+    /** {@code map.put(key, map.get(key) + value)} within a loop. */
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+        Optional<DoubleMapLookup.MapAccess> put = DoubleMapLookup.MapAccess.of(tree, PUT, state);
+        if (!put.isPresent() || tree.getArguments().size() != 2 || !MoreASTHelpers.isInLoopOrLambda(state)) {
+            return Description.NO_MATCH;
+        }
+        ExpressionTree value = ASTHelpers.stripParentheses(tree.getArguments().get(1));
+        if (value.getKind() != Tree.Kind.PLUS) {
+            return Description.NO_MATCH;
+        }
+        BinaryTree sum = (BinaryTree) value;
+        ExpressionTree increment;
+        ExpressionTree current;
+        if (isLookup(sum.getLeftOperand(), put.get(), state)) {
+            current = sum.getLeftOperand();
+            increment = sum.getRightOperand();
+        } else if (isLookup(sum.getRightOperand(), put.get(), state)) {
+            current = sum.getRightOperand();
+            increment = sum.getLeftOperand();
+        } else {
+            return Description.NO_MATCH;
+        }
+        Type valueType = ASTHelpers.getType(current);
+        if (!isBoxedNumber(valueType, state)) {
+            return Description.NO_MATCH;
+        }
+        Description.Builder description = buildDescription(tree)
+                .setMessage(String.format(
+                        "Incrementing a boxed %1$s map value within a loop unboxes it, allocates a new %1$s and looks"
+                                + " up the key twice. Prefer Map.merge, or a primitive or atomic counter.",
+                        valueType.tsym.getSimpleName()));
+        // merge returns the new value rather than the previous one, so the result must be unused
+        if (state.getPath().getParentPath().getLeaf() instanceof ExpressionStatementTree) {
+            DoubleMapLookup.sumMergeArguments(increment, valueType, state)
+                    .ifPresent(arguments -> description.addFix(
+                            SuggestedFix.replace(tree, put.get().render("merge", arguments, state))));
+        }
+        return description.build();
+    }
+
+    private static boolean isLookup(ExpressionTree operand, DoubleMapLookup.MapAccess put, VisitorState state) {
+        Optional<DoubleMapLookup.MapAccess> lookup = DoubleMapLookup.MapAccess.of(operand, GET, state);
+        return lookup.isPresent() && lookup.get().isSameAs(put);
+    }
+
+    private static boolean isBoxedNumber(@Nullable Type type, VisitorState state) {
+        if (type == null) {
+            return false;
+        }
+        switch (state.getTypes().unboxedType(type).getTag()) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /** Returns true if the expression has a primitive type, and so can't evaluate to null. */
+    private static boolean isNeverNull(@Nullable ExpressionTree expression) {
+        if (expression == null) {
+            return true;
+        }
+        Type type = ASTHelpers.getType(expression);
+        return type != null && type.isPrimitive();
+    }
+
+    /**
+     * Counts updates of the variable within loops nested in its scope, and checks whether every other use of the
+     * variable would behave the same if it were declared as a primitive.
+     */
+    private static final class AccumulatorScanner extends TreePathScanner<Void, Void> {
+        private final VarSymbol variable;
+        private final Tree scope;
+        private final VisitorState state;
+
+        private int loopDepth;
+        private int updatesInLoop;
+        private boolean unboxable = true;
+
+        AccumulatorScanner(VarSymbol variable, Tree scope, VisitorState state) {
+            this.variable = variable;
+            this.scope = scope;
+            this.state = state;
+            // Variables declared in the initializer of a for loop are updated by each iteration of the loop
+            this.loopDepth = scope instanceof ForLoopTree ? 1 : 0;
+        }
+
+        @Override
+        public Void scan(Tree tree, Void unused) {
+            boolean loop = tree != scope
+                    && (tree instanceof ForLoopTree
+                            || tree instanceof EnhancedForLoopTree
+                            || tree instanceof WhileLoopTree
+                            || tree instanceof DoWhileLoopTree);
+            if (loop) {
+                loopDepth++;
+            }
+            try {
+                return super.scan(tree, null);
+            } finally {
+                if (loop) {
+                    loopDepth--;
+                }
+            }
+        }
+
+        @Override
+        public Void visitAssignment(AssignmentTree node, Void unused) {
+            if (isVariable(node.getVariable())) {
+                // Any value assigned within a loop is boxed, and non-primitive values may be null
+                countUpdate();
+                if (!isNeverNull(node.getExpression())) {
+                    unboxable = false;
+                }
+                scan(node.getExpression(), null);
+                return null;
+            }
+            return super.visitAssignment(node, null);
+        }
+
+        @Override
+        public Void visitCompoundAssignment(CompoundAssignmentTree node, Void unused) {
+            if (isVariable(node.getVariable())) {
+                countUpdate();
+                scan(node.getExpression(), null);
+                return null;
+            }
+            return super.visitCompoundAssignment(node, null);
+        }
+
+        @Override
+        public Void visitUnary(UnaryTree node, Void unused) {
+            if (isVariable(node.getExpression())) {
+                switch (node.getKind()) {
+                    case PREFIX_INCREMENT:
+                    case POSTFIX_INCREMENT:
+                    case PREFIX_DECREMENT:
+                    case POSTFIX_DECREMENT:
+                        countUpdate();
+                        return null;
+                    default:
+                        break;
+                }
+            }
+            return super.visitUnary(node, null);
+        }
+
+        @Override
+        public Void visitIdentifier(IdentifierTree node, Void unused) {
+            if (isVariable(node) && !isUnboxedUse(getCurrentPath())) {
+                unboxable = false;
+            }
+            return null;
+        }
+
+        private void countUpdate() {
+            if (loopDepth > 0) {
+                updatesInLoop++;
+            }
+        }
+
+        private boolean isVariable(ExpressionTree tree) {
+            return Objects.equals(ASTHelpers.getSymbol(ASTHelpers.stripParentheses(tree)), variable);
+        }
+
+        /**
+         * Returns false for uses which depend on the variable being an object, such as method invocations, identity
+         * comparisons, null checks and arguments to object parameters.
+         */
+        private boolean isUnboxedUse(TreePath path) {
+            TreePath parentPath = path.getParentPath();
+            while (parentPath.getLeaf().getKind() == Tree.Kind.PARENTHESIZED) {
+                path = parentPath;
+                parentPath = parentPath.getParentPath();
+            }
+            Tree parent = parentPath.getLeaf();
+            if (parent instanceof MemberSelectTree || parent instanceof InstanceOfTree) {
+                return false;
+            }
+            if (parent.getKind() == Tree.Kind.EQUAL_TO || parent.getKind() == Tree.Kind.NOT_EQUAL_TO) {
+                BinaryTree comparison = (BinaryTree) parent;
+                ExpressionTree other = comparison.getLeftOperand() == path.getLeaf()
+                        ? comparison.getRightOperand()
+                        : comparison.getLeftOperand();
+                Type otherType = ASTHelpers.getType(other);
+                return otherType != null && otherType.isPrimitive();
+            }
+            if (parent instanceof MethodInvocationTree) {
+                return isPrimitiveParameter(
+                        ASTHelpers.getSymbol((MethodInvocationTree) parent),
+                        ((MethodInvocationTree) parent).getArguments(),
+                        path.getLeaf());
+            }
+            if (parent instanceof NewClassTree) {
+                return isPrimitiveParameter(
+                        ASTHelpers.getSymbol((NewClassTree) parent),
+                        ((NewClassTree) parent).getArguments(),
+                        path.getLeaf());
+            }
+            return parent.getKind() != Tree.Kind.SYNCHRONIZED;
+        }
+
+        /**
+         * Passing a primitive rather than a boxed number may select a different overload, such as
+         * {@code List.remove(int)} in place of {@code List.remove(Object)}, so only arguments to primitive parameters
+         * are unboxed uses.
+         */
+        private static boolean isPrimitiveParameter(
+                @Nullable MethodSymbol method, List<? extends ExpressionTree> arguments, Tree argument) {
+            int index = arguments.indexOf(argument);
+            if (method == null || index < 0) {
+                return false;
+            }
+            List<VarSymbol> parameters = method.getParameters();
+            if (method.isVarArgs() && index >= parameters.size() - 1) {
+                return false;
+            }
+            return index < parameters.size() && parameters.get(index).type.isPrimitive();
+        }
+    }
+}
@@ -35,6 +35,7 @@ import com.sun.source.tree.MemberSelectTree;
 import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.Tree;
 import com.sun.source.util.SimpleTreeVisitor;
+import com.sun.source.util.TreePath;
 import com.sun.source.util.TreeScanner;
 import java.util.List;
 import java.util.Optional;
@@ -55,9 +56,6 @@ public final class CatchBlockLogException extends BugChecker implements BugCheck
             .onDescendantOfAny("org.slf4j.Logger", "com.palantir.logsafe.logger.SafeLogger")
             .withNameMatching(Pattern.compile("trace|debug|info|warn|error"));
 
-    private static final Matcher<Tree> containslogMethod =
-            Matchers.contains(Matchers.toType(ExpressionTree.class, logMethod));
-
     private static final Matcher<ExpressionTree> logException = Matchers.methodInvocation(
             logMethod, ChildMultiMatcher.MatchType.LAST, MoreMatchers.isSubtypeOf(Throwable.class));
 
@@ -66,7 +64,8 @@ public final class CatchBlockLogException extends BugChecker implements BugCheck
 
     @Override
     public Description matchCatch(CatchTree tree, VisitorState state) {
-        if (containslogMethod.matches(tree, state) && !containslogException.matches(tree, state)) {
+        List<TreePath> invocations = CompilationUnitFacts.of(state).invocationsWithin(tree);
+        if (anyMatch(invocations, logMethod, state) && !anyMatch(invocations, logException, state)) {
             return buildDescription(tree)
                     .addFix(attemptFix(tree, state))
                     .setMessage("Catch block contains log statements but thrown exception is never logged.")
@@ -75,6 +74,16 @@ public final class CatchBlockLogException extends BugChecker implements BugCheck
         return Description.NO_MATCH;
     }
 
+    private static boolean anyMatch(
+            List<TreePath> invocations, Matcher<ExpressionTree> matcher, VisitorState state) {
+        for (TreePath invocation : invocations) {
+            if (matcher.matches((ExpressionTree) invocation.getLeaf(), state.withPath(invocation))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static SuggestedFix attemptFix(CatchTree tree, VisitorState state) {
         List<MethodInvocationTree> matchingLoggingStatements =
                 tree.getBlock().accept(LogStatementScanner.INSTANCE, state);
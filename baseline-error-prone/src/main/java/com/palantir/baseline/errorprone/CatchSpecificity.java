@@ -28,7 +28,6 @@ import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.Matchers;
 import com.google.errorprone.util.ASTHelpers;
-import com.sun.source.tree.AssignmentTree;
 import com.sun.source.tree.BlockTree;
 import com.sun.source.tree.CatchTree;
 import com.sun.source.tree.ExpressionTree;
@@ -43,6 +42,7 @@ import com.sun.source.tree.Tree;
 import com.sun.source.tree.TryTree;
 import com.sun.source.util.SimpleTreeVisitor;
 import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
 import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.tree.JCTree;
 import java.util.ArrayList;
@@ -130,10 +130,8 @@ public final class CatchSpecificity extends BugChecker implements BugChecker.Try
                             .build());
                 } else {
                     Name parameterName = catchTree.getParameter().getName();
-                    AssignmentScanner assignmentScanner = new AssignmentScanner(parameterName);
-                    catchTree.getBlock().accept(assignmentScanner, null);
                     SuggestedFix.Builder fix = SuggestedFix.builder();
-                    if (replacements.size() == 1 || !assignmentScanner.variableWasAssigned) {
+                    if (replacements.size() == 1 || !isParameterAssigned(catchTree, state)) {
                         catchTree.accept(new ImpossibleConditionScanner(fix, replacements, parameterName), state);
                         fix.replace(
                                 catchTypeTree,
@@ -153,6 +151,11 @@ public final class CatchSpecificity extends BugChecker implements BugChecker.Try
         return Description.NO_MATCH;
     }
 
+    private static boolean isParameterAssigned(CatchTree catchTree, VisitorState state) {
+        VarSymbol parameter = ASTHelpers.getSymbol(catchTree.getParameter());
+        return CompilationUnitFacts.of(state).usages(parameter).stream().anyMatch(CompilationUnitFacts::isAssignment);
+    }
+
     /** Caught types cannot be duplicated because code will not compile. */
     private static List<Type> deduplicateCatchTypes(
             List<Type> proposedReplacements, List<Type> caughtTypes, VisitorState state) {
@@ -269,36 +272,4 @@ public final class CatchSpecificity extends BugChecker implements BugChecker.Try
             return state.getSourceForNode(statement);
         }
     }
-
-    private static final class AssignmentScanner extends TreeScanner<Void, Void> {
-
-        private final Name exceptionName;
-        private boolean variableWasAssigned;
-
-        AssignmentScanner(Name exceptionName) {
-            this.exceptionName = exceptionName;
-        }
-
-        @Override
-        public Void visitAssignment(AssignmentTree node, Void state) {
-            ExpressionTree expression = node.getVariable();
-            if (expression instanceof IdentifierTree
-                    && ((IdentifierTree) expression).getName().contentEquals(exceptionName)) {
-                variableWasAssigned = true;
-            }
-            return super.visitAssignment(node, null);
-        }
-
-        // Avoid searching outside the current scope
-        @Override
-        public Void visitLambdaExpression(LambdaExpressionTree node, Void state) {
-            return null;
-        }
-
-        // Avoid searching outside the current scope
-        @Override
-        public Void visitNewClass(NewClassTree var1, Void state) {
-            return null;
-        }
-    }
 }
@@ -0,0 +1,179 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.CatchTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.util.Context;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Facts about a compilation unit which are needed by several checks, collected in a single traversal rather than
+ * each check scanning the compilation unit independently.
+ *
+ * <p>Each part is built lazily, at most once per compilation unit, so checks which only need super methods don't pay
+ * for scanning the compilation unit.
+ */
+final class CompilationUnitFacts {
+    private static final Context.Key<Holder> KEY = new Context.Key<>();
+
+    private final CompilationUnitTree compilationUnit;
+    private final Map<MethodSymbol, ImmutableSet<MethodSymbol>> superMethods = new IdentityHashMap<>();
+
+    @Nullable
+    private Usages usages;
+
+    private CompilationUnitFacts(CompilationUnitTree compilationUnit) {
+        this.compilationUnit = compilationUnit;
+    }
+
+    /** Returns the facts of the compilation unit currently being analyzed. */
+    static CompilationUnitFacts of(VisitorState state) {
+        Holder holder = state.context.get(KEY);
+        if (holder == null) {
+            holder = new Holder();
+            state.context.put(KEY, holder);
+        }
+        CompilationUnitTree compilationUnit = state.getPath().getCompilationUnit();
+        // Compilation units are analyzed one at a time, so only the most recent index needs to be retained
+        if (holder.compilationUnit != compilationUnit) {
+            holder.facts = new CompilationUnitFacts(compilationUnit);
+            holder.compilationUnit = compilationUnit;
+        }
+        return holder.facts;
+    }
+
+    /** Returns the declaration and all references of the given variable, in source order. */
+    List<TreePath> usages(Symbol variable) {
+        return Collections.unmodifiableList(usages().variableUsages.get(variable));
+    }
+
+    /** Returns all invocations of methods declared by the given class. */
+    List<TreePath> invocations(Symbol owner) {
+        return Collections.unmodifiableList(usages().invocationsByOwner.get(owner));
+    }
+
+    /** Returns all method invocations within the catch block, including those within nested trees. */
+    List<TreePath> invocationsWithin(CatchTree catchTree) {
+        return usages().catchInvocations.getOrDefault(catchTree, Collections.emptyList());
+    }
+
+    /** Returns the methods overridden by the given method, computed at most once per method. */
+    ImmutableSet<MethodSymbol> superMethods(MethodSymbol method, VisitorState state) {
+        return superMethods.computeIfAbsent(
+                method, key -> ImmutableSet.copyOf(ASTHelpers.findSuperMethods(key, state.getTypes())));
+    }
+
+    private Usages usages() {
+        if (usages == null) {
+            usages = new Usages();
+            usages.scan(new TreePath(compilationUnit), null);
+        }
+        return usages;
+    }
+
+    /** Returns true if the usage returned by {@link #usages(Symbol)} is the target of an assignment. */
+    static boolean isAssignment(TreePath usage) {
+        Tree parent = usage.getParentPath().getLeaf();
+        return parent instanceof AssignmentTree && ((AssignmentTree) parent).getVariable() == usage.getLeaf();
+    }
+
+    /** Variable usages and method invocations, collected in a single scan of the compilation unit. */
+    private static final class Usages extends TreePathScanner<Void, Void> {
+        private final ListMultimap<Symbol, TreePath> variableUsages = ArrayListMultimap.create();
+        private final ListMultimap<Symbol, TreePath> invocationsByOwner = ArrayListMultimap.create();
+        private final Map<CatchTree, List<TreePath>> catchInvocations = new IdentityHashMap<>();
+
+        // Invocations of the catch blocks enclosing the current path, innermost last
+        private final List<List<TreePath>> enclosingCatches = new ArrayList<>();
+
+        @Override
+        public Void visitVariable(VariableTree node, Void unused) {
+            addUsage(ASTHelpers.getSymbol(node));
+            return super.visitVariable(node, null);
+        }
+
+        @Override
+        public Void visitIdentifier(IdentifierTree node, Void unused) {
+            addUsage(ASTHelpers.getSymbol(node));
+            return null;
+        }
+
+        @Override
+        public Void visitMemberSelect(MemberSelectTree node, Void unused) {
+            addUsage(ASTHelpers.getSymbol(node));
+            return super.visitMemberSelect(node, null);
+        }
+
+        @Override
+        public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+            MethodSymbol symbol = ASTHelpers.getSymbol(node);
+            if (symbol != null) {
+                invocationsByOwner.put(symbol.owner, getCurrentPath());
+            }
+            for (List<TreePath> invocations : enclosingCatches) {
+                invocations.add(getCurrentPath());
+            }
+            return super.visitMethodInvocation(node, null);
+        }
+
+        @Override
+        public Void visitCatch(CatchTree node, Void unused) {
+            List<TreePath> invocations = new ArrayList<>();
+            catchInvocations.put(node, invocations);
+            enclosingCatches.add(invocations);
+            super.visitCatch(node, null);
+            enclosingCatches.remove(enclosingCatches.size() - 1);
+            return null;
+        }
+
+        private void addUsage(@Nullable Symbol symbol) {
+            if (symbol instanceof VarSymbol) {
+                variableUsages.put(symbol, getCurrentPath());
+            }
+        }
+    }
+
+    private static final class Holder {
+        @Nullable
+        private CompilationUnitTree compilationUnit;
+
+        @Nullable
+        private CompilationUnitFacts facts;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.Types;
+import com.sun.tools.javac.util.Context;
+import java.util.HashSet;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Classes and packages referenced by a compilation unit, allowing library-specific checks to skip compilation units
+ * which cannot possibly match before evaluating more expensive matchers on every node. Referenced classes include the
+ * owners of all referenced members, the types of all expressions, and all supertypes of those classes, so checks
+ * matching {@code onDescendantOf} may filter on the ancestor they match.
+ *
+ * <p>The index is built lazily, at most once per compilation unit.
+ */
+final class CompilationUnitReferences {
+    private static final Context.Key<Holder> KEY = new Context.Key<>();
+
+    private final Set<String> referencedClasses;
+    private final Set<String> referencedPackages;
+
+    private CompilationUnitReferences(Set<String> referencedClasses, Set<String> referencedPackages) {
+        this.referencedClasses = referencedClasses;
+        this.referencedPackages = referencedPackages;
+    }
+
+    /** Returns the references of the compilation unit currently being analyzed. */
+    static CompilationUnitReferences of(VisitorState state) {
+        Holder holder = state.context.get(KEY);
+        if (holder == null) {
+            holder = new Holder();
+            state.context.put(KEY, holder);
+        }
+        CompilationUnitTree compilationUnit = state.getPath().getCompilationUnit();
+        // Compilation units are analyzed one at a time, so only the most recent index needs to be retained
+        if (holder.compilationUnit != compilationUnit) {
+            holder.references = build(compilationUnit, state.getTypes());
+            holder.compilationUnit = compilationUnit;
+        }
+        return holder.references;
+    }
+
+    /** Returns true if the class with the given canonical name, or one of its subtypes, is referenced. */
+    boolean referencesClass(String className) {
+        return referencedClasses.contains(className);
+    }
+
+    /** Returns true if a class in the given package, or one of its subpackages, is referenced. */
+    boolean referencesPackage(String packageName) {
+        if (referencedPackages.contains(packageName)) {
+            return true;
+        }
+        for (String referencedPackage : referencedPackages) {
+            if (referencedPackage.length() > packageName.length()
+                    && referencedPackage.startsWith(packageName)
+                    && referencedPackage.charAt(packageName.length()) == '.') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static CompilationUnitReferences build(CompilationUnitTree compilationUnit, Types types) {
+        Set<ClassSymbol> owners = new HashSet<>();
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void scan(Tree tree, Void unused) {
+                // Expressions may be of a type which isn't otherwise named, e.g. the result of a getter or the
+                // parameter of a lambda
+                if (tree instanceof ExpressionTree) {
+                    Type type = ASTHelpers.getType(tree);
+                    if (type != null && type.tsym instanceof ClassSymbol) {
+                        owners.add((ClassSymbol) type.tsym);
+                    }
+                }
+                return super.scan(tree, null);
+            }
+
+            @Override
+            public Void visitIdentifier(IdentifierTree node, Void unused) {
+                addOwner(ASTHelpers.getSymbol(node));
+                return null;
+            }
+
+            @Override
+            public Void visitMemberSelect(MemberSelectTree node, Void unused) {
+                addOwner(ASTHelpers.getSymbol(node));
+                return super.visitMemberSelect(node, null);
+            }
+
+            private void addOwner(@Nullable Symbol symbol) {
+                if (symbol == null) {
+                    return;
+                }
+                if (symbol instanceof ClassSymbol) {
+                    owners.add((ClassSymbol) symbol);
+                    return;
+                }
+                ClassSymbol owner = ASTHelpers.enclosingClass(symbol);
+                if (owner != null) {
+                    owners.add(owner);
+                }
+            }
+        }.scan(compilationUnit, null);
+
+        Set<String> referencedClasses = new HashSet<>();
+        Set<String> referencedPackages = new HashSet<>();
+        Set<ClassSymbol> visited = new HashSet<>();
+        for (ClassSymbol owner : owners) {
+            for (Type type : types.closure(owner.type)) {
+                if (type.tsym instanceof ClassSymbol && visited.add((ClassSymbol) type.tsym)) {
+                    ClassSymbol classSymbol = (ClassSymbol) type.tsym;
+                    referencedClasses.add(classSymbol.getQualifiedName().toString());
+                    referencedPackages.add(classSymbol.packge().getQualifiedName().toString());
+                }
+            }
+        }
+        return new CompilationUnitReferences(referencedClasses, referencedPackages);
+    }
+
+    private static final class Holder {
+        @Nullable
+        private CompilationUnitTree compilationUnit;
+
+        @Nullable
+        private CompilationUnitReferences references;
+    }
+}
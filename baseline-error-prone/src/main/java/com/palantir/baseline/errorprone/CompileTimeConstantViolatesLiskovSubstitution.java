@@ -56,7 +56,7 @@ public final class CompileTimeConstantViolatesLiskovSubstitution extends BugChec
         }
 
         MethodSymbol methodSymbol = ASTHelpers.getSymbol(tree);
-        Set<MethodSymbol> superMethods = ASTHelpers.findSuperMethods(methodSymbol, state.getTypes());
+        Set<MethodSymbol> superMethods = CompilationUnitFacts.of(state).superMethods(methodSymbol, state);
         // no super-methods, nothing to do
         if (superMethods.isEmpty()) {
             return Description.NO_MATCH;
@@ -30,7 +30,6 @@ import com.sun.source.tree.VariableTree;
 import com.sun.tools.javac.code.Symbol.MethodSymbol;
 import com.sun.tools.javac.code.Symbol.VarSymbol;
 import com.sun.tools.javac.code.Type;
-import com.sun.tools.javac.code.Types;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -58,7 +57,7 @@ public final class ConsistentOverrides extends BugChecker implements MethodTreeM
             return Description.NO_MATCH;
         }
 
-        getNonParameterizedSuperMethod(methodSymbol, state.getTypes())
+        getNonParameterizedSuperMethod(methodSymbol, state)
                 .filter(ConsistentOverrides::retainedParameterNames)
                 .ifPresent(superMethod -> IntStream.range(0, methodParameters.size())
                         .mapToObj(i -> ParamEntry.of(superMethod.params().get(i), i))
@@ -163,8 +162,9 @@ public final class ConsistentOverrides extends BugChecker implements MethodTreeM
         return false;
     }
 
-    private static Optional<MethodSymbol> getNonParameterizedSuperMethod(MethodSymbol methodSymbol, Types types) {
-        return ASTHelpers.findSuperMethods(methodSymbol, types).stream()
+    private static Optional<MethodSymbol> getNonParameterizedSuperMethod(
+            MethodSymbol methodSymbol, VisitorState state) {
+        return CompilationUnitFacts.of(state).superMethods(methodSymbol, state).stream()
                 .filter(superMethod -> superMethod.owner.getTypeParameters().isEmpty())
                 .filter(superMethod -> superMethod.getTypeParameters().isEmpty())
                 .findFirst();
@@ -0,0 +1,287 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.common.base.CaseFormat;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Symbol.PackageSymbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.tree.JCTree;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import javax.lang.model.element.ElementKind;
+
+/**
+ * Utilities for checks which suggest moving an expression that is evaluated on every invocation of a method into a
+ * {@code private static final} field, evaluated once when the class is initialized.
+ */
+final class ConstantHoisting {
+
+    /** Returns true if the current path is within the body of a method, rather than a field or class initializer. */
+    static boolean isWithinMethodBody(VisitorState state) {
+        for (Tree tree : state.getPath()) {
+            if (tree instanceof MethodTree) {
+                return true;
+            }
+            if (tree instanceof ClassTree) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the nearest enclosing class which may declare a {@code private static final} field. Interfaces, records,
+     * inner, local and anonymous classes are skipped in favor of an enclosing class.
+     */
+    static Optional<TreePath> findHost(VisitorState state) {
+        for (TreePath path = state.getPath(); path != null; path = path.getParentPath()) {
+            if (path.getLeaf() instanceof ClassTree && isHost((ClassTree) path.getLeaf())) {
+                return Optional.of(path);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isHost(ClassTree tree) {
+        if (tree.getKind() != Tree.Kind.CLASS && tree.getKind() != Tree.Kind.ENUM) {
+            return false;
+        }
+        ClassSymbol symbol = ASTHelpers.getSymbol(tree);
+        return symbol != null
+                && !symbol.isAnonymous()
+                && (symbol.owner instanceof PackageSymbol
+                        || (symbol.owner instanceof ClassSymbol && symbol.isStatic()));
+    }
+
+    /**
+     * Renders an argument such that it may be evaluated when initializing a static field at the start of the host
+     * class, or returns empty if the argument is not constant. References to constants within the host are qualified
+     * to avoid illegal forward references.
+     */
+    static Optional<String> renderConstantArgument(ExpressionTree argument, TreePath host, VisitorState state) {
+        if (argument instanceof LiteralTree) {
+            return Optional.of(state.getSourceForNode(argument));
+        }
+        if (argument instanceof MemberSelectTree
+                && ((MemberSelectTree) argument).getIdentifier().contentEquals("class")) {
+            return Optional.of(state.getSourceForNode(argument));
+        }
+        Symbol symbol = ASTHelpers.getSymbol(argument);
+        if (symbol instanceof VarSymbol
+                && symbol.getKind() == ElementKind.FIELD
+                && symbol.isStatic()
+                && (symbol.flags() & Flags.FINAL) != 0
+                && (argument instanceof IdentifierTree || argument instanceof MemberSelectTree)) {
+            boolean sameOutermostClass = symbol.outermostClass().equals(hostSymbol(host).outermostClass());
+            if (sameOutermostClass && ((VarSymbol) symbol).getConstValue() == null) {
+                // Other static fields of the host may not have been initialized yet
+                return Optional.empty();
+            }
+            if (sameOutermostClass && argument instanceof IdentifierTree) {
+                return Optional.of(symbol.owner.getSimpleName() + "." + symbol.getSimpleName());
+            }
+            return Optional.of(state.getSourceForNode(argument));
+        }
+        Object constValue = ASTHelpers.constValue(argument);
+        if (constValue != null) {
+            return Optional.of(state.getConstantExpression(constValue));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Renders {@code expression} with each of the given arguments rendered by
+     * {@link #renderConstantArgument(ExpressionTree, TreePath, VisitorState)}, or returns empty if any argument is not
+     * constant.
+     */
+    static Optional<String> renderConstantExpression(
+            ExpressionTree expression, List<? extends ExpressionTree> arguments, TreePath host, VisitorState state) {
+        String source = state.getSourceForNode(expression);
+        int start = ((JCTree) expression).getStartPosition();
+        StringBuilder result = new StringBuilder();
+        int copied = 0;
+        for (ExpressionTree argument : arguments) {
+            Optional<String> rendered = renderConstantArgument(argument, host, state);
+            if (!rendered.isPresent()) {
+                return Optional.empty();
+            }
+            int argumentStart = ((JCTree) argument).getStartPosition() - start;
+            int argumentEnd = state.getEndPosition(argument) - start;
+            if (argumentStart < copied || argumentEnd > source.length()) {
+                return Optional.empty();
+            }
+            result.append(source, copied, argumentStart).append(rendered.get());
+            copied = argumentEnd;
+        }
+        return Optional.of(result.append(source.substring(copied)).toString());
+    }
+
+    /**
+     * Suggests a constant name for the value of {@code expression}, using the name of the local variable it
+     * initializes if there is one, otherwise the simple name of {@code typeName}.
+     */
+    static String constantName(TreePath expression, String typeName) {
+        Tree parent = expression.getParentPath().getLeaf();
+        if (parent instanceof VariableTree
+                && ((VariableTree) parent).getInitializer() == expression.getLeaf()
+                && ASTHelpers.getSymbol(parent) != null
+                && ASTHelpers.getSymbol(parent).getKind() == ElementKind.LOCAL_VARIABLE) {
+            return CaseFormat.LOWER_CAMEL.to(
+                    CaseFormat.UPPER_UNDERSCORE, ((VariableTree) parent).getName().toString());
+        }
+        return CaseFormat.UPPER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, typeName);
+    }
+
+    /**
+     * Returns a name derived from {@code baseName} which doesn't conflict with members of the host, nor with the names
+     * suggested for other expressions in the host which precede {@code current}, so that fixes for several
+     * expressions in the same class may be applied together. {@code candidateName} returns the base name suggested
+     * for other expressions in the host, or empty for expressions which aren't reported.
+     */
+    static String uniqueName(
+            String baseName,
+            TreePath host,
+            Tree current,
+            VisitorState state,
+            BiFunction<TreePath, VisitorState, Optional<String>> candidateName) {
+        int currentPosition = ((JCTree) current).getStartPosition();
+        int[] preceding = {0};
+        new TreePathScanner<Void, Void>() {
+            @Override
+            public Void scan(Tree tree, Void unused) {
+                if (tree instanceof ExpressionTree
+                        && tree != current
+                        && ((JCTree) tree).getStartPosition() < currentPosition) {
+                    TreePath path = new TreePath(getCurrentPath(), tree);
+                    if (candidateName
+                            .apply(path, state.withPath(path))
+                            .filter(baseName::equals)
+                            .isPresent()) {
+                        preceding[0]++;
+                    }
+                }
+                return super.scan(tree, null);
+            }
+        }.scan(host, null);
+        Set<String> memberNames = new HashSet<>();
+        for (Symbol member : hostSymbol(host).getEnclosedElements()) {
+            memberNames.add(member.getSimpleName().toString());
+        }
+        int suffix = preceding[0] + 1;
+        String name = suffix == 1 ? baseName : baseName + "_" + suffix;
+        while (memberNames.contains(name)) {
+            suffix++;
+            name = baseName + "_" + suffix;
+        }
+        return name;
+    }
+
+    /**
+     * Adds a field declaration at the start of the host class body, following enum constants, so that it is
+     * initialized before any other static state which may depend upon it.
+     */
+    static Optional<SuggestedFix> addField(TreePath host, String declaration, VisitorState state) {
+        ClassTree classTree = (ClassTree) host.getLeaf();
+        CharSequence source = state.getSourceCode();
+        if (source == null) {
+            return Optional.empty();
+        }
+        int headerEnd =
+                Math.max(((JCTree) classTree).getStartPosition(), state.getEndPosition(classTree.getModifiers()));
+        headerEnd = Math.max(headerEnd, endPosition(classTree.getTypeParameters(), state));
+        headerEnd = Math.max(headerEnd, endPosition(classTree.getImplementsClause(), state));
+        if (classTree.getExtendsClause() != null) {
+            headerEnd = Math.max(headerEnd, state.getEndPosition(classTree.getExtendsClause()));
+        }
+        int position = indexOf(source, '{', headerEnd);
+        if (position < 0) {
+            return Optional.empty();
+        }
+        if (classTree.getKind() == Tree.Kind.ENUM) {
+            for (Tree member : classTree.getMembers()) {
+                if (member instanceof VariableTree && (ASTHelpers.getSymbol(member).flags() & Flags.ENUM) != 0) {
+                    position = Math.max(position, state.getEndPosition(member));
+                }
+            }
+            // Members other than constants follow the semicolon terminating the constants
+            position = indexOf(source, ';', position);
+            if (position < 0) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(SuggestedFix.replace(position + 1, position + 1, "\n" + declaration + "\n"));
+    }
+
+    /** Renders a {@code private static final} declaration. */
+    static String declaration(String type, String name, String initializer) {
+        return "private static final " + type + " " + name + " = " + initializer + ";";
+    }
+
+    /** Renders the type of a value which may be used by a single thread at a time. */
+    static String threadLocalType(String type, SuggestedFix.Builder fix, VisitorState state) {
+        return SuggestedFixes.qualifyType(state, fix, ThreadLocal.class.getName()) + "<" + type + ">";
+    }
+
+    /** Renders an initializer creating a separate value for each thread. */
+    static String threadLocalInitializer(String initializer, SuggestedFix.Builder fix, VisitorState state) {
+        return SuggestedFixes.qualifyType(state, fix, ThreadLocal.class.getName()) + ".withInitial(() -> "
+                + initializer + ")";
+    }
+
+    private static ClassSymbol hostSymbol(TreePath host) {
+        return ASTHelpers.getSymbol((ClassTree) host.getLeaf());
+    }
+
+    private static int endPosition(List<? extends Tree> trees, VisitorState state) {
+        int end = -1;
+        for (Tree tree : trees) {
+            end = Math.max(end, state.getEndPosition(tree));
+        }
+        return end;
+    }
+
+    private static int indexOf(CharSequence source, char character, int from) {
+        for (int i = Math.max(from, 0); i < source.length(); i++) {
+            if (source.charAt(i) == character) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ConstantHoisting() {}
+}
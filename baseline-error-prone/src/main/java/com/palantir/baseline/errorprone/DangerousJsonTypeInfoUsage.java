@@ -44,6 +44,12 @@ public final class DangerousJsonTypeInfoUsage extends BugChecker
 
     private static final long serialVersionUID = 1L;
 
+    private static final Matcher<AnnotationTree> referencesJsonTypeInfo =
+            MoreMatchers.compilationUnitReferencesClass("com.fasterxml.jackson.annotation.JsonTypeInfo");
+
+    private static final Matcher<ExpressionTree> referencesObjectMapper =
+            MoreMatchers.compilationUnitReferencesClass("com.fasterxml.jackson.databind.ObjectMapper");
+
     private static final Matcher<AnnotationTree> annotationMatcher = new AnnotationHasArgumentWithValue(
             "use",
             Matchers.allOf(
@@ -68,7 +74,7 @@ public final class DangerousJsonTypeInfoUsage extends BugChecker
 
     @Override
     public Description matchAnnotation(AnnotationTree tree, VisitorState state) {
-        if (!annotationMatcher.matches(tree, state)) {
+        if (!referencesJsonTypeInfo.matches(tree, state) || !annotationMatcher.matches(tree, state)) {
             return Description.NO_MATCH;
         }
 
@@ -80,7 +86,7 @@ public final class DangerousJsonTypeInfoUsage extends BugChecker
 
     @Override
     public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
-        if (!objectMapperTypeInfoMatcher.matches(tree, state)) {
+        if (!referencesObjectMapper.matches(tree, state) || !objectMapperTypeInfoMatcher.matches(tree, state)) {
             return Description.NO_MATCH;
         }
         return buildDescription(tree)
@@ -0,0 +1,311 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.common.base.CaseFormat;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.method.MethodMatchers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.BinaryTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ConditionalExpressionTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IfTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.TypeCastTree;
+import com.sun.source.tree.UnaryTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+/**
+ * Arguments to a log statement are evaluated before the logger checks whether the level is enabled, so disabled trace
+ * and debug statements still pay for computing their arguments, wrapping them in logsafe args, and allocating a
+ * varargs array.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = SeverityLevel.SUGGESTION,
+        summary = "Arguments to trace and debug log statements are computed even when the level is disabled. Guard"
+                + " statements with expensive arguments using the matching is<Level>Enabled check.")
+public final class DisabledLogLevelArgumentCost extends BugChecker implements MethodInvocationTreeMatcher {
+
+    private static final String[] LOGGERS = {"org.slf4j.Logger", "com.palantir.logsafe.logger.SafeLogger"};
+
+    private static final Matcher<ExpressionTree> LOG_METHOD =
+            MethodMatchers.instanceMethod().onDescendantOfAny(LOGGERS).namedAnyOf("trace", "debug");
+
+    private static final Matcher<ExpressionTree> LEVEL_CHECK_METHOD = MethodMatchers.instanceMethod()
+            .onDescendantOfAny(LOGGERS)
+            .namedAnyOf("isTraceEnabled", "isDebugEnabled");
+
+    private static final Matcher<ExpressionTree> ARG_FACTORY = MethodMatchers.staticMethod()
+            .onClassAny("com.palantir.logsafe.SafeArg", "com.palantir.logsafe.UnsafeArg")
+            .named("of");
+
+    /** Accessors which are expected to return an existing value without computation. */
+    private static final Pattern TRIVIAL_GETTER = Pattern.compile("(get|is|has)[A-Z].*|size|length");
+
+    /** Beyond two format arguments, slf4j allocates a varargs array. */
+    private static final int MAX_CHEAP_ARGUMENTS = 2;
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+        if (!LOG_METHOD.matches(tree, state) || !isExpensive(tree, state) || isGuarded(tree, state)) {
+            return Description.NO_MATCH;
+        }
+        String level = ASTHelpers.getSymbol(tree).getSimpleName().toString();
+        String levelCheck = "is" + CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, level) + "Enabled";
+        Description.Builder description = buildDescription(tree)
+                .setMessage(String.format(
+                        "Arguments to this %s statement are computed even when %s logging is disabled. Guard it"
+                                + " using %s().",
+                        level, level.toUpperCase(Locale.ENGLISH), levelCheck));
+        Tree parent = state.getPath().getParentPath().getLeaf();
+        if (!(parent instanceof ExpressionStatementTree)) {
+            return description.build();
+        }
+        ExpressionTree receiver = ASTHelpers.getReceiver(tree);
+        String guard = "if (" + (receiver == null ? "" : state.getSourceForNode(receiver) + ".") + levelCheck
+                + "()) {\n" + state.getSourceForNode(parent) + "\n}";
+        // Avoid changing which statement a trailing else belongs to
+        boolean inBlock = state.getPath().getParentPath().getParentPath().getLeaf() instanceof BlockTree;
+        return description
+                .addFix(SuggestedFix.replace(parent, inBlock ? guard : "{\n" + guard + "\n}"))
+                .build();
+    }
+
+    private static boolean isExpensive(MethodInvocationTree tree, VisitorState state) {
+        List<? extends ExpressionTree> arguments = tree.getArguments();
+        int messageIndex = -1;
+        for (int i = 0; i < arguments.size(); i++) {
+            if (ASTHelpers.isSameType(ASTHelpers.getType(arguments.get(i)), state.getSymtab().stringType, state)) {
+                messageIndex = i;
+                break;
+            }
+        }
+        if (messageIndex < 0) {
+            return false;
+        }
+        if (arguments.size() - messageIndex - 1 > MAX_CHEAP_ARGUMENTS) {
+            return true;
+        }
+        for (int i = messageIndex; i < arguments.size(); i++) {
+            if (isExpensive(arguments.get(i), state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns true if evaluating the expression may invoke non-trivial methods, allocate, or concatenate strings. */
+    private static boolean isExpensive(ExpressionTree tree, VisitorState state) {
+        ExpressionTree expression = ASTHelpers.stripParentheses(tree);
+        if (ASTHelpers.constValue(expression) != null) {
+            return false;
+        }
+        switch (expression.getKind()) {
+            case MEMBER_SELECT:
+                return isExpensive(((MemberSelectTree) expression).getExpression(), state);
+            case TYPE_CAST:
+                return isExpensive(((TypeCastTree) expression).getExpression(), state);
+            case CONDITIONAL_EXPRESSION:
+                ConditionalExpressionTree conditional = (ConditionalExpressionTree) expression;
+                return isExpensive(conditional.getCondition(), state)
+                        || isExpensive(conditional.getTrueExpression(), state)
+                        || isExpensive(conditional.getFalseExpression(), state);
+            case NEW_CLASS:
+            case NEW_ARRAY:
+                return true;
+            case METHOD_INVOCATION:
+                return isExpensiveInvocation((MethodInvocationTree) expression, state);
+            default:
+                if (expression instanceof BinaryTree) {
+                    BinaryTree binary = (BinaryTree) expression;
+                    if (expression.getKind() == Tree.Kind.PLUS
+                            && ASTHelpers.isSameType(
+                                    ASTHelpers.getType(expression), state.getSymtab().stringType, state)) {
+                        return true;
+                    }
+                    return isExpensive(binary.getLeftOperand(), state) || isExpensive(binary.getRightOperand(), state);
+                }
+                if (expression instanceof UnaryTree) {
+                    return isExpensive(((UnaryTree) expression).getExpression(), state);
+                }
+                return false;
+        }
+    }
+
+    private static boolean isExpensiveInvocation(MethodInvocationTree tree, VisitorState state) {
+        if (ARG_FACTORY.matches(tree, state)) {
+            // The wrapper allocation is accounted for by the argument count
+            for (ExpressionTree argument : tree.getArguments()) {
+                if (isExpensive(argument, state)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        ExpressionTree receiver = ASTHelpers.getReceiver(tree);
+        return !tree.getArguments().isEmpty()
+                || ASTHelpers.isStatic(ASTHelpers.getSymbol(tree))
+                || !TRIVIAL_GETTER
+                        .matcher(ASTHelpers.getSymbol(tree).getSimpleName())
+                        .matches()
+                || (receiver != null && isExpensive(receiver, state));
+    }
+
+    /**
+     * Returns true if the statement is only reached when a level check succeeds, either within the body of an
+     * {@code if} statement or following an {@code if} statement which exits when the level is disabled.
+     */
+    private static boolean isGuarded(MethodInvocationTree log, VisitorState state) {
+        TreePath child = state.getPath();
+        for (TreePath path = child.getParentPath(); path != null; child = path, path = path.getParentPath()) {
+            Tree tree = path.getLeaf();
+            if (tree instanceof MethodTree || tree instanceof ClassTree) {
+                return false;
+            }
+            if (tree instanceof IfTree
+                    && ((IfTree) tree).getThenStatement() == child.getLeaf()
+                    && containsLevelCheck(((IfTree) tree).getCondition(), log, state)) {
+                return true;
+            }
+            if (tree instanceof ConditionalExpressionTree
+                    && ((ConditionalExpressionTree) tree).getTrueExpression() == child.getLeaf()
+                    && containsLevelCheck(((ConditionalExpressionTree) tree).getCondition(), log, state)) {
+                return true;
+            }
+            if (tree instanceof BlockTree && isPrecededByEarlyExit((BlockTree) tree, child.getLeaf(), log, state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Matches {@code if (!log.isDebugEnabled()) { return; }} preceding the statement. */
+    private static boolean isPrecededByEarlyExit(
+            BlockTree block, Tree statement, MethodInvocationTree log, VisitorState state) {
+        for (StatementTree preceding : block.getStatements()) {
+            if (preceding == statement) {
+                return false;
+            }
+            if (!(preceding instanceof IfTree) || ((IfTree) preceding).getElseStatement() != null) {
+                continue;
+            }
+            IfTree ifTree = (IfTree) preceding;
+            ExpressionTree condition = ASTHelpers.stripParentheses(ifTree.getCondition());
+            if (condition.getKind() == Tree.Kind.LOGICAL_COMPLEMENT
+                    && isLevelCheckFor(((UnaryTree) condition).getExpression(), log, state)
+                    && exits(ifTree.getThenStatement())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean exits(StatementTree statement) {
+        if (statement instanceof BlockTree) {
+            List<? extends StatementTree> statements = ((BlockTree) statement).getStatements();
+            return !statements.isEmpty() && exits(statements.get(statements.size() - 1));
+        }
+        switch (statement.getKind()) {
+            case RETURN:
+            case THROW:
+            case CONTINUE:
+            case BREAK:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean containsLevelCheck(ExpressionTree condition, MethodInvocationTree log, VisitorState state) {
+        Boolean found = condition.accept(
+                new TreeScanner<Boolean, Void>() {
+                    @Override
+                    public Boolean visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                        if (isLevelCheckFor(node, log, state)) {
+                            return true;
+                        }
+                        return super.visitMethodInvocation(node, null);
+                    }
+
+                    @Override
+                    public Boolean visitUnary(UnaryTree node, Void unused) {
+                        // A negated level check guards the else branch rather than the then branch
+                        return node.getKind() == Tree.Kind.LOGICAL_COMPLEMENT ? null : super.visitUnary(node, null);
+                    }
+
+                    @Override
+                    public Boolean reduce(Boolean first, Boolean second) {
+                        return Boolean.TRUE.equals(first) || Boolean.TRUE.equals(second);
+                    }
+                },
+                null);
+        return Boolean.TRUE.equals(found);
+    }
+
+    /**
+     * Returns true if the expression checks that the level of the log statement, or a more verbose level, is enabled
+     * on the same logger. Checking {@code isDebugEnabled()} doesn't avoid the cost of a trace statement when debug
+     * logging is enabled and trace logging isn't.
+     */
+    private static boolean isLevelCheckFor(ExpressionTree expression, MethodInvocationTree log, VisitorState state) {
+        ExpressionTree check = ASTHelpers.stripParentheses(expression);
+        if (!(check instanceof MethodInvocationTree) || !LEVEL_CHECK_METHOD.matches(check, state)) {
+            return false;
+        }
+        String checkName = ASTHelpers.getSymbol((MethodInvocationTree) check).getSimpleName().toString();
+        boolean coversLevel = checkName.equals("isTraceEnabled")
+                || ASTHelpers.getSymbol(log).getSimpleName().contentEquals("debug");
+        return coversLevel && isSameLogger(ASTHelpers.getReceiver(check), ASTHelpers.getReceiver(log), state);
+    }
+
+    private static boolean isSameLogger(
+            @Nullable ExpressionTree first, @Nullable ExpressionTree second, VisitorState state) {
+        if (first == null || second == null) {
+            return first == second;
+        }
+        Symbol firstSymbol = ASTHelpers.getSymbol(first);
+        if (firstSymbol instanceof VarSymbol) {
+            return firstSymbol.equals(ASTHelpers.getSymbol(second));
+        }
+        return state.getSourceForNode(first).equals(state.getSourceForNode(second));
+    }
+}
@@ -0,0 +1,538 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.method.MethodMatchers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.BinaryTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ConditionalExpressionTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.IfTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.UnaryTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Symbol.PackageSymbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.tree.JCTree;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import javax.lang.model.element.ElementKind;
+
+/**
+ * Detects idioms which look up the same key in a {@link java.util.Map} several times, such as {@code containsKey}
+ * followed by {@code get}, or {@code get} followed by {@code put}. Each lookup hashes the key again, and on concurrent
+ * maps the combination is not atomic.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = SeverityLevel.SUGGESTION,
+        summary = "Map is looked up several times with the same key. Prefer a single lookup such as get with a null"
+                + " check, getOrDefault, putIfAbsent, computeIfAbsent or merge.")
+public final class DoubleMapLookup extends BugChecker
+        implements BugChecker.ConditionalExpressionTreeMatcher,
+                BugChecker.IfTreeMatcher,
+                BugChecker.BlockTreeMatcher,
+                BugChecker.MethodInvocationTreeMatcher {
+
+    private static final String MAP = "java.util.Map";
+
+    private static final Matcher<ExpressionTree> CONTAINS_KEY =
+            MethodMatchers.instanceMethod().onDescendantOf(MAP).named("containsKey");
+    private static final Matcher<ExpressionTree> GET =
+            MethodMatchers.instanceMethod().onDescendantOf(MAP).named("get");
+    private static final Matcher<ExpressionTree> GET_OR_DEFAULT =
+            MethodMatchers.instanceMethod().onDescendantOf(MAP).named("getOrDefault");
+    private static final Matcher<ExpressionTree> PUT =
+            MethodMatchers.instanceMethod().onDescendantOf(MAP).named("put");
+
+    /** Maps which reject null values, so a null result from {@code get} implies the key is absent. */
+    private static final ImmutableList<String> NULL_HOSTILE_MAPS = ImmutableList.of(
+            "java.util.concurrent.ConcurrentMap", "java.util.Hashtable", "com.google.common.collect.ImmutableMap");
+
+    private static final String CONCURRENT_MAP = "java.util.concurrent.ConcurrentMap";
+
+    /** Name of the unused lambda parameter in {@code computeIfAbsent} fixes. */
+    private static final String KEY_PARAMETER = "_key";
+
+    /** {@code map.containsKey(key) ? map.get(key) : fallback}. */
+    @Override
+    public Description matchConditionalExpression(ConditionalExpressionTree tree, VisitorState state) {
+        ExpressionTree condition = ASTHelpers.stripParentheses(tree.getCondition());
+        boolean negated = condition.getKind() == Tree.Kind.LOGICAL_COMPLEMENT;
+        if (negated) {
+            condition = ASTHelpers.stripParentheses(((UnaryTree) condition).getExpression());
+        }
+        Optional<MapAccess> containsKey = MapAccess.of(condition, CONTAINS_KEY, state);
+        ExpressionTree lookup = negated ? tree.getFalseExpression() : tree.getTrueExpression();
+        ExpressionTree fallback = ASTHelpers.stripParentheses(
+                negated ? tree.getTrueExpression() : tree.getFalseExpression());
+        Optional<MapAccess> get = MapAccess.of(lookup, GET, state);
+        if (!containsKey.isPresent() || !get.isPresent() || !containsKey.get().isSameAs(get.get())) {
+            return Description.NO_MATCH;
+        }
+        Description.Builder description = describe(tree, containsKey.get(), state);
+        if (fallback.getKind() == Tree.Kind.NULL_LITERAL) {
+            description.addFix(SuggestedFix.replace(tree, state.getSourceForNode(get.get().invocation)));
+        } else if (isSideEffectFree(fallback) && isValueConvertible(fallback, get.get().invocation, state)) {
+            // getOrDefault only returns the default for absent keys, retaining null values
+            description.addFix(SuggestedFix.replace(
+                    tree, containsKey.get().render("getOrDefault", state.getSourceForNode(fallback), state)));
+        }
+        return description.build();
+    }
+
+    /**
+     * The conditional expression may apply numeric promotion to its operands, such as {@code 0} for a {@code Double}
+     * value, where the default passed to {@code getOrDefault} must be convertible to the value type by boxing alone.
+     */
+    private static boolean isValueConvertible(ExpressionTree fallback, ExpressionTree lookup, VisitorState state) {
+        Type fallbackType = ASTHelpers.getType(fallback);
+        Type valueType = ASTHelpers.getType(lookup);
+        return fallbackType != null
+                && valueType != null
+                && state.getTypes().isConvertible(fallbackType, valueType);
+    }
+
+    @Override
+    public Description matchIf(IfTree tree, VisitorState state) {
+        if (tree.getElseStatement() != null) {
+            return Description.NO_MATCH;
+        }
+        ExpressionTree condition = ASTHelpers.stripParentheses(tree.getCondition());
+        Optional<MapAccess> containsKey = MapAccess.of(condition, CONTAINS_KEY, state);
+        if (containsKey.isPresent()) {
+            return matchContainsKeyThenGet(tree, containsKey.get(), state);
+        }
+        return matchAbsentThenPut(tree, condition, state);
+    }
+
+    /** {@code if (map.containsKey(key)) { V value = map.get(key); ... }}. */
+    private Description matchContainsKeyThenGet(IfTree tree, MapAccess containsKey, VisitorState state) {
+        List<? extends StatementTree> statements = statements(tree.getThenStatement());
+        if (statements.isEmpty() || !containsLookup(statements.get(0), containsKey, state)) {
+            return Description.NO_MATCH;
+        }
+        Description.Builder description = describe(tree, containsKey, state);
+        StatementTree first = statements.get(0);
+        // Without null values, a null result from get is equivalent to containsKey returning false
+        if (!(first instanceof VariableTree)
+                || !(tree.getThenStatement() instanceof BlockTree)
+                || !(state.getPath().getParentPath().getLeaf() instanceof BlockTree)
+                || !containsKey.isNullHostile(state)) {
+            return description.build();
+        }
+        VariableTree variable = (VariableTree) first;
+        Optional<MapAccess> get = MapAccess.of(variable.getInitializer(), GET, state);
+        if (!get.isPresent()
+                || !get.get().isSameAs(containsKey)
+                || ASTHelpers.getType(variable).isPrimitive()
+                || isDeclaredAfter(variable, tree, (BlockTree) state.getPath().getParentPath().getLeaf())) {
+            return description.build();
+        }
+        CharSequence source = state.getSourceCode();
+        String declaration = source.subSequence(
+                        ((JCTree) variable).getStartPosition(), state.getEndPosition(variable))
+                .toString();
+        String remainder = source.subSequence(state.getEndPosition(variable), state.getEndPosition(tree))
+                .toString();
+        return description
+                .addFix(SuggestedFix.replace(
+                        tree, declaration + "\nif (" + variable.getName() + " != null) {" + remainder))
+                .build();
+    }
+
+    /** {@code if (map.get(key) == null) { map.put(key, value); }}. */
+    private Description matchAbsentThenPut(IfTree tree, ExpressionTree condition, VisitorState state) {
+        boolean nullCheck = true;
+        Optional<MapAccess> absent = nullComparisonOperand(condition, Tree.Kind.EQUAL_TO)
+                .flatMap(operand -> MapAccess.of(operand, GET, state));
+        if (!absent.isPresent() && condition.getKind() == Tree.Kind.LOGICAL_COMPLEMENT) {
+            nullCheck = false;
+            absent = MapAccess.of(((UnaryTree) condition).getExpression(), CONTAINS_KEY, state);
+        }
+        List<? extends StatementTree> statements = statements(tree.getThenStatement());
+        if (!absent.isPresent() || statements.size() != 1) {
+            return Description.NO_MATCH;
+        }
+        Optional<MethodInvocationTree> put = invocation(statements.get(0));
+        Optional<MapAccess> putAccess = put.flatMap(invocation -> MapAccess.of(invocation, PUT, state));
+        if (!putAccess.isPresent() || !putAccess.get().isSameAs(absent.get())) {
+            return Description.NO_MATCH;
+        }
+        Description.Builder description = describe(tree, absent.get(), state);
+        // putIfAbsent and computeIfAbsent treat keys mapped to null as absent, as does comparing get with null
+        if (!nullCheck && !absent.get().isNullHostile(state)) {
+            return description.build();
+        }
+        ExpressionTree value = ASTHelpers.stripParentheses(put.get().getArguments().get(1));
+        if (isSideEffectFree(value)) {
+            return description
+                    .addFix(SuggestedFix.replace(
+                            tree, absent.get().render("putIfAbsent", state.getSourceForNode(value), state) + ";"))
+                    .build();
+        }
+        if (isCapturableConstruction(value)) {
+            return description
+                    .addFix(SuggestedFix.replace(
+                            tree,
+                            absent.get()
+                                            .render(
+                                                    "computeIfAbsent",
+                                                    KEY_PARAMETER + " -> " + state.getSourceForNode(value),
+                                                    state)
+                                    + ";"))
+                    .build();
+        }
+        return description.build();
+    }
+
+    /** {@code V value = map.get(key); if (value == null) { value = new V(); map.put(key, value); }}. */
+    @Override
+    public Description matchBlock(BlockTree tree, VisitorState state) {
+        List<? extends StatementTree> statements = tree.getStatements();
+        for (int i = 0; i + 1 < statements.size(); i++) {
+            if (!(statements.get(i) instanceof VariableTree) || !(statements.get(i + 1) instanceof IfTree)) {
+                continue;
+            }
+            VariableTree variable = (VariableTree) statements.get(i);
+            IfTree ifTree = (IfTree) statements.get(i + 1);
+            Optional<MapAccess> get = MapAccess.of(variable.getInitializer(), GET, state);
+            VarSymbol symbol = ASTHelpers.getSymbol(variable);
+            if (!get.isPresent()
+                    || ifTree.getElseStatement() != null
+                    || !nullComparisonOperand(ASTHelpers.stripParentheses(ifTree.getCondition()), Tree.Kind.EQUAL_TO)
+                            .map(operand -> Objects.equals(ASTHelpers.getSymbol(operand), symbol))
+                            .orElse(false)) {
+                continue;
+            }
+            List<? extends StatementTree> thenStatements = statements(ifTree.getThenStatement());
+            if (thenStatements.size() != 2) {
+                continue;
+            }
+            Optional<ExpressionTree> created = invocationOrAssignment(thenStatements.get(0))
+                    .filter(expression -> expression instanceof AssignmentTree)
+                    .filter(assignment -> Objects.equals(
+                            ASTHelpers.getSymbol(((AssignmentTree) assignment).getVariable()), symbol))
+                    .map(assignment -> ASTHelpers.stripParentheses(((AssignmentTree) assignment).getExpression()));
+            Optional<MethodInvocationTree> put = invocation(thenStatements.get(1));
+            Optional<MapAccess> putAccess = put.flatMap(invocation -> MapAccess.of(invocation, PUT, state));
+            if (!created.isPresent()
+                    || !putAccess.isPresent()
+                    || !putAccess.get().isSameAs(get.get())
+                    || !Objects.equals(ASTHelpers.getSymbol(put.get().getArguments().get(1)), symbol)) {
+                continue;
+            }
+            Description.Builder description = describe(ifTree, get.get(), state);
+            if (isCapturableConstruction(created.get())) {
+                description.addFix(SuggestedFix.builder()
+                        .replace(
+                                variable.getInitializer(),
+                                get.get()
+                                        .render(
+                                                "computeIfAbsent",
+                                                KEY_PARAMETER + " -> " + state.getSourceForNode(created.get()),
+                                                state))
+                        .delete(ifTree)
+                        .build());
+            }
+            state.reportMatch(description.build());
+        }
+        return Description.NO_MATCH;
+    }
+
+    /** {@code map.put(key, map.getOrDefault(key, 0) + value)}. */
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+        Optional<MapAccess> put = MapAccess.of(tree, PUT, state);
+        if (!put.isPresent()) {
+            return Description.NO_MATCH;
+        }
+        ExpressionTree value = ASTHelpers.stripParentheses(tree.getArguments().get(1));
+        if (value.getKind() != Tree.Kind.PLUS) {
+            return Description.NO_MATCH;
+        }
+        BinaryTree sum = (BinaryTree) value;
+        ExpressionTree increment;
+        MethodInvocationTree current;
+        if (isZeroDefaultLookup(sum.getLeftOperand(), put.get(), state)) {
+            current = (MethodInvocationTree) ASTHelpers.stripParentheses(sum.getLeftOperand());
+            increment = sum.getRightOperand();
+        } else if (isZeroDefaultLookup(sum.getRightOperand(), put.get(), state)) {
+            current = (MethodInvocationTree) ASTHelpers.stripParentheses(sum.getRightOperand());
+            increment = sum.getLeftOperand();
+        } else {
+            return Description.NO_MATCH;
+        }
+        Description.Builder description = describe(tree, put.get(), state);
+        // merge returns the new value rather than the previous one, so the result must be unused
+        if (!(state.getPath().getParentPath().getLeaf() instanceof ExpressionStatementTree)) {
+            return description.build();
+        }
+        sumMergeArguments(increment, ASTHelpers.getType(current), state)
+                .ifPresent(arguments ->
+                        description.addFix(SuggestedFix.replace(tree, put.get().render("merge", arguments, state))));
+        return description.build();
+    }
+
+    /**
+     * Returns the arguments following the key in a {@code merge} invocation which adds {@code increment} to the value
+     * of a map with the given boxed value type, such as {@code 1, Integer::sum}, if the types allow it.
+     */
+    static Optional<String> sumMergeArguments(
+            ExpressionTree increment, @Nullable Type valueType, VisitorState state) {
+        if (valueType == null) {
+            return Optional.empty();
+        }
+        Type unboxed = state.getTypes().unboxedType(valueType);
+        Type incrementType = ASTHelpers.getType(increment);
+        if (unboxed == null
+                || !(unboxed.getTag() == TypeTag.INT
+                        || unboxed.getTag() == TypeTag.LONG
+                        || unboxed.getTag() == TypeTag.DOUBLE)
+                || incrementType == null) {
+            return Optional.empty();
+        }
+        String incrementSource = state.getSourceForNode(increment);
+        Type unboxedIncrement = state.getTypes().unboxedTypeOrType(incrementType);
+        if (unboxedIncrement.getTag() != unboxed.getTag()) {
+            if (!(unboxed.getTag() == TypeTag.LONG
+                    && unboxedIncrement.getTag() == TypeTag.INT
+                    && increment instanceof LiteralTree)) {
+                return Optional.empty();
+            }
+            incrementSource = incrementSource + "L";
+        }
+        return Optional.of(incrementSource + ", " + valueType.tsym.getSimpleName() + "::sum");
+    }
+
+    private static boolean isZeroDefaultLookup(ExpressionTree operand, MapAccess put, VisitorState state) {
+        Optional<MapAccess> lookup = MapAccess.of(operand, GET_OR_DEFAULT, state);
+        if (!lookup.isPresent() || !lookup.get().isSameAs(put)) {
+            return false;
+        }
+        Object fallback = ASTHelpers.constValue(lookup.get().invocation.getArguments().get(1));
+        return fallback instanceof Number && ((Number) fallback).doubleValue() == 0;
+    }
+
+    private Description.Builder describe(Tree tree, MapAccess access, VisitorState state) {
+        boolean concurrent = ASTHelpers.isSubtype(
+                ASTHelpers.getType(access.map), state.getTypeFromString(CONCURRENT_MAP), state);
+        return buildDescription(tree)
+                .setMessage("Map is looked up several times with the same key, hashing the key each time."
+                        + (concurrent ? " On a concurrent map the separate operations are also not atomic." : "")
+                        + " Prefer a single lookup.");
+    }
+
+    /** Returns true if the statement looks up the same key with {@code get}. */
+    private static boolean containsLookup(StatementTree statement, MapAccess access, VisitorState state) {
+        boolean[] found = {false};
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (MapAccess.of(node, GET, state).filter(access::isSameAs).isPresent()) {
+                    found[0] = true;
+                }
+                return super.visitMethodInvocation(node, null);
+            }
+        }.scan(statement, null);
+        return found[0];
+    }
+
+    /** Returns true if a variable with the same name is declared after {@code ifTree} within {@code block}. */
+    private static boolean isDeclaredAfter(VariableTree variable, IfTree ifTree, BlockTree block) {
+        boolean[] declared = {false};
+        List<? extends StatementTree> statements = block.getStatements();
+        for (int i = statements.indexOf(ifTree) + 1; i < statements.size(); i++) {
+            new TreeScanner<Void, Void>() {
+                @Override
+                public Void visitVariable(VariableTree node, Void unused) {
+                    if (node.getName().contentEquals(variable.getName())) {
+                        declared[0] = true;
+                    }
+                    return super.visitVariable(node, null);
+                }
+            }.scan(statements.get(i), null);
+        }
+        return declared[0];
+    }
+
+    private static Optional<ExpressionTree> nullComparisonOperand(ExpressionTree condition, Tree.Kind kind) {
+        if (condition.getKind() != kind) {
+            return Optional.empty();
+        }
+        BinaryTree binary = (BinaryTree) condition;
+        if (binary.getRightOperand().getKind() == Tree.Kind.NULL_LITERAL) {
+            return Optional.of(ASTHelpers.stripParentheses(binary.getLeftOperand()));
+        }
+        if (binary.getLeftOperand().getKind() == Tree.Kind.NULL_LITERAL) {
+            return Optional.of(ASTHelpers.stripParentheses(binary.getRightOperand()));
+        }
+        return Optional.empty();
+    }
+
+    private static List<? extends StatementTree> statements(StatementTree statement) {
+        return statement instanceof BlockTree ? ((BlockTree) statement).getStatements() : ImmutableList.of(statement);
+    }
+
+    private static Optional<ExpressionTree> invocationOrAssignment(StatementTree statement) {
+        if (!(statement instanceof ExpressionStatementTree)) {
+            return Optional.empty();
+        }
+        return Optional.of(((ExpressionStatementTree) statement).getExpression());
+    }
+
+    private static Optional<MethodInvocationTree> invocation(StatementTree statement) {
+        return invocationOrAssignment(statement)
+                .filter(expression -> expression instanceof MethodInvocationTree)
+                .map(expression -> (MethodInvocationTree) expression);
+    }
+
+    /** Returns true if the expression may be evaluated eagerly, or more than once, without changing behavior. */
+    private static boolean isSideEffectFree(ExpressionTree tree) {
+        ExpressionTree expression = ASTHelpers.stripParentheses(tree);
+        if (expression instanceof LiteralTree || ASTHelpers.constValue(expression) != null) {
+            return true;
+        }
+        Symbol symbol = ASTHelpers.getSymbol(expression);
+        if (expression instanceof IdentifierTree) {
+            return symbol instanceof VarSymbol;
+        }
+        if (expression instanceof MemberSelectTree) {
+            ExpressionTree receiver = ((MemberSelectTree) expression).getExpression();
+            Symbol receiverSymbol = ASTHelpers.getSymbol(receiver);
+            return symbol instanceof VarSymbol
+                    && (receiverSymbol instanceof ClassSymbol
+                            || receiverSymbol instanceof PackageSymbol
+                            || isSideEffectFree(receiver));
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the expression constructs a new object from arguments which may be captured by a lambda, so that
+     * it may be moved into a {@code computeIfAbsent} mapping function which must not modify the map.
+     */
+    private static boolean isCapturableConstruction(ExpressionTree expression) {
+        if (!(expression instanceof NewClassTree) || ((NewClassTree) expression).getClassBody() != null) {
+            return false;
+        }
+        for (ExpressionTree tree : ((NewClassTree) expression).getArguments()) {
+            ExpressionTree argument = ASTHelpers.stripParentheses(tree);
+            if (ASTHelpers.constValue(argument) != null || argument.getKind() == Tree.Kind.NULL_LITERAL) {
+                continue;
+            }
+            Symbol symbol = ASTHelpers.getSymbol(argument);
+            if (!(argument instanceof IdentifierTree)
+                    || !(symbol instanceof VarSymbol)
+                    || (symbol.getKind() != ElementKind.FIELD
+                            && (symbol.flags() & (Flags.FINAL | Flags.EFFECTIVELY_FINAL)) == 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** An invocation of a {@link java.util.Map} method whose receiver and key have no side effects. */
+    static final class MapAccess {
+        private final MethodInvocationTree invocation;
+        private final ExpressionTree map;
+        private final ExpressionTree key;
+
+        private MapAccess(MethodInvocationTree invocation, ExpressionTree map, ExpressionTree key) {
+            this.invocation = invocation;
+            this.map = map;
+            this.key = key;
+        }
+
+        static Optional<MapAccess> of(ExpressionTree tree, Matcher<ExpressionTree> matcher, VisitorState state) {
+            if (tree == null) {
+                return Optional.empty();
+            }
+            ExpressionTree expression = ASTHelpers.stripParentheses(tree);
+            if (!(expression instanceof MethodInvocationTree) || !matcher.matches(expression, state)) {
+                return Optional.empty();
+            }
+            MethodInvocationTree invocation = (MethodInvocationTree) expression;
+            ExpressionTree map = ASTHelpers.getReceiver(invocation);
+            if (map == null || invocation.getArguments().isEmpty()) {
+                return Optional.empty();
+            }
+            ExpressionTree key = ASTHelpers.stripParentheses(invocation.getArguments().get(0));
+            if (!isSideEffectFree(map) || !isSideEffectFree(key)) {
+                return Optional.empty();
+            }
+            return Optional.of(new MapAccess(invocation, map, key));
+        }
+
+        boolean isSameAs(MapAccess other) {
+            return isSame(map, other.map) && isSame(key, other.key);
+        }
+
+        boolean isNullHostile(VisitorState state) {
+            Type type = ASTHelpers.getType(map);
+            for (String nullHostile : NULL_HOSTILE_MAPS) {
+                Type nullHostileType = state.getTypeFromString(nullHostile);
+                if (nullHostileType != null && ASTHelpers.isSubtype(type, nullHostileType, state)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Renders an invocation of {@code method} on the same map and key, followed by {@code arguments}. */
+        String render(String method, String arguments, VisitorState state) {
+            return state.getSourceForNode(map) + "." + method + "(" + state.getSourceForNode(key) + ", " + arguments
+                    + ")";
+        }
+
+        private static boolean isSame(ExpressionTree first, ExpressionTree second) {
+            Object firstConstant = ASTHelpers.constValue(first);
+            if (firstConstant != null) {
+                return firstConstant.equals(ASTHelpers.constValue(second));
+            }
+            return ASTHelpers.sameVariable(first, second);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.ErrorProneFlags;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.method.MethodMatchers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.code.Type;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import javax.inject.Inject;
+
+/**
+ * Generalizes {@link ZoneIdConstant} to factories which are expensive to invoke, such as compiling a regular
+ * expression or creating a JSON mapper, when they are invoked on every call to a method with constant arguments.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = SeverityLevel.WARNING,
+        summary = "Expensive objects created from constant arguments should be created once and stored in a static"
+                + " field, rather than on every invocation of a method.")
+public final class ExpensiveFactoryInMethodBody extends BugChecker
+        implements MethodInvocationTreeMatcher, NewClassTreeMatcher {
+    /** Additional thread-safe factories, formatted as {@code com.example.Type#method} or {@code ...#<init>}. */
+    static final String ADDITIONAL_FACTORIES_FLAG = "ExpensiveFactoryInMethodBody:AdditionalFactories";
+    /** Additional factories of values which are not thread-safe, using the same format. */
+    static final String ADDITIONAL_THREAD_CONFINED_FACTORIES_FLAG =
+            "ExpensiveFactoryInMethodBody:AdditionalThreadConfinedFactories";
+
+    /** Methods which modify an {@link Sharing#CONFIGURABLE} value, rather than using it. */
+    private static final Pattern CONFIGURATION_METHOD =
+            Pattern.compile("(set|add|register|configure|enable|disable|clear|findAndRegister|activate|deactivate)"
+                    + ".*");
+
+    private static final ImmutableList<Factory> DEFAULT_FACTORIES = ImmutableList.of(
+            new Factory(
+                    MethodMatchers.staticMethod().onClass("java.util.regex.Pattern").named("compile"), Sharing.SHARED),
+            new Factory(
+                    MethodMatchers.staticMethod()
+                            .onClass("java.time.format.DateTimeFormatter")
+                            .named("ofPattern"),
+                    Sharing.SHARED),
+            new Factory(
+                    MethodMatchers.constructor().forClass("com.fasterxml.jackson.databind.ObjectMapper"),
+                    Sharing.CONFIGURABLE),
+            new Factory(
+                    MethodMatchers.staticMethod()
+                            .onClassAny("javax.xml.bind.JAXBContext", "jakarta.xml.bind.JAXBContext")
+                            .named("newInstance"),
+                    Sharing.SHARED),
+            new Factory(
+                    MethodMatchers.staticMethod()
+                            .onClass("java.security.MessageDigest")
+                            .named("getInstance"),
+                    Sharing.THREAD_CONFINED),
+            new Factory(
+                    MethodMatchers.staticMethod().onClass("java.nio.charset.Charset").named("forName"),
+                    Sharing.SHARED),
+            new Factory(MethodMatchers.constructor().forClass("java.text.SimpleDateFormat"), Sharing.THREAD_CONFINED),
+            new Factory(
+                    MethodMatchers.staticMethod()
+                            .onClassAny("com.google.common.base.Splitter", "com.google.common.base.Joiner")
+                            .named("on"),
+                    Sharing.SHARED));
+
+    private final ImmutableList<Factory> factories;
+
+    // Must have default constructor for service loading to work correctly
+    public ExpensiveFactoryInMethodBody() {
+        this(ErrorProneFlags.empty());
+    }
+
+    @Inject
+    public ExpensiveFactoryInMethodBody(ErrorProneFlags flags) {
+        ImmutableList.Builder<Factory> builder = ImmutableList.<Factory>builder().addAll(DEFAULT_FACTORIES);
+        for (String factory : flags.getListOrEmpty(ADDITIONAL_FACTORIES_FLAG)) {
+            builder.add(new Factory(parseFactory(factory), Sharing.SHARED));
+        }
+        for (String factory : flags.getListOrEmpty(ADDITIONAL_THREAD_CONFINED_FACTORIES_FLAG)) {
+            builder.add(new Factory(parseFactory(factory), Sharing.THREAD_CONFINED));
+        }
+        this.factories = builder.build();
+    }
+
+    private static Matcher<ExpressionTree> parseFactory(String factory) {
+        List<String> parts = Splitter.on('#').splitToList(factory.trim());
+        if (parts.size() != 2 || parts.get(0).isEmpty() || parts.get(1).isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Expected factories formatted as 'com.example.Type#method', but was: " + factory);
+        }
+        if (parts.get(1).equals("<init>")) {
+            return MethodMatchers.constructor().forClass(parts.get(0));
+        }
+        return MethodMatchers.staticMethod().onClass(parts.get(0)).named(parts.get(1));
+    }
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+        return match(tree, tree.getArguments(), state);
+    }
+
+    @Override
+    public Description matchNewClass(NewClassTree tree, VisitorState state) {
+        if (tree.getClassBody() != null) {
+            return Description.NO_MATCH;
+        }
+        return match(tree, tree.getArguments(), state);
+    }
+
+    private Description match(ExpressionTree tree, List<? extends ExpressionTree> arguments, VisitorState state) {
+        Optional<Sharing> sharing = getSharing(state);
+        if (!sharing.isPresent()) {
+            return Description.NO_MATCH;
+        }
+        Type type = ASTHelpers.getType(tree);
+        if (type == null) {
+            return Description.NO_MATCH;
+        }
+        Optional<TreePath> host = ConstantHoisting.findHost(state);
+        Optional<String> initializer =
+                host.flatMap(path -> ConstantHoisting.renderConstantExpression(tree, arguments, path, state));
+        if (host.isPresent() && !initializer.isPresent()) {
+            // Arguments aren't constant
+            return Description.NO_MATCH;
+        }
+        Description.Builder description = buildDescription(tree)
+                .setMessage(String.format(
+                        "%s is expensive to create, and this creates a new instance on every invocation using"
+                                + " constant arguments. Prefer creating it once and storing it in a static field.",
+                        type.tsym.getSimpleName()));
+        // Field initializers and ThreadLocal suppliers can't throw checked exceptions, such as the
+        // NoSuchAlgorithmException thrown by MessageDigest.getInstance
+        if (!host.isPresent() || throwsCheckedException(tree, state)) {
+            return description.build();
+        }
+        SuggestedFix.Builder fix = SuggestedFix.builder();
+        String typeName = SuggestedFixes.prettyType(state, fix, type);
+        String name = ConstantHoisting.uniqueName(
+                ConstantHoisting.constantName(state.getPath(), type.tsym.getSimpleName().toString()),
+                host.get(),
+                tree,
+                state,
+                this::candidateName);
+        String declaration;
+        if (sharing.get() == Sharing.THREAD_CONFINED) {
+            declaration = ConstantHoisting.declaration(
+                    ConstantHoisting.threadLocalType(typeName, fix, state),
+                    name,
+                    ConstantHoisting.threadLocalInitializer(initializer.get(), fix, state));
+            fix.replace(tree, name + ".get()");
+        } else {
+            declaration = ConstantHoisting.declaration(typeName, name, initializer.get());
+            fix.replace(tree, name);
+        }
+        Optional<SuggestedFix> field = ConstantHoisting.addField(host.get(), declaration, state);
+        if (!field.isPresent()) {
+            return description.build();
+        }
+        return description.addFix(fix.merge(field.get()).build()).build();
+    }
+
+    private static boolean throwsCheckedException(ExpressionTree tree, VisitorState state) {
+        Symbol symbol = ASTHelpers.getSymbol(tree);
+        return !(symbol instanceof MethodSymbol)
+                || ((MethodSymbol) symbol)
+                        .getThrownTypes().stream().anyMatch(thrown -> ASTHelpers.isCheckedExceptionType(thrown, state));
+    }
+
+    /** Returns the sharing of the factory invoked at the current path, if it may be hoisted. */
+    private Optional<Sharing> getSharing(VisitorState state) {
+        ExpressionTree tree = (ExpressionTree) state.getPath().getLeaf();
+        for (Factory factory : factories) {
+            if (factory.matcher.matches(tree, state)) {
+                if (!ConstantHoisting.isWithinMethodBody(state) || TestCheckUtils.isTestCode(state)) {
+                    return Optional.empty();
+                }
+                if (factory.sharing == Sharing.CONFIGURABLE && !isUsedWithoutConfiguration(state.getPath())) {
+                    return Optional.empty();
+                }
+                return Optional.of(factory.sharing);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<String> candidateName(TreePath path, VisitorState state) {
+        Tree tree = path.getLeaf();
+        if (!(tree instanceof MethodInvocationTree || tree instanceof NewClassTree)) {
+            return Optional.empty();
+        }
+        if (tree instanceof NewClassTree && ((NewClassTree) tree).getClassBody() != null) {
+            return Optional.empty();
+        }
+        Type type = ASTHelpers.getType(tree);
+        if (type == null || !getSharing(state).isPresent()) {
+            return Optional.empty();
+        }
+        return Optional.of(ConstantHoisting.constantName(path, type.tsym.getSimpleName().toString()));
+    }
+
+    /**
+     * Values which are configured after creation may only be shared when they're used immediately, for example
+     * {@code new ObjectMapper().writeValueAsString(value)}.
+     */
+    private static boolean isUsedWithoutConfiguration(TreePath path) {
+        Tree parent = path.getParentPath().getLeaf();
+        if (!(parent instanceof MemberSelectTree)) {
+            return false;
+        }
+        return path.getParentPath().getParentPath().getLeaf() instanceof MethodInvocationTree
+                && !CONFIGURATION_METHOD
+                        .matcher(((MemberSelectTree) parent).getIdentifier())
+                        .matches();
+    }
+
+    private enum Sharing {
+        /** Values are immutable or thread-safe, so a single value may be shared by all callers. */
+        SHARED,
+        /** Values are thread-safe once configured, so may only be shared if they aren't configured by callers. */
+        CONFIGURABLE,
+        /** Values are not thread-safe, so each thread requires a separate value. */
+        THREAD_CONFINED
+    }
+
+    private static final class Factory {
+        private final Matcher<ExpressionTree> matcher;
+        private final Sharing sharing;
+
+        Factory(Matcher<ExpressionTree> matcher, Sharing sharing) {
+            this.matcher = matcher;
+            this.sharing = sharing;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.ErrorProneFlags;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.ClassTreeMatcher;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.util.ASTHelpers;
+import com.palantir.baseline.errorprone.safety.Safety;
+import com.palantir.baseline.errorprone.safety.SafetyAnnotations;
+import com.palantir.baseline.errorprone.safety.SafetySummaries;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.inject.Inject;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.StandardLocation;
+
+/**
+ * Persists the inferred return safety of unannotated methods into the class output, allowing {@link SafetyAnnotations}
+ * to use the results when this code is consumed as a dependency. This check never reports findings, and only runs
+ * when enabled using {@code -XepOpt:ExportSafetySummaries:Enabled=true}.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = SeverityLevel.SUGGESTION,
+        summary = "Persists inferred method safety for consumers of this library.")
+public final class ExportSafetySummaries extends BugChecker implements ClassTreeMatcher {
+    static final String ENABLED_FLAG = "ExportSafetySummaries:Enabled";
+
+    private final boolean enabled;
+
+    // Must have default constructor for service loading to work correctly
+    public ExportSafetySummaries() {
+        this(ErrorProneFlags.empty());
+    }
+
+    @Inject
+    public ExportSafetySummaries(ErrorProneFlags flags) {
+        this.enabled = flags.getBoolean(ENABLED_FLAG).orElse(false);
+    }
+
+    @Override
+    public Description matchClass(ClassTree tree, VisitorState state) {
+        if (!enabled || !(state.getPath().getParentPath().getLeaf() instanceof CompilationUnitTree)) {
+            return Description.NO_MATCH;
+        }
+        ClassSymbol classSymbol = ASTHelpers.getSymbol(tree);
+        if (classSymbol == null || TestCheckUtils.isTestCode(state)) {
+            return Description.NO_MATCH;
+        }
+        Map<String, Safety> summary = new TreeMap<>();
+        tree.accept(new SummaryScanner(summary), state);
+        write(classSymbol, summary, state);
+        return Description.NO_MATCH;
+    }
+
+    private static void write(ClassSymbol classSymbol, Map<String, Safety> summary, VisitorState state) {
+        JavaFileManager fileManager = state.context.get(JavaFileManager.class);
+        if (fileManager == null) {
+            return;
+        }
+        try {
+            FileObject resource = fileManager.getFileForOutput(
+                    StandardLocation.CLASS_OUTPUT,
+                    "",
+                    SafetySummaries.RESOURCE_DIRECTORY + classSymbol.flatName(),
+                    null);
+            if (summary.isEmpty()) {
+                // Remove summaries left behind by a previous incremental compilation
+                resource.delete();
+                return;
+            }
+            try (Writer writer = resource.openWriter()) {
+                writer.write(SafetySummaries.format(summary));
+            }
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+            // Summaries are an optimization for consumers, failing to write them must not fail compilation
+        }
+    }
+
+    /** Collects methods of named classes, ignoring anonymous and local classes which consumers cannot reference. */
+    private static final class SummaryScanner extends TreeScanner<Void, VisitorState> {
+        private final Map<String, Safety> summary;
+
+        SummaryScanner(Map<String, Safety> summary) {
+            this.summary = summary;
+        }
+
+        @Override
+        public Void visitMethod(MethodTree method, VisitorState state) {
+            MethodSymbol methodSymbol = ASTHelpers.getSymbol(method);
+            if (methodSymbol == null
+                    || method.getReturnType() == null
+                    || method.getBody() == null
+                    || (methodSymbol.flags() & Flags.PRIVATE) != 0
+                    || !SafetySummaries.isSummarizable(methodSymbol)
+                    || state.getTypes().isSameType(methodSymbol.getReturnType(), state.getSymtab().voidType)) {
+                return null;
+            }
+            Safety declaredSafety = Safety.mergeAssumingUnknownIsSame(
+                    SafetyAnnotations.getSafety(methodSymbol, state),
+                    SafetyAnnotations.getSafety(method.getReturnType(), state));
+            if (declaredSafety != Safety.UNKNOWN) {
+                // Annotations are already available to consumers
+                return null;
+            }
+            Safety inferredSafety =
+                    method.accept(new SafeLoggingPropagation.ReturnStatementSafetyScanner(method), state);
+            if (inferredSafety != null && inferredSafety != Safety.UNKNOWN) {
+                summary.put(SafetySummaries.methodKey(methodSymbol, state.getTypes()), inferredSafety);
+            }
+            // Local and anonymous classes within the method body are not summarized
+            return null;
+        }
+
+        @Override
+        public Void visitNewClass(NewClassTree node, VisitorState state) {
+            return null;
+        }
+    }
+}
@@ -165,7 +165,7 @@ public final class IllegalSafeLoggingArgument extends BugChecker
             for (int j = i; j < limit; j++) {
                 ExpressionTree argument = arguments.get(j);
 
-                Safety argumentSafety = SafetyAnalysis.of(state.withPath(new TreePath(state.getPath(), argument)));
+                Safety argumentSafety = SafetyAnalysis.ofEnclosingMethod(state).get(argument);
 
                 if (!parameterSafety.allowsValueWith(argumentSafety)) {
                     // use state.reportMatch to report all failing arguments if multiple are invalid
@@ -269,8 +269,7 @@ public final class IllegalSafeLoggingArgument extends BugChecker
             // Fast path, all types are accepted, there's no reason to do further analysis.
             return Description.NO_MATCH;
         }
-        Safety returnValueSafety =
-                SafetyAnalysis.of(state.withPath(new TreePath(state.getPath(), tree.getExpression())));
+        Safety returnValueSafety = SafetyAnalysis.ofEnclosingMethod(state).get(tree.getExpression());
         if (methodDeclaredSafety.allowsValueWith(returnValueSafety)) {
             return Description.NO_MATCH;
         }
@@ -297,7 +296,7 @@ public final class IllegalSafeLoggingArgument extends BugChecker
         if (variableDeclaredSafety.allowsAll()) {
             return Description.NO_MATCH;
         }
-        Safety assignmentValue = SafetyAnalysis.of(state.withPath(new TreePath(state.getPath(), expression)));
+        Safety assignmentValue = SafetyAnalysis.ofEnclosingMethod(state).get(expression);
         if (variableDeclaredSafety.allowsValueWith(assignmentValue)) {
             return Description.NO_MATCH;
         }
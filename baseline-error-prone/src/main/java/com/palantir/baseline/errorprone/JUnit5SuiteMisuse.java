@@ -23,6 +23,7 @@ import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.matchers.AnnotationMatcherUtils;
 import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.Matchers;
 import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.AnnotationTree;
@@ -51,6 +52,9 @@ public final class JUnit5SuiteMisuse extends BugChecker
     private static final Set<Type.ClassType> knownJUnit5TestClasses = new HashSet<>();
     private static final Set<Type.ClassType> referencedBySuites = new HashSet<>();
 
+    private static final Matcher<AnnotationTree> referencesSuiteClasses =
+            MoreMatchers.compilationUnitReferencesClass("org.junit.runners.Suite.SuiteClasses");
+
     @Override
     public Description matchClass(ClassTree tree, VisitorState state) {
         if (!JUnit5RuleUsage.hasJunit5TestCases.matches(tree, state)) {
@@ -71,7 +75,8 @@ public final class JUnit5SuiteMisuse extends BugChecker
 
     @Override
     public Description matchAnnotation(AnnotationTree tree, VisitorState state) {
-        if (!Matchers.isSameType("org.junit.runners.Suite.SuiteClasses").matches(tree, state)) {
+        if (!referencesSuiteClasses.matches(tree, state)
+                || !Matchers.isSameType("org.junit.runners.Suite.SuiteClasses").matches(tree, state)) {
             return Description.NO_MATCH;
         }
 
@@ -46,6 +46,9 @@ public final class JooqResultStreamLeak extends StreamResourceLeak {
                     .withAnyName(),
             JooqResultStreamLeak::shouldBeAutoClosed);
 
+    private static final Matcher<MethodTree> REFERENCES_RESULT_QUERY =
+            MoreMatchers.compilationUnitReferencesClass("org.jooq.ResultQuery");
+
     private static final Supplier<Type> JOOQ_QUERY_PART =
             VisitorState.memoize(state -> state.getTypeFromString("org.jooq.QueryPart"));
 
@@ -54,6 +57,9 @@ public final class JooqResultStreamLeak extends StreamResourceLeak {
 
     @Override
     public Description matchMethod(MethodTree tree, VisitorState state) {
+        if (!REFERENCES_RESULT_QUERY.matches(tree, state)) {
+            return Description.NO_MATCH;
+        }
         return scanEntireMethodFor(MATCHER, tree, state);
     }
 
@@ -0,0 +1,356 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.method.MethodMatchers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.CompoundAssignmentTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.UnaryTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.code.Types;
+import com.sun.tools.javac.tree.JCTree;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * Iterating over {@code map.keySet()} and calling {@code map.get(key)} for each key hashes every key a second time,
+ * where iterating over {@code map.entrySet()} provides both the key and the value. The same applies to Guava
+ * {@code Multimap.keySet()}, whose values are available from {@code Multimaps.asMap(multimap).entrySet()}.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = BugPattern.SeverityLevel.WARNING,
+        summary = "Iterating over keySet() and looking up each value with get() is less efficient than iterating"
+                + " over entrySet()")
+public final class KeySetIterationWithGet extends BugChecker implements BugChecker.EnhancedForLoopTreeMatcher {
+
+    private static final String MULTIMAP = "com.google.common.collect.Multimap";
+
+    private static final Matcher<ExpressionTree> MAP_KEY_SET = MethodMatchers.instanceMethod()
+            .onDescendantOf("java.util.Map")
+            .named("keySet")
+            .withNoParameters();
+
+    private static final Matcher<ExpressionTree> MAP_GET =
+            MethodMatchers.instanceMethod().onDescendantOf("java.util.Map").named("get");
+
+    private static final Matcher<ExpressionTree> MULTIMAP_KEY_SET = MethodMatchers.instanceMethod()
+            .onDescendantOf(MULTIMAP)
+            .named("keySet")
+            .withNoParameters();
+
+    private static final Matcher<ExpressionTree> MULTIMAP_GET =
+            MethodMatchers.instanceMethod().onDescendantOf(MULTIMAP).named("get");
+
+    @Override
+    public Description matchEnhancedForLoop(EnhancedForLoopTree tree, VisitorState state) {
+        ExpressionTree expression = ASTHelpers.stripParentheses(tree.getExpression());
+        boolean multimap;
+        if (MAP_KEY_SET.matches(expression, state)) {
+            multimap = false;
+        } else if (MULTIMAP_KEY_SET.matches(expression, state)) {
+            multimap = true;
+        } else {
+            return Description.NO_MATCH;
+        }
+        ExpressionTree map = ASTHelpers.getReceiver(expression);
+        VarSymbol key = ASTHelpers.getSymbol(tree.getVariable());
+        if (map == null || key == null || !isVariable(map)) {
+            return Description.NO_MATCH;
+        }
+        BodyScanner scanner = new BodyScanner(map, key, multimap ? MULTIMAP_GET : MAP_GET, state);
+        scanner.scan(tree.getStatement(), null);
+        if (scanner.lookups.isEmpty() || scanner.keyReassigned) {
+            return Description.NO_MATCH;
+        }
+        Description.Builder description = buildDescription(tree)
+                .setMessage(String.format(
+                        "Iterating over %s and looking up each value with get() hashes every key again. Prefer"
+                                + " iterating over %s.",
+                        state.getSourceForNode(expression),
+                        multimap ? "Multimaps.asMap(multimap).entrySet()" : "entrySet()"));
+        // Other references to the map may modify it, in which case the value must be looked up again
+        if (scanner.otherMapReferences > 0) {
+            return description.build();
+        }
+        buildFix(tree, expression, map, scanner, multimap, state).ifPresent(description::addFix);
+        return description.build();
+    }
+
+    private static Optional<SuggestedFix> buildFix(
+            EnhancedForLoopTree tree,
+            ExpressionTree keySet,
+            ExpressionTree map,
+            BodyScanner scanner,
+            boolean multimap,
+            VisitorState state) {
+        Type keyType = ASTHelpers.getType(tree.getVariable());
+        Type valueType = multimap
+                ? asMapValueType(ASTHelpers.getType(map), state)
+                : ASTHelpers.getType(scanner.lookups.get(0));
+        if (!isDenotable(keyType) || !isDenotable(valueType)) {
+            return Optional.empty();
+        }
+        for (MethodInvocationTree lookup : scanner.lookups) {
+            if (!acceptsValue(lookup, valueType, state)) {
+                return Optional.empty();
+            }
+        }
+        boolean keyUsed = scanner.otherKeyReferences > 0;
+        if (keyUsed && !(tree.getStatement() instanceof BlockTree)) {
+            return Optional.empty();
+        }
+        String entryName = MoreASTHelpers.unusedVariableName("entry", state);
+        SuggestedFix.Builder fix = SuggestedFix.builder();
+        String mapEntry = SuggestedFixes.qualifyType(state, fix, "java.util.Map") + ".Entry";
+        String entries = multimap
+                ? SuggestedFixes.qualifyType(state, fix, "com.google.common.collect.Multimaps") + ".asMap("
+                        + state.getSourceForNode(map) + ").entrySet()"
+                : state.getSourceForNode(map) + ".entrySet()";
+        fix.replace(
+                        tree.getVariable(),
+                        mapEntry + "<" + SuggestedFixes.prettyType(state, fix, keyType) + ", "
+                                + SuggestedFixes.prettyType(state, fix, valueType) + "> " + entryName)
+                .replace(keySet, entries);
+        for (MethodInvocationTree lookup : scanner.lookups) {
+            fix.replace(lookup, entryName + ".getValue()");
+        }
+        if (keyUsed) {
+            VariableTree variable = tree.getVariable();
+            String keyTypeSource =
+                    variable.getType() == null ? null : state.getSourceForNode(variable.getType());
+            String declaration = ((ASTHelpers.getSymbol(variable).flags() & Flags.FINAL) != 0 ? "final " : "")
+                    + (keyTypeSource == null ? SuggestedFixes.prettyType(state, fix, keyType) : keyTypeSource)
+                    + " " + variable.getName() + " = " + entryName + ".getKey();";
+            int bodyStart = ((JCTree) tree.getStatement()).getStartPosition();
+            fix.replace(bodyStart + 1, bodyStart + 1, "\n" + declaration);
+        }
+        return Optional.of(fix.build());
+    }
+
+    /**
+     * Returns the value type of {@code Multimaps.asMap(multimap)}, which depends on the overload javac resolves for
+     * the multimap type. For example, the values of an {@code ImmutableListMultimap} are a {@code List} rather than the
+     * {@code ImmutableList} returned by its {@code get} method.
+     */
+    @Nullable
+    private static Type asMapValueType(@Nullable Type multimapType, VisitorState state) {
+        Symbol multimaps = state.getSymbolFromString("com.google.common.collect.Multimaps");
+        Symbol multimapSymbol = state.getSymbolFromString(MULTIMAP);
+        if (multimapType == null || multimaps == null || multimapSymbol == null) {
+            return null;
+        }
+        Types types = state.getTypes();
+        Type multimapSuper = types.asSuper(multimapType, multimapSymbol);
+        if (multimapSuper == null || multimapSuper.getTypeArguments().size() != 2) {
+            return null;
+        }
+        // The most specific overload accepting the multimap, as every overload has a single parameter
+        MethodSymbol resolved = null;
+        for (Symbol member : multimaps.members().getSymbolsByName(state.getName("asMap"))) {
+            if (!(member instanceof MethodSymbol) || ((MethodSymbol) member).getParameters().size() != 1) {
+                continue;
+            }
+            MethodSymbol method = (MethodSymbol) member;
+            Type parameter = types.erasure(method.getParameters().get(0).type);
+            if (types.isSubtype(types.erasure(multimapType), parameter)
+                    && (resolved == null
+                            || types.isSubtype(parameter, types.erasure(resolved.getParameters().get(0).type)))) {
+                resolved = method;
+            }
+        }
+        if (resolved == null || resolved.getReturnType().getTypeArguments().size() != 2) {
+            return null;
+        }
+        return types.subst(
+                resolved.getReturnType().getTypeArguments().get(1),
+                resolved.type.getTypeArguments(),
+                multimapSuper.getTypeArguments());
+    }
+
+    /**
+     * Returns true if the lookup may be replaced by an entry value of the given type, which may be less specific than
+     * the type returned by the lookup.
+     */
+    private static boolean acceptsValue(MethodInvocationTree lookup, Type valueType, VisitorState state) {
+        Types types = state.getTypes();
+        Type lookupType = ASTHelpers.getType(lookup);
+        if (lookupType != null && types.isSameType(lookupType, valueType)) {
+            return true;
+        }
+        TreePath path = TreePath.getPath(state.getPath().getCompilationUnit(), lookup);
+        if (path == null) {
+            return false;
+        }
+        Tree parent = path.getParentPath().getLeaf();
+        if (parent instanceof MemberSelectTree) {
+            // The member may be declared by the lookup type, or override a member of the value type
+            Symbol member = ASTHelpers.getSymbol(parent);
+            if (member == null) {
+                return false;
+            }
+            Stream<Symbol> declarations = member instanceof MethodSymbol
+                    ? Stream.concat(
+                            Stream.of(member),
+                            ASTHelpers.findSuperMethods((MethodSymbol) member, types).stream())
+                    : Stream.of(member);
+            return declarations.anyMatch(
+                    declaration -> types.isSubtype(types.erasure(valueType), types.erasure(declaration.owner.type)));
+        }
+        ASTHelpers.TargetType targetType = ASTHelpers.targetType(state.withPath(path));
+        return targetType != null && targetType.type() != null && types.isAssignable(valueType, targetType.type());
+    }
+
+    /** Returns true if the type may be written in source, excluding wildcards and captured types. */
+    private static boolean isDenotable(@Nullable Type type) {
+        if (type == null || type instanceof Type.CapturedType || type.hasTag(TypeTag.WILDCARD)) {
+            return false;
+        }
+        for (Type argument : type.getTypeArguments()) {
+            if (!isDenotable(argument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns true if the expression references a variable without side effects, such as a local or field. */
+    private static boolean isVariable(ExpressionTree tree) {
+        if (!(ASTHelpers.getSymbol(tree) instanceof VarSymbol)) {
+            return false;
+        }
+        if (tree instanceof IdentifierTree) {
+            return true;
+        }
+        if (tree instanceof MemberSelectTree) {
+            ExpressionTree receiver = ((MemberSelectTree) tree).getExpression();
+            return isVariable(receiver) || ASTHelpers.getSymbol(receiver) instanceof ClassSymbol;
+        }
+        return false;
+    }
+
+    /** Collects lookups of the loop variable in the map, and other references to the map and loop variable. */
+    private static final class BodyScanner extends TreeScanner<Void, Void> {
+        private final ExpressionTree map;
+        private final VarSymbol key;
+        private final Matcher<ExpressionTree> get;
+        private final VisitorState state;
+
+        private final List<MethodInvocationTree> lookups = new ArrayList<>();
+        private int otherMapReferences;
+        private int otherKeyReferences;
+        private boolean keyReassigned;
+
+        BodyScanner(ExpressionTree map, VarSymbol key, Matcher<ExpressionTree> get, VisitorState state) {
+            this.map = map;
+            this.key = key;
+            this.get = get;
+            this.state = state;
+        }
+
+        @Override
+        public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+            ExpressionTree receiver = ASTHelpers.getReceiver(node);
+            if (get.matches(node, state)
+                    && receiver != null
+                    && ASTHelpers.sameVariable(receiver, map)
+                    && node.getArguments().size() == 1
+                    && Objects.equals(
+                            ASTHelpers.getSymbol(ASTHelpers.stripParentheses(node.getArguments().get(0))), key)) {
+                lookups.add(node);
+                return null;
+            }
+            return super.visitMethodInvocation(node, null);
+        }
+
+        @Override
+        public Void visitIdentifier(IdentifierTree node, Void unused) {
+            Symbol symbol = ASTHelpers.getSymbol(node);
+            if (Objects.equals(symbol, key)) {
+                otherKeyReferences++;
+            } else if (ASTHelpers.sameVariable(node, map)) {
+                otherMapReferences++;
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitMemberSelect(MemberSelectTree node, Void unused) {
+            if (ASTHelpers.sameVariable(node, map)) {
+                otherMapReferences++;
+                return null;
+            }
+            return super.visitMemberSelect(node, null);
+        }
+
+        @Override
+        public Void visitAssignment(AssignmentTree node, Void unused) {
+            checkReassignment(node.getVariable());
+            return super.visitAssignment(node, null);
+        }
+
+        @Override
+        public Void visitCompoundAssignment(CompoundAssignmentTree node, Void unused) {
+            checkReassignment(node.getVariable());
+            return super.visitCompoundAssignment(node, null);
+        }
+
+        @Override
+        public Void visitUnary(UnaryTree node, Void unused) {
+            checkReassignment(node.getExpression());
+            return super.visitUnary(node, null);
+        }
+
+        private void checkReassignment(ExpressionTree variable) {
+            if (Objects.equals(ASTHelpers.getSymbol(variable), key)) {
+                keyReassigned = true;
+            }
+        }
+    }
+}
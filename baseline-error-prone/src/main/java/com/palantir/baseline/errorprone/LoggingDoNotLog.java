@@ -30,7 +30,6 @@ import com.palantir.baseline.errorprone.safety.SafetyAnalysis;
 import com.sun.source.tree.ExpressionTree;
 import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.NewClassTree;
-import com.sun.source.util.TreePath;
 import java.util.List;
 import java.util.Objects;
 
@@ -110,7 +109,7 @@ public final class LoggingDoNotLog extends BugChecker
     private void checkArguments(List<? extends ExpressionTree> arguments, VisitorState state, int beginIndex) {
         for (int i = beginIndex; i < arguments.size(); i++) {
             ExpressionTree argument = arguments.get(i);
-            Safety argumentSafety = SafetyAnalysis.of(state.withPath(new TreePath(state.getPath(), argument)));
+            Safety argumentSafety = SafetyAnalysis.ofEnclosingMethod(state).get(argument);
             if (argumentSafety == Safety.DO_NOT_LOG) {
                 state.reportMatch(describeMatch(argument));
             }
@@ -21,15 +21,30 @@ import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.fixes.SuggestedFixes;
 import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.BreakTree;
 import com.sun.source.tree.CatchTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ContinueTree;
 import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LabeledStatementTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.StatementTree;
 import com.sun.source.tree.Tree;
 import com.sun.source.tree.TryTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
 import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.code.Types;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.annotation.Nullable;
 
 /** Utility functionality that does not exist in {@link com.google.errorprone.util.ASTHelpers}. */
@@ -123,5 +138,132 @@ public final class MoreASTHelpers {
                 : ASTHelpers.getType(tree);
     }
 
+    /**
+     * Returns true if the current path may be evaluated many times per invocation of the enclosing method, because it
+     * is within a loop or a lambda expression.
+     */
+    static boolean isInLoopOrLambda(VisitorState state) {
+        for (Tree tree : state.getPath()) {
+            if (tree instanceof MethodTree || tree instanceof ClassTree) {
+                return false;
+            }
+            switch (tree.getKind()) {
+                case FOR_LOOP:
+                case ENHANCED_FOR_LOOP:
+                case WHILE_LOOP:
+                case DO_WHILE_LOOP:
+                case LAMBDA_EXPRESSION:
+                    return true;
+                default:
+                    break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the outermost loop enclosing the current path which doesn't also enclose the declaration of the
+     * variable, in which case the variable carries its value from one iteration to the next.
+     */
+    @Nullable
+    static TreePath outermostLoopCarrying(Symbol.VarSymbol variable, VisitorState state) {
+        TreePath outermost = null;
+        for (TreePath path = state.getPath(); path != null; path = path.getParentPath()) {
+            Tree tree = path.getLeaf();
+            if (tree instanceof MethodTree || tree instanceof ClassTree || tree instanceof LambdaExpressionTree) {
+                break;
+            }
+            if (isLoop(tree)) {
+                if (ASTHelpers.getStartPosition(tree) <= variable.pos && variable.pos < state.getEndPosition(tree)) {
+                    break;
+                }
+                outermost = path;
+            }
+        }
+        return outermost;
+    }
+
+    private static boolean isLoop(Tree tree) {
+        switch (tree.getKind()) {
+            case FOR_LOOP:
+            case ENHANCED_FOR_LOOP:
+            case WHILE_LOOP:
+            case DO_WHILE_LOOP:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns true if a {@code break} or {@code continue} within the loop jumps to a label declared outside of it,
+     * which would skip any statements a fix adds after the loop.
+     */
+    static boolean exitsToOuterLabel(TreePath loop) {
+        Set<String> labels = new HashSet<>();
+        return Boolean.TRUE.equals(new TreeScanner<Boolean, Void>() {
+            @Override
+            public Boolean visitLabeledStatement(LabeledStatementTree node, Void unused) {
+                labels.add(node.getLabel().toString());
+                return super.visitLabeledStatement(node, null);
+            }
+
+            @Override
+            public Boolean visitBreak(BreakTree node, Void unused) {
+                return isOuterLabel(node.getLabel());
+            }
+
+            @Override
+            public Boolean visitContinue(ContinueTree node, Void unused) {
+                return isOuterLabel(node.getLabel());
+            }
+
+            @Override
+            public Boolean reduce(Boolean first, Boolean second) {
+                return Boolean.TRUE.equals(first) || Boolean.TRUE.equals(second);
+            }
+
+            private boolean isOuterLabel(@Nullable CharSequence label) {
+                return label != null && !labels.contains(label.toString());
+            }
+        }.scan(loop.getLeaf(), null));
+    }
+
+    /** Returns the declaration of the variable if it is the statement immediately preceding the given statement. */
+    @Nullable
+    static VariableTree precedingDeclaration(BlockTree block, StatementTree statement, Symbol.VarSymbol variable) {
+        List<? extends StatementTree> statements = block.getStatements();
+        int index = statements.indexOf(statement);
+        if (index < 1 || !(statements.get(index - 1) instanceof VariableTree)) {
+            return null;
+        }
+        VariableTree declaration = (VariableTree) statements.get(index - 1);
+        return Objects.equals(ASTHelpers.getSymbol(declaration), variable) ? declaration : null;
+    }
+
+    /** Returns the given name, or the name followed by a number, which isn't declared in the enclosing method. */
+    static String unusedVariableName(String name, VisitorState state) {
+        Tree enclosing = null;
+        for (Tree tree : state.getPath()) {
+            if (tree instanceof MethodTree || tree instanceof ClassTree) {
+                enclosing = tree;
+                break;
+            }
+        }
+        Set<String> declared = new HashSet<>();
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitVariable(VariableTree node, Void unused) {
+                declared.add(node.getName().toString());
+                return super.visitVariable(node, null);
+            }
+        }.scan(enclosing, null);
+        String candidate = name;
+        for (int i = 2; declared.contains(candidate); i++) {
+            candidate = name + i;
+        }
+        return candidate;
+    }
+
     private MoreASTHelpers() {}
 }
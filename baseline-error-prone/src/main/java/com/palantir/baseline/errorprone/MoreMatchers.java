@@ -92,6 +92,25 @@ final class MoreMatchers {
         };
     }
 
+    /**
+     * Matches any tree in a compilation unit which references the given class or one of its subtypes. Library-specific
+     * checks may use this to avoid evaluating more expensive matchers in compilation units which cannot match.
+     *
+     * @see CompilationUnitReferences
+     */
+    static <T extends Tree> Matcher<T> compilationUnitReferencesClass(String className) {
+        return (Matcher<T>) (tree, state) -> CompilationUnitReferences.of(state).referencesClass(className);
+    }
+
+    /**
+     * Matches any tree in a compilation unit which references a class in the given package or its subpackages.
+     *
+     * @see CompilationUnitReferences
+     */
+    static <T extends Tree> Matcher<T> compilationUnitReferencesPackage(String packageName) {
+        return (Matcher<T>) (tree, state) -> CompilationUnitReferences.of(state).referencesPackage(packageName);
+    }
+
     private static boolean containsModifier(ModifiersTree tree, VisitorState state, Modifier modifier) {
         if (!tree.getFlags().contains(modifier)) {
             return false;
@@ -0,0 +1,150 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.Matchers;
+import com.google.errorprone.matchers.method.MethodMatchers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.Type;
+import javax.annotation.Nullable;
+
+/**
+ * {@link java.util.EnumMap} and {@link java.util.EnumSet} are backed by an array and a bit vector indexed by ordinal,
+ * where {@link java.util.HashMap} and {@link java.util.HashSet} hash each constant and allocate an entry per mapping.
+ * Hash based collections don't define an iteration order, so the enum collections may be used in their place, provided
+ * the collection never contains null.
+ *
+ * <p>Whether a null key is ever added can't generally be determined from the construction, and replacing a collection
+ * which does hold null would throw {@link NullPointerException} where it previously worked, so no fix is suggested.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = BugPattern.SeverityLevel.SUGGESTION,
+        summary = "Hash based maps and sets with enum keys should use EnumMap and EnumSet, which are considerably more"
+                + " efficient.")
+public final class PreferEnumCollections extends BugChecker
+        implements BugChecker.NewClassTreeMatcher, BugChecker.MethodInvocationTreeMatcher {
+
+    private static final Matcher<ExpressionTree> NEW_HASH_MAP = Matchers.anyOf(
+            MethodMatchers.constructor().forClass("java.util.HashMap").withParameters(),
+            MethodMatchers.constructor().forClass("java.util.HashMap").withParameters("int"));
+
+    private static final Matcher<ExpressionTree> NEW_HASH_SET = Matchers.anyOf(
+            MethodMatchers.constructor().forClass("java.util.HashSet").withParameters(),
+            MethodMatchers.constructor().forClass("java.util.HashSet").withParameters("int"));
+
+    private static final Matcher<ExpressionTree> HASH_MAP_FACTORY = Matchers.anyOf(
+            MethodMatchers.staticMethod()
+                    .onClass("com.google.common.collect.Maps")
+                    .named("newHashMap")
+                    .withNoParameters(),
+            MethodMatchers.staticMethod()
+                    .onClass("com.google.common.collect.Maps")
+                    .named("newHashMapWithExpectedSize")
+                    .withParameters("int"));
+
+    private static final Matcher<ExpressionTree> HASH_SET_FACTORY = Matchers.anyOf(
+            MethodMatchers.staticMethod()
+                    .onClass("com.google.common.collect.Sets")
+                    .named("newHashSet")
+                    .withNoParameters(),
+            MethodMatchers.staticMethod()
+                    .onClass("com.google.common.collect.Sets")
+                    .named("newHashSetWithExpectedSize")
+                    .withParameters("int"));
+
+    private static final Matcher<ExpressionTree> TO_SET = MethodMatchers.staticMethod()
+            .onClass("java.util.stream.Collectors")
+            .named("toSet")
+            .withNoParameters();
+
+    private static final Matcher<ExpressionTree> TO_MAP_WITH_MERGE = MethodMatchers.staticMethod()
+            .onClass("java.util.stream.Collectors")
+            .named("toMap")
+            .withParameters(
+                    "java.util.function.Function", "java.util.function.Function", "java.util.function.BinaryOperator");
+
+    private static final Matcher<ExpressionTree> STREAM_COLLECT = MethodMatchers.instanceMethod()
+            .onDescendantOf("java.util.stream.Stream")
+            .named("collect")
+            .withParameters("java.util.stream.Collector");
+
+    @Override
+    public Description matchNewClass(NewClassTree tree, VisitorState state) {
+        boolean map = NEW_HASH_MAP.matches(tree, state);
+        if ((!map && !NEW_HASH_SET.matches(tree, state)) || tree.getClassBody() != null) {
+            return Description.NO_MATCH;
+        }
+        return match(tree, ASTHelpers.getType(tree), map);
+    }
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+        if (HASH_MAP_FACTORY.matches(tree, state) || HASH_SET_FACTORY.matches(tree, state)) {
+            return match(tree, ASTHelpers.getType(tree), HASH_MAP_FACTORY.matches(tree, state));
+        }
+        if (TO_SET.matches(tree, state) || TO_MAP_WITH_MERGE.matches(tree, state)) {
+            // Only collectors passed directly to Stream.collect, where the collected type is known
+            Tree parent = state.getPath().getParentPath().getLeaf();
+            if (!(parent instanceof MethodInvocationTree) || !STREAM_COLLECT.matches((ExpressionTree) parent, state)) {
+                return Description.NO_MATCH;
+            }
+            return match(tree, ASTHelpers.getType(parent), TO_MAP_WITH_MERGE.matches(tree, state));
+        }
+        return Description.NO_MATCH;
+    }
+
+    private Description match(Tree tree, @Nullable Type collectionType, boolean map) {
+        if (enumKeyType(collectionType) == null) {
+            return Description.NO_MATCH;
+        }
+        return buildDescription(tree)
+                .setMessage(
+                        map
+                                ? "Maps with enum keys should use EnumMap, which stores values in an array indexed by"
+                                        + " ordinal rather than hashing keys. Note that EnumMap rejects null keys."
+                                : "Sets of enums should use EnumSet, which is backed by a bit vector rather than a"
+                                        + " hash table. Note that EnumSet rejects null elements.")
+                .build();
+    }
+
+    /**
+     * Returns the enum key or element type of a map or set, or null if it isn't an enum class. Type variables bounded
+     * by an enum are excluded, as their class literal can't be written.
+     */
+    @Nullable
+    private static Type enumKeyType(@Nullable Type collectionType) {
+        if (collectionType == null || collectionType.getTypeArguments().isEmpty()) {
+            return null;
+        }
+        Type keyType = collectionType.getTypeArguments().get(0);
+        return keyType.tsym != null && (keyType.tsym.flags() & Flags.ENUM) != 0 ? keyType : null;
+    }
+}
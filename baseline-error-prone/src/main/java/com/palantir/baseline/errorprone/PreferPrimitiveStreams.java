@@ -0,0 +1,333 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.method.MethodMatchers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Type;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * Numeric reductions of a {@code Stream<Integer>}, {@code Stream<Long>} or {@code Stream<Double>} produced by
+ * {@code map} box every element, only to unbox it again in the reduction. The primitive specializations returned by
+ * {@code mapToInt}, {@code mapToLong} and {@code mapToDouble} provide the same operations without allocating.
+ *
+ * <p>Fixes are only suggested where the primitive operation produces the same result. Summing doubles with
+ * {@code reduce} differs from the compensated summation of {@code DoubleStream.sum()}, and {@code DoubleStream.max()}
+ * and {@code min()} order {@code NaN} and negative zero differently from {@code Double.compareTo}.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = BugPattern.SeverityLevel.SUGGESTION,
+        summary = "Numeric operations on a boxed stream produced by map box every element. Prefer mapToInt,"
+                + " mapToLong or mapToDouble with the equivalent primitive stream operation.")
+public final class PreferPrimitiveStreams extends BugChecker implements BugChecker.MethodInvocationTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    private static final String STREAM = "java.util.stream.Stream";
+
+    private static final Matcher<ExpressionTree> STREAM_MAP = MethodMatchers.instanceMethod()
+            .onDescendantOf(STREAM)
+            .named("map")
+            .withParameters("java.util.function.Function");
+
+    private static final Matcher<ExpressionTree> REDUCE = MethodMatchers.instanceMethod()
+            .onDescendantOf(STREAM)
+            .named("reduce")
+            .withParameters("java.lang.Object", "java.util.function.BinaryOperator");
+
+    private static final Matcher<ExpressionTree> MAX_OR_MIN = MethodMatchers.instanceMethod()
+            .onDescendantOf(STREAM)
+            .namedAnyOf("max", "min")
+            .withParameters("java.util.Comparator");
+
+    private static final Matcher<ExpressionTree> COLLECT = MethodMatchers.instanceMethod()
+            .onDescendantOf(STREAM)
+            .named("collect")
+            .withParameters("java.util.stream.Collector");
+
+    private static final Matcher<ExpressionTree> SORTED = MethodMatchers.instanceMethod()
+            .onDescendantOf(STREAM)
+            .named("sorted")
+            .withNoParameters();
+
+    private static final Matcher<ExpressionTree> MAP_TO_PRIMITIVE = MethodMatchers.instanceMethod()
+            .onDescendantOf(STREAM)
+            .namedAnyOf("mapToInt", "mapToLong", "mapToDouble");
+
+    private static final Matcher<ExpressionTree> SUMMING_OR_AVERAGING = MethodMatchers.staticMethod()
+            .onClass("java.util.stream.Collectors")
+            .namedAnyOf(
+                    "summingInt", "summingLong", "summingDouble", "averagingInt", "averagingLong", "averagingDouble");
+
+    private static final Matcher<ExpressionTree> NATURAL_ORDER = MethodMatchers.staticMethod()
+            .onClass("java.util.Comparator")
+            .named("naturalOrder")
+            .withNoParameters();
+
+    private static final Matcher<ExpressionTree> OPTIONAL = MethodMatchers.instanceMethod()
+            .onExactClass("java.util.Optional")
+            .namedAnyOf("get", "orElse", "orElseThrow", "isPresent", "isEmpty");
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+        ExpressionTree receiver = ASTHelpers.getReceiver(tree);
+        if (!(receiver instanceof MethodInvocationTree) || !STREAM_MAP.matches(receiver, state)) {
+            return Description.NO_MATCH;
+        }
+        MethodInvocationTree map = (MethodInvocationTree) receiver;
+        // Explicit type arguments, such as stream.<Integer>map(f), aren't accepted by the primitive variants
+        if (!map.getTypeArguments().isEmpty()) {
+            return Description.NO_MATCH;
+        }
+        Optional<String> primitive = primitiveName(ASTHelpers.getType(map), state);
+        if (!primitive.isPresent()) {
+            return Description.NO_MATCH;
+        }
+        Optional<SuggestedFix> fix;
+        if (REDUCE.matches(tree, state)) {
+            if (!isZero(tree.getArguments().get(0))
+                    || !isBoxedMethod(tree.getArguments().get(1), "sum", map, state)) {
+                return Description.NO_MATCH;
+            }
+            fix = primitive.get().equals("Double")
+                    ? Optional.empty()
+                    : replaceTerminal(tree, map, primitive.get(), ".sum()", state);
+        } else if (MAX_OR_MIN.matches(tree, state)) {
+            ExpressionTree comparator = tree.getArguments().get(0);
+            if (!NATURAL_ORDER.matches(comparator, state)
+                    && !isBoxedMethod(comparator, "compare", map, state)
+                    && !isBoxedMethod(comparator, "compareTo", map, state)) {
+                return Description.NO_MATCH;
+            }
+            fix = primitive.get().equals("Double")
+                    ? Optional.empty()
+                    : replaceMaxOrMin(tree, map, primitive.get(), state);
+        } else if (COLLECT.matches(tree, state)) {
+            ExpressionTree collector = ASTHelpers.stripParentheses(tree.getArguments().get(0));
+            if (!(collector instanceof MethodInvocationTree) || !SUMMING_OR_AVERAGING.matches(collector, state)) {
+                return Description.NO_MATCH;
+            }
+            MethodInvocationTree collectorInvocation = (MethodInvocationTree) collector;
+            String collectorName = ASTHelpers.getSymbol(collectorInvocation).getSimpleName().toString();
+            if (!collectorName.endsWith(primitive.get())
+                    || !isUnboxing(collectorInvocation.getArguments().get(0), map, primitive.get(), state)) {
+                return Description.NO_MATCH;
+            }
+            fix = replaceTerminal(
+                    tree,
+                    map,
+                    primitive.get(),
+                    collectorName.startsWith("summing") ? ".sum()" : ".average().orElse(0)",
+                    state);
+        } else if (SORTED.matches(tree, state)) {
+            fix = Optional.of(SuggestedFix.builder()
+                    .merge(renameMap(map, primitive.get(), state))
+                    .postfixWith(tree, ".boxed()")
+                    .build());
+        } else if (MAP_TO_PRIMITIVE.matches(tree, state)) {
+            if (!ASTHelpers.getSymbol(tree).getSimpleName().contentEquals("mapTo" + primitive.get())
+                    || !isUnboxing(tree.getArguments().get(0), map, primitive.get(), state)) {
+                return Description.NO_MATCH;
+            }
+            fix = Optional.of(SuggestedFix.builder()
+                    .merge(renameMap(map, primitive.get(), state))
+                    .replace(state.getEndPosition(map), state.getEndPosition(tree), "")
+                    .build());
+        } else {
+            return Description.NO_MATCH;
+        }
+        Description.Builder description = buildDescription(tree)
+                .setMessage(String.format(
+                        "This operation boxes every element of a Stream<%1$s>. Prefer mapTo%2$s, which produces a"
+                                + " primitive stream.",
+                        elementType(map).tsym.getSimpleName(),
+                        primitive.get()));
+        if (isFunctionLiteral(map.getArguments().get(0))) {
+            fix.ifPresent(description::addFix);
+        }
+        return description.build();
+    }
+
+    /**
+     * Replaces a terminal operation producing a boxed number with the primitive operation, provided the enclosing
+     * expression doesn't depend on the result being boxed.
+     */
+    private static Optional<SuggestedFix> replaceTerminal(
+            MethodInvocationTree tree,
+            MethodInvocationTree map,
+            String primitive,
+            String replacement,
+            VisitorState state) {
+        if (!acceptsPrimitive(state.getPath())) {
+            return Optional.empty();
+        }
+        return Optional.of(SuggestedFix.builder()
+                .merge(renameMap(map, primitive, state))
+                .replace(state.getEndPosition(map), state.getEndPosition(tree), replacement)
+                .build());
+    }
+
+    /**
+     * {@code max} and {@code min} of a primitive stream return a primitive optional, which may only replace the
+     * {@link Optional} when it is immediately unwrapped.
+     */
+    private static Optional<SuggestedFix> replaceMaxOrMin(
+            MethodInvocationTree tree, MethodInvocationTree map, String primitive, VisitorState state) {
+        TreePath optionalPath = state.getPath().getParentPath().getParentPath();
+        if (!(state.getPath().getParentPath().getLeaf() instanceof MemberSelectTree)
+                || !(optionalPath.getLeaf() instanceof MethodInvocationTree)) {
+            return Optional.empty();
+        }
+        MethodInvocationTree optional = (MethodInvocationTree) optionalPath.getLeaf();
+        if (!OPTIONAL.matches(optional, state)) {
+            return Optional.empty();
+        }
+        SuggestedFix.Builder fix = SuggestedFix.builder()
+                .merge(renameMap(map, primitive, state))
+                .replace(
+                        state.getEndPosition(map),
+                        state.getEndPosition(tree),
+                        "." + ASTHelpers.getSymbol(tree).getSimpleName() + "()");
+        switch (ASTHelpers.getSymbol(optional).getSimpleName().toString()) {
+            case "isPresent":
+            case "isEmpty":
+                return Optional.of(fix.build());
+            case "get":
+                if (!acceptsPrimitive(optionalPath)) {
+                    return Optional.empty();
+                }
+                return Optional.of(fix.merge(
+                                SuggestedFixes.renameMethodInvocation(optional, "getAs" + primitive, state))
+                        .build());
+            case "orElse":
+                Type fallback = ASTHelpers.getType(optional.getArguments().get(0));
+                if (fallback == null || !fallback.isPrimitive() || !acceptsPrimitive(optionalPath)) {
+                    return Optional.empty();
+                }
+                return Optional.of(fix.build());
+            default:
+                return acceptsPrimitive(optionalPath) ? Optional.of(fix.build()) : Optional.empty();
+        }
+    }
+
+    /**
+     * Only lambdas and method references are retyped by renaming {@code map}. Any other expression, such as a
+     * {@code Function<String, Integer>} variable, isn't a {@code ToIntFunction} and wouldn't compile.
+     */
+    private static boolean isFunctionLiteral(ExpressionTree function) {
+        ExpressionTree stripped = ASTHelpers.stripParentheses(function);
+        return stripped instanceof LambdaExpressionTree || stripped instanceof MemberReferenceTree;
+    }
+
+    private static SuggestedFix renameMap(MethodInvocationTree map, String primitive, VisitorState state) {
+        return SuggestedFixes.renameMethodInvocation(map, "mapTo" + primitive, state);
+    }
+
+    /**
+     * Returns the primitive stream suffix, such as {@code Int}, for a stream of boxed numbers.
+     */
+    private static Optional<String> primitiveName(@Nullable Type streamType, VisitorState state) {
+        if (streamType == null || streamType.getTypeArguments().size() != 1) {
+            return Optional.empty();
+        }
+        switch (state.getTypes().unboxedType(streamType.getTypeArguments().get(0)).getTag()) {
+            case INT:
+                return Optional.of("Int");
+            case LONG:
+                return Optional.of("Long");
+            case DOUBLE:
+                return Optional.of("Double");
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static Type elementType(MethodInvocationTree map) {
+        return ASTHelpers.getType(map).getTypeArguments().get(0);
+    }
+
+    private static boolean isZero(ExpressionTree expression) {
+        Object value = ASTHelpers.constValue(expression);
+        return value instanceof Number && ((Number) value).doubleValue() == 0;
+    }
+
+    /** Returns true for a method reference to the named method of the boxed element type, such as Integer::sum. */
+    private static boolean isBoxedMethod(
+            ExpressionTree expression, String name, MethodInvocationTree map, VisitorState state) {
+        if (!(expression instanceof MemberReferenceTree)) {
+            return false;
+        }
+        Symbol symbol = ASTHelpers.getSymbol(expression);
+        return symbol != null
+                && symbol.getSimpleName().contentEquals(name)
+                && state.getTypes().isSameType(symbol.owner.type, elementType(map));
+    }
+
+    /** Returns true for functions which unbox their argument, such as {@code Integer::intValue} or {@code x -> x}. */
+    private static boolean isUnboxing(
+            ExpressionTree expression, MethodInvocationTree map, String primitive, VisitorState state) {
+        if (expression instanceof LambdaExpressionTree) {
+            LambdaExpressionTree lambda = (LambdaExpressionTree) expression;
+            Tree body = lambda.getBody();
+            return lambda.getParameters().size() == 1
+                    && body instanceof IdentifierTree
+                    && Objects.equals(
+                            ASTHelpers.getSymbol(body),
+                            ASTHelpers.getSymbol(lambda.getParameters().get(0)));
+        }
+        return isBoxedMethod(expression, primitive.toLowerCase(Locale.ROOT) + "Value", map, state);
+    }
+
+    /**
+     * Returns false if the expression at the given path is dereferenced or compared by identity, which would change
+     * meaning if the boxed result were replaced by a primitive.
+     */
+    private static boolean acceptsPrimitive(TreePath path) {
+        TreePath parentPath = path.getParentPath();
+        while (parentPath.getLeaf().getKind() == Tree.Kind.PARENTHESIZED) {
+            parentPath = parentPath.getParentPath();
+        }
+        Tree parent = parentPath.getLeaf();
+        return !(parent instanceof MemberSelectTree)
+                && parent.getKind() != Tree.Kind.EQUAL_TO
+                && parent.getKind() != Tree.Kind.NOT_EQUAL_TO
+                && parent.getKind() != Tree.Kind.SYNCHRONIZED;
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.method.MethodMatchers;
+import com.google.errorprone.predicates.TypePredicates;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.BinaryTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.BreakTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompoundAssignmentTree;
+import com.sun.source.tree.ContinueTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.ForLoopTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ParameterizedTypeTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.UnaryTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.TypeTag;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+/**
+ * A collection created empty and then filled with one element per iteration of a loop over a sized source grows its
+ * backing array or hash table several times along the way, although the final size is known before the loop starts.
+ * This complements {@link AvoidNewHashMapInt}, using the expected size factories for hash based collections.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = BugPattern.SeverityLevel.SUGGESTION,
+        summary = "Collections filled with one element per iteration of a loop over a sized source should be created"
+                + " with the expected size")
+public final class PresizeCollectionFromKnownSize extends BugChecker implements BugChecker.VariableTreeMatcher {
+
+    private static final String ARRAY_LIST = "java.util.ArrayList";
+
+    /** Guava factories for hash based collections, which account for the load factor of the hash table. */
+    private static final ImmutableMap<String, String> EXPECTED_SIZE_FACTORIES = ImmutableMap.of(
+            "java.util.HashMap", "com.google.common.collect.Maps#newHashMapWithExpectedSize",
+            "java.util.LinkedHashMap", "com.google.common.collect.Maps#newLinkedHashMapWithExpectedSize",
+            "java.util.HashSet", "com.google.common.collect.Sets#newHashSetWithExpectedSize",
+            "java.util.LinkedHashSet", "com.google.common.collect.Sets#newLinkedHashSetWithExpectedSize");
+
+    private static final Matcher<ExpressionTree> NEW_EMPTY_COLLECTION = MethodMatchers.constructor()
+            .forClass(TypePredicates.isExactTypeAny(ImmutableList.<String>builder()
+                    .add(ARRAY_LIST)
+                    .addAll(EXPECTED_SIZE_FACTORIES.keySet())
+                    .build()))
+            .withParameters();
+
+    private static final Matcher<ExpressionTree> COLLECTION_ADD = MethodMatchers.instanceMethod()
+            .onDescendantOf("java.util.Collection")
+            .named("add")
+            .withParameters("java.lang.Object");
+
+    private static final Matcher<ExpressionTree> MAP_PUT = MethodMatchers.instanceMethod()
+            .onDescendantOf("java.util.Map")
+            .named("put")
+            .withParameters("java.lang.Object", "java.lang.Object");
+
+    private static final Matcher<ExpressionTree> COLLECTION_SIZE = MethodMatchers.instanceMethod()
+            .onDescendantOf("java.util.Collection")
+            .named("size")
+            .withNoParameters();
+
+    @Override
+    public Description matchVariable(VariableTree tree, VisitorState state) {
+        ExpressionTree initializer = tree.getInitializer();
+        if (initializer == null
+                || !NEW_EMPTY_COLLECTION.matches(initializer, state)
+                || ((NewClassTree) initializer).getClassBody() != null) {
+            return Description.NO_MATCH;
+        }
+        Tree parent = state.getPath().getParentPath().getLeaf();
+        VarSymbol collection = ASTHelpers.getSymbol(tree);
+        if (!(parent instanceof BlockTree) || collection == null) {
+            return Description.NO_MATCH;
+        }
+        List<? extends StatementTree> statements = ((BlockTree) parent).getStatements();
+        int index = statements.indexOf(tree);
+        if (index + 1 >= statements.size()) {
+            return Description.NO_MATCH;
+        }
+        StatementTree loop = statements.get(index + 1);
+        Optional<String> size = knownSize(loop, state);
+        if (!size.isPresent() || !addsOncePerIteration(loopBody(loop), collection, state)) {
+            return Description.NO_MATCH;
+        }
+        SuggestedFix.Builder fix = SuggestedFix.builder();
+        String replacement = presized((NewClassTree) initializer, size.get(), fix, state);
+        return buildDescription(initializer)
+                .setMessage(String.format(
+                        "'%s' is filled with one element per iteration of the following loop. Create it with the"
+                                + " expected size using %s.",
+                        tree.getName(), replacement))
+                .addFix(fix.replace(initializer, replacement).build())
+                .build();
+    }
+
+    private static String presized(NewClassTree tree, String size, SuggestedFix.Builder fix, VisitorState state) {
+        String factory = EXPECTED_SIZE_FACTORIES.get(
+                ASTHelpers.getType(tree).tsym.getQualifiedName().toString());
+        ExpressionTree identifier = tree.getIdentifier();
+        if (factory == null) {
+            // Retain the original type, which may be raw, qualified or use explicit type arguments
+            return "new " + state.getSourceForNode(identifier) + "(" + size + ")";
+        }
+        List<? extends Tree> typeArguments = identifier instanceof ParameterizedTypeTree
+                ? ((ParameterizedTypeTree) identifier).getTypeArguments()
+                : null;
+        String[] owner = factory.split("#", 2);
+        String explicitTypes = typeArguments == null || typeArguments.isEmpty()
+                ? ""
+                : typeArguments.stream().map(state::getSourceForNode).collect(Collectors.joining(", ", "<", ">"));
+        return SuggestedFixes.qualifyType(state, fix, owner[0]) + "." + explicitTypes + owner[1] + "(" + size + ")";
+    }
+
+    /**
+     * Returns the source of an expression evaluating to the number of iterations of an enhanced for loop over a
+     * collection or array, or a counting loop bounded by the size of a collection or the length of an array.
+     */
+    private static Optional<String> knownSize(StatementTree loop, VisitorState state) {
+        if (loop instanceof EnhancedForLoopTree) {
+            ExpressionTree expression = ASTHelpers.stripParentheses(((EnhancedForLoopTree) loop).getExpression());
+            Type type = ASTHelpers.getType(expression);
+            if (type == null || !isStable(expression)) {
+                return Optional.empty();
+            }
+            if (type.hasTag(TypeTag.ARRAY)) {
+                return Optional.of(state.getSourceForNode(expression) + ".length");
+            }
+            Type collectionType = state.getTypeFromString("java.util.Collection");
+            if (collectionType != null
+                    && ASTHelpers.isSubtype(
+                            state.getTypes().erasure(type), state.getTypes().erasure(collectionType), state)) {
+                return Optional.of(state.getSourceForNode(expression) + ".size()");
+            }
+            return Optional.empty();
+        }
+        if (loop instanceof ForLoopTree) {
+            return countingLoopBound((ForLoopTree) loop, state);
+        }
+        return Optional.empty();
+    }
+
+    /** Matches {@code for (int i = 0; i < values.size(); i++)}, where the body doesn't assign the index. */
+    private static Optional<String> countingLoopBound(ForLoopTree loop, VisitorState state) {
+        if (loop.getInitializer().size() != 1
+                || !(loop.getInitializer().get(0) instanceof VariableTree)
+                || loop.getUpdate().size() != 1
+                || loop.getCondition() == null
+                || loop.getCondition().getKind() != Tree.Kind.LESS_THAN) {
+            return Optional.empty();
+        }
+        VariableTree index = (VariableTree) loop.getInitializer().get(0);
+        VarSymbol indexSymbol = ASTHelpers.getSymbol(index);
+        if (index.getInitializer() == null
+                || !Objects.equals(ASTHelpers.constValue(index.getInitializer()), 0)
+                || !isIncrement(loop.getUpdate().get(0).getExpression(), indexSymbol)) {
+            return Optional.empty();
+        }
+        BinaryTree condition = (BinaryTree) loop.getCondition();
+        if (!Objects.equals(ASTHelpers.getSymbol(condition.getLeftOperand()), indexSymbol)
+                || assigns(loop.getStatement(), indexSymbol)) {
+            return Optional.empty();
+        }
+        ExpressionTree bound = ASTHelpers.stripParentheses(condition.getRightOperand());
+        boolean collectionSize = COLLECTION_SIZE.matches(bound, state)
+                && isStable(ASTHelpers.getReceiver(bound));
+        boolean arrayLength = bound instanceof MemberSelectTree
+                && ((MemberSelectTree) bound).getIdentifier().contentEquals("length")
+                && isStable(((MemberSelectTree) bound).getExpression())
+                && Objects.requireNonNull(ASTHelpers.getType(((MemberSelectTree) bound).getExpression()))
+                        .hasTag(TypeTag.ARRAY);
+        return collectionSize || arrayLength ? Optional.of(state.getSourceForNode(bound)) : Optional.empty();
+    }
+
+    private static boolean isIncrement(ExpressionTree update, VarSymbol index) {
+        if ((update.getKind() == Tree.Kind.POSTFIX_INCREMENT || update.getKind() == Tree.Kind.PREFIX_INCREMENT)
+                && Objects.equals(ASTHelpers.getSymbol(((UnaryTree) update).getExpression()), index)) {
+            return true;
+        }
+        return update.getKind() == Tree.Kind.PLUS_ASSIGNMENT
+                && Objects.equals(ASTHelpers.getSymbol(((CompoundAssignmentTree) update).getVariable()), index)
+                && Objects.equals(ASTHelpers.constValue(((CompoundAssignmentTree) update).getExpression()), 1);
+    }
+
+    /**
+     * Returns true if evaluating the expression a second time yields the same collection, such as a variable or a
+     * getter without arguments.
+     */
+    private static boolean isStable(@Nullable ExpressionTree tree) {
+        if (tree == null) {
+            return false;
+        }
+        ExpressionTree expression = ASTHelpers.stripParentheses(tree);
+        if (expression instanceof IdentifierTree) {
+            return true;
+        }
+        if (expression instanceof MemberSelectTree) {
+            Symbol symbol = ASTHelpers.getSymbol(expression);
+            return symbol != null && (symbol.isStatic() || isStable(((MemberSelectTree) expression).getExpression()));
+        }
+        if (expression instanceof MethodInvocationTree) {
+            MethodInvocationTree invocation = (MethodInvocationTree) expression;
+            return invocation.getArguments().isEmpty() && isStable(ASTHelpers.getReceiver(invocation));
+        }
+        return false;
+    }
+
+    @Nullable
+    private static StatementTree loopBody(StatementTree loop) {
+        if (loop instanceof EnhancedForLoopTree) {
+            return ((EnhancedForLoopTree) loop).getStatement();
+        }
+        if (loop instanceof ForLoopTree) {
+            return ((ForLoopTree) loop).getStatement();
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the body unconditionally adds one element to the collection, without otherwise referencing it
+     * or leaving the loop early.
+     */
+    private static boolean addsOncePerIteration(
+            @Nullable StatementTree body, VarSymbol collection, VisitorState state) {
+        if (body == null) {
+            return false;
+        }
+        List<? extends StatementTree> statements =
+                body instanceof BlockTree ? ((BlockTree) body).getStatements() : ImmutableList.of(body);
+        long additions = statements.stream()
+                .filter(statement -> isAddition(statement, collection, state))
+                .count();
+        if (additions != 1) {
+            return false;
+        }
+        BodyScanner scanner = new BodyScanner(collection);
+        scanner.scan(body, null);
+        // The single addition references the collection once, as its receiver
+        return scanner.references == 1 && !scanner.exitsEarly;
+    }
+
+    private static boolean isAddition(StatementTree statement, VarSymbol collection, VisitorState state) {
+        if (!(statement instanceof ExpressionStatementTree)) {
+            return false;
+        }
+        ExpressionTree expression = ((ExpressionStatementTree) statement).getExpression();
+        if (!COLLECTION_ADD.matches(expression, state) && !MAP_PUT.matches(expression, state)) {
+            return false;
+        }
+        ExpressionTree receiver = ASTHelpers.getReceiver(expression);
+        return receiver instanceof IdentifierTree && Objects.equals(ASTHelpers.getSymbol(receiver), collection);
+    }
+
+    private static boolean assigns(StatementTree body, VarSymbol variable) {
+        Boolean result = body.accept(
+                new TreeScanner<Boolean, Void>() {
+                    @Override
+                    public Boolean visitAssignment(AssignmentTree node, Void unused) {
+                        return Objects.equals(ASTHelpers.getSymbol(node.getVariable()), variable)
+                                || Boolean.TRUE.equals(super.visitAssignment(node, null));
+                    }
+
+                    @Override
+                    public Boolean visitCompoundAssignment(CompoundAssignmentTree node, Void unused) {
+                        return Objects.equals(ASTHelpers.getSymbol(node.getVariable()), variable)
+                                || Boolean.TRUE.equals(super.visitCompoundAssignment(node, null));
+                    }
+
+                    @Override
+                    public Boolean visitUnary(UnaryTree node, Void unused) {
+                        return Objects.equals(ASTHelpers.getSymbol(node.getExpression()), variable)
+                                || Boolean.TRUE.equals(super.visitUnary(node, null));
+                    }
+
+                    @Override
+                    public Boolean reduce(Boolean first, Boolean second) {
+                        return Boolean.TRUE.equals(first) || Boolean.TRUE.equals(second);
+                    }
+                },
+                null);
+        return Boolean.TRUE.equals(result);
+    }
+
+    /** Counts references to the collection and detects statements which leave the loop body early. */
+    private static final class BodyScanner extends TreeScanner<Void, Void> {
+        private final VarSymbol collection;
+        private int references;
+        private boolean exitsEarly;
+
+        BodyScanner(VarSymbol collection) {
+            this.collection = collection;
+        }
+
+        @Override
+        public Void visitIdentifier(IdentifierTree node, Void unused) {
+            if (Objects.equals(ASTHelpers.getSymbol(node), collection)) {
+                references++;
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitBreak(BreakTree node, Void unused) {
+            exitsEarly = true;
+            return null;
+        }
+
+        @Override
+        public Void visitContinue(ContinueTree node, Void unused) {
+            exitsEarly = true;
+            return null;
+        }
+
+        @Override
+        public Void visitReturn(ReturnTree node, Void unused) {
+            exitsEarly = true;
+            return null;
+        }
+
+        @Override
+        public Void visitLambdaExpression(LambdaExpressionTree node, Void unused) {
+            // Returns within the lambda don't exit the loop, but references to the collection still count
+            return node.getBody().accept(new IdentifierCounter(), null);
+        }
+
+        @Override
+        public Void visitClass(ClassTree node, Void unused) {
+            return node.accept(new IdentifierCounter(), null);
+        }
+
+        private final class IdentifierCounter extends TreeScanner<Void, Void> {
+            @Override
+            public Void visitIdentifier(IdentifierTree node, Void unused) {
+                return BodyScanner.this.visitIdentifier(node, null);
+            }
+        }
+    }
+}
@@ -40,6 +40,10 @@ public final class PreventTokenLogging extends BugChecker implements BugChecker.
     private static final ImmutableList<String> TOKEN_TYPES =
             ImmutableList.of("com.palantir.tokens.auth.AuthHeader", "com.palantir.tokens.auth.BearerToken");
 
+    private static final Matcher<ExpressionTree> REFERENCES_TOKEN_TYPES = Matchers.anyOf(TOKEN_TYPES.stream()
+            .map(MoreMatchers::<ExpressionTree>compilationUnitReferencesClass)
+            .collect(ImmutableList.toImmutableList()));
+
     private static final Matcher<ExpressionTree> METHOD_MATCHER = Matchers.anyOf(
             MethodMatchers.instanceMethod().onDescendantOf("org.slf4j.Logger"),
             MethodMatchers.staticMethod()
@@ -52,7 +56,7 @@ public final class PreventTokenLogging extends BugChecker implements BugChecker.
 
     @Override
     public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
-        if (METHOD_MATCHER.matches(tree, state)) {
+        if (REFERENCES_TOKEN_TYPES.matches(tree, state) && METHOD_MATCHER.matches(tree, state)) {
             for (ExpressionTree arg : tree.getArguments()) {
                 if (AUTH_MATCHER.matches(arg, state)) {
                     return buildDescription(arg)
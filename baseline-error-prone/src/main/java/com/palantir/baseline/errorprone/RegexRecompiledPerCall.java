@@ -0,0 +1,284 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.common.base.CaseFormat;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.method.MethodMatchers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.util.TreePath;
+import com.sun.tools.javac.tree.JCTree;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * {@link String#matches(String)}, {@link String#replaceAll(String, String)}, {@link String#replaceFirst(String,
+ * String)} and {@link String#split(String)} compile their regular expression on every invocation, with the exception
+ * of single character splits which the JDK handles without a {@link Pattern}.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = SeverityLevel.SUGGESTION,
+        summary = "String methods accepting a regular expression compile a new Pattern on every invocation. Prefer"
+                + " String.replace for literal replacements, otherwise a Pattern stored in a static field.")
+public final class RegexRecompiledPerCall extends BugChecker implements MethodInvocationTreeMatcher {
+
+    private static final String MATCHES = "matches";
+    private static final String REPLACE_ALL = "replaceAll";
+    private static final String REPLACE_FIRST = "replaceFirst";
+    private static final String SPLIT = "split";
+
+    private static final Matcher<ExpressionTree> REGEX_METHOD = MethodMatchers.instanceMethod()
+            .onExactClass(String.class.getName())
+            .namedAnyOf(MATCHES, REPLACE_ALL, REPLACE_FIRST, SPLIT);
+
+    /** Characters which have a special meaning outside of a character class. */
+    private static final String REGEX_METACHARACTERS = ".$|()[]{}^?*+\\";
+
+    /** Characters which prevent {@link String#split(String)} from avoiding regular expressions for one character. */
+    private static final String SPLIT_FASTPATH_METACHARACTERS = ".$|()[{^?*+\\";
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+        Optional<String> regex = getConstantRegex(tree, state);
+        if (!regex.isPresent()) {
+            return Description.NO_MATCH;
+        }
+        String methodName = ASTHelpers.getSymbol(tree).getSimpleName().toString();
+        Description.Builder description = buildDescription(tree);
+        if (MoreASTHelpers.isInLoopOrLambda(state)) {
+            description.overrideSeverity(SeverityLevel.WARNING);
+        }
+        Optional<SuggestedFix> literalFix = literalFix(tree, methodName, regex.get(), state);
+        if (literalFix.isPresent()) {
+            return description
+                    .setMessage(String.format(
+                            "String.%s compiles a regular expression on every invocation, but the pattern contains no"
+                                    + " regular expression syntax. Prefer String.%s.",
+                            methodName, methodName.equals(MATCHES) ? "equals" : "replace"))
+                    .addFix(literalFix.get())
+                    .build();
+        }
+        description.setMessage(String.format(
+                "String.%s compiles a regular expression on every invocation. Prefer a Pattern stored in a static"
+                        + " field.",
+                methodName));
+        hoistedFix(tree, methodName, state).ifPresent(description::addFix);
+        return description.build();
+    }
+
+    /** Returns the regular expression of a reported invocation, or empty if the invocation should not be reported. */
+    private static Optional<String> getConstantRegex(MethodInvocationTree tree, VisitorState state) {
+        if (!REGEX_METHOD.matches(tree, state) || !(tree.getMethodSelect() instanceof MemberSelectTree)) {
+            return Optional.empty();
+        }
+        String regex = ASTHelpers.constValue(tree.getArguments().get(0), String.class);
+        if (regex == null || regex.isEmpty()) {
+            return Optional.empty();
+        }
+        String methodName = ASTHelpers.getSymbol(tree).getSimpleName().toString();
+        if (methodName.equals(SPLIT) && isSplitFastpath(regex)) {
+            return Optional.empty();
+        }
+        // Static initializers are evaluated once, so the pattern is only compiled once
+        if (!ConstantHoisting.isWithinMethodBody(state) && !MoreASTHelpers.isInLoopOrLambda(state)) {
+            return Optional.empty();
+        }
+        if (TestCheckUtils.isTestCode(state)) {
+            return Optional.empty();
+        }
+        return Optional.of(regex);
+    }
+
+    /** Mirrors the conditions under which {@link String#split(String)} avoids compiling a {@link Pattern}. */
+    private static boolean isSplitFastpath(String regex) {
+        if (regex.length() == 1) {
+            return SPLIT_FASTPATH_METACHARACTERS.indexOf(regex.charAt(0)) < 0;
+        }
+        if (regex.length() == 2 && regex.charAt(0) == '\\') {
+            char escaped = regex.charAt(1);
+            return !isAsciiLetterOrDigit(escaped) && !Character.isSurrogate(escaped);
+        }
+        return false;
+    }
+
+    /** Rewrites invocations whose pattern matches only itself to the equivalent method without regular expressions. */
+    private static Optional<SuggestedFix> literalFix(
+            MethodInvocationTree tree, String methodName, String regex, VisitorState state) {
+        if (!methodName.equals(MATCHES) && !methodName.equals(REPLACE_ALL)) {
+            return Optional.empty();
+        }
+        Optional<String> literal = unescapeRegex(regex);
+        if (!literal.isPresent()) {
+            return Optional.empty();
+        }
+        // Only the name and arguments are replaced, so fixes for chained invocations don't overlap
+        List<? extends ExpressionTree> arguments = tree.getArguments();
+        SuggestedFix.Builder fix = SuggestedFix.builder()
+                .replace(arguments.get(0), renderLiteral(arguments.get(0), regex, literal.get(), state));
+        if (methodName.equals(MATCHES)) {
+            return Optional.of(
+                    fix.merge(SuggestedFixes.renameMethodInvocation(tree, "equals", state)).build());
+        }
+        String replacementSource = ASTHelpers.constValue(arguments.get(1), String.class);
+        if (replacementSource == null) {
+            return Optional.empty();
+        }
+        Optional<String> replacement = unescapeReplacement(replacementSource);
+        if (!replacement.isPresent()) {
+            return Optional.empty();
+        }
+        return Optional.of(fix.replace(
+                        arguments.get(1), renderLiteral(arguments.get(1), replacementSource, replacement.get(), state))
+                .merge(SuggestedFixes.renameMethodInvocation(tree, "replace", state))
+                .build());
+    }
+
+    /** Reuses the existing argument when unescaping didn't change its value, retaining references to constants. */
+    private static String renderLiteral(ExpressionTree argument, String original, String literal, VisitorState state) {
+        return original.equals(literal) ? state.getSourceForNode(argument) : state.getConstantExpression(literal);
+    }
+
+    /** Hoists the regular expression into a {@link Pattern} constant. */
+    private Optional<SuggestedFix> hoistedFix(MethodInvocationTree tree, String methodName, VisitorState state) {
+        Optional<TreePath> host = ConstantHoisting.findHost(state);
+        if (!host.isPresent()) {
+            return Optional.empty();
+        }
+        List<? extends ExpressionTree> arguments = tree.getArguments();
+        Optional<String> regex = ConstantHoisting.renderConstantArgument(arguments.get(0), host.get(), state);
+        if (!regex.isPresent()) {
+            return Optional.empty();
+        }
+        SuggestedFix.Builder fix = SuggestedFix.builder();
+        String patternType = SuggestedFixes.qualifyType(state, fix, Pattern.class.getName());
+        String name = ConstantHoisting.uniqueName(
+                constantName(methodName), host.get(), tree, state, RegexRecompiledPerCall::candidateName);
+        Optional<SuggestedFix> field = ConstantHoisting.addField(
+                host.get(),
+                ConstantHoisting.declaration(patternType, name, patternType + ".compile(" + regex.get() + ")"),
+                state);
+        if (!field.isPresent()) {
+            return Optional.empty();
+        }
+        // The receiver is retained in place, so fixes within it don't overlap
+        ExpressionTree receiver = ((MemberSelectTree) tree.getMethodSelect()).getExpression();
+        int receiverEnd = state.getEndPosition(receiver);
+        int end = state.getEndPosition(tree);
+        switch (methodName) {
+            case SPLIT:
+                fix.prefixWith(receiver, name + ".split(");
+                if (arguments.size() > 1) {
+                    fix.replace(receiverEnd, ((JCTree) arguments.get(1)).getStartPosition(), ", ");
+                } else {
+                    fix.replace(receiverEnd, end, ")");
+                }
+                break;
+            case MATCHES:
+                fix.prefixWith(receiver, name + ".matcher(").replace(receiverEnd, end, ").matches()");
+                break;
+            default:
+                fix.prefixWith(receiver, name + ".matcher(")
+                        .replace(
+                                receiverEnd,
+                                ((JCTree) arguments.get(1)).getStartPosition(),
+                                ")." + methodName + "(");
+                break;
+        }
+        return Optional.of(fix.merge(field.get()).build());
+    }
+
+    private static Optional<String> candidateName(TreePath path, VisitorState state) {
+        if (!(path.getLeaf() instanceof MethodInvocationTree)) {
+            return Optional.empty();
+        }
+        MethodInvocationTree tree = (MethodInvocationTree) path.getLeaf();
+        Optional<String> regex = getConstantRegex(tree, state);
+        if (!regex.isPresent()) {
+            return Optional.empty();
+        }
+        String methodName = ASTHelpers.getSymbol(tree).getSimpleName().toString();
+        if (literalFix(tree, methodName, regex.get(), state).isPresent()) {
+            return Optional.empty();
+        }
+        return Optional.of(constantName(methodName));
+    }
+
+    private static String constantName(String methodName) {
+        return CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, methodName) + "_PATTERN";
+    }
+
+    /** Returns the string matched by the regular expression, if it matches exactly one string. */
+    private static Optional<String> unescapeRegex(String regex) {
+        StringBuilder literal = new StringBuilder(regex.length());
+        for (int i = 0; i < regex.length(); i++) {
+            char character = regex.charAt(i);
+            if (character == '\\') {
+                // Escaped letters and digits are character classes, back references or quoting
+                if (i + 1 >= regex.length() || isAsciiLetterOrDigit(regex.charAt(i + 1))) {
+                    return Optional.empty();
+                }
+                literal.append(regex.charAt(++i));
+            } else if (REGEX_METACHARACTERS.indexOf(character) >= 0) {
+                return Optional.empty();
+            } else {
+                literal.append(character);
+            }
+        }
+        return Optional.of(literal.toString());
+    }
+
+    /** Returns the literal value of a replacement string, if it contains no group references. */
+    private static Optional<String> unescapeReplacement(String replacement) {
+        StringBuilder literal = new StringBuilder(replacement.length());
+        for (int i = 0; i < replacement.length(); i++) {
+            char character = replacement.charAt(i);
+            if (character == '$') {
+                return Optional.empty();
+            }
+            if (character == '\\') {
+                if (i + 1 >= replacement.length()) {
+                    return Optional.empty();
+                }
+                character = replacement.charAt(++i);
+            }
+            literal.append(character);
+        }
+        return Optional.of(literal.toString());
+    }
+
+    private static boolean isAsciiLetterOrDigit(char character) {
+        return (character >= '0' && character <= '9')
+                || (character >= 'a' && character <= 'z')
+                || (character >= 'A' && character <= 'Z');
+    }
+}
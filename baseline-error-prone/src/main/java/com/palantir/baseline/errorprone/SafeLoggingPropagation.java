@@ -333,7 +333,7 @@ public final class SafeLoggingPropagation extends BugChecker
         return handleSafety(method, method.getModifiers(), state, methodDeclaredSafety, combinedReturnSafety);
     }
 
-    private static final class ReturnStatementSafetyScanner extends TreeScanner<Safety, VisitorState> {
+    static final class ReturnStatementSafetyScanner extends TreeScanner<Safety, VisitorState> {
 
         private final MethodTree target;
 
@@ -0,0 +1,239 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.method.MethodMatchers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.tools.javac.code.Type;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * Sorting a stream to keep only its first few elements sorts every element, taking O(n log n) time and buffering the
+ * entire stream. Guava's {@code Comparators.least} and {@code Comparators.greatest} collectors select the same
+ * elements in O(n log k) time and O(k) memory.
+ *
+ * <p>Unlike {@code sorted}, the collectors don't preserve the encounter order of elements which compare as equal, and
+ * return an unmodifiable list. Selecting from a {@code List} rather than a stream may use {@code Ordering.leastOf}.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = SeverityLevel.SUGGESTION,
+        summary = "Sorting a stream to keep its first k elements sorts every element. Guava's Comparators.least and"
+                + " Comparators.greatest collectors select the k elements in O(n log k) time and O(k) memory.")
+public final class SortedStreamLimit extends BugChecker implements BugChecker.MethodInvocationTreeMatcher {
+
+    private static final String STREAM = "java.util.stream.Stream";
+    private static final String COMPARATOR = "java.util.Comparator";
+
+    private static final Matcher<ExpressionTree> SORTED =
+            MethodMatchers.instanceMethod().onDescendantOf(STREAM).named("sorted");
+
+    private static final Matcher<ExpressionTree> LIMIT = MethodMatchers.instanceMethod()
+            .onDescendantOf(STREAM)
+            .named("limit")
+            .withParameters("long");
+
+    private static final Matcher<ExpressionTree> SUB_LIST = MethodMatchers.instanceMethod()
+            .onDescendantOf("java.util.List")
+            .named("subList")
+            .withParameters("int", "int");
+
+    private static final Matcher<ExpressionTree> COLLECT = MethodMatchers.instanceMethod()
+            .onDescendantOf(STREAM)
+            .named("collect")
+            .withParameters("java.util.stream.Collector");
+
+    private static final Matcher<ExpressionTree> COLLECTORS_TO_LIST = MethodMatchers.staticMethod()
+            .onClass("java.util.stream.Collectors")
+            .named("toList")
+            .withNoParameters();
+
+    private static final Matcher<ExpressionTree> STREAM_TO_LIST = MethodMatchers.instanceMethod()
+            .onDescendantOf(STREAM)
+            .named("toList")
+            .withNoParameters();
+
+    private static final Matcher<ExpressionTree> REVERSE_ORDER = MethodMatchers.staticMethod()
+            .onClass(COMPARATOR)
+            .named("reverseOrder")
+            .withNoParameters();
+
+    private static final Matcher<ExpressionTree> REVERSED = MethodMatchers.instanceMethod()
+            .onDescendantOf(COMPARATOR)
+            .named("reversed")
+            .withNoParameters();
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+        if (LIMIT.matches(tree, state)) {
+            return matchLimit(tree, state);
+        }
+        if (SUB_LIST.matches(tree, state)) {
+            return matchSubList(tree, state);
+        }
+        return Description.NO_MATCH;
+    }
+
+    /** {@code stream.sorted(comparator).limit(k)}, which is only fixed when immediately collected to a list. */
+    private Description matchLimit(MethodInvocationTree tree, VisitorState state) {
+        MethodInvocationTree sorted = sortedReceiver(tree, state);
+        if (sorted == null) {
+            return Description.NO_MATCH;
+        }
+        ExpressionTree limit = tree.getArguments().get(0);
+        Description.Builder description = describe(tree, limit, state);
+        Optional<String> count = intSource(limit, state);
+        if (!count.isPresent()) {
+            return description.build();
+        }
+        TreePath parentPath = state.getPath().getParentPath();
+        Tree terminal = parentPath.getParentPath().getLeaf();
+        // Collecting a stream which is consumed later, or closed, would consume the source early and drop its close
+        // handlers, so only streams immediately collected to a list are replaced
+        if (!(parentPath.getLeaf() instanceof MemberSelectTree) || !isCollectToList(terminal, state)) {
+            return description.build();
+        }
+        return addFix(description, sorted, count.get(), terminal, state);
+    }
+
+    /** {@code stream.sorted(comparator).collect(toList()).subList(0, k)}. */
+    private Description matchSubList(MethodInvocationTree tree, VisitorState state) {
+        ExpressionTree collected = ASTHelpers.getReceiver(tree);
+        if (!isCollectToList(collected, state)) {
+            return Description.NO_MATCH;
+        }
+        MethodInvocationTree sorted = sortedReceiver((MethodInvocationTree) collected, state);
+        Object from = ASTHelpers.constValue(tree.getArguments().get(0));
+        if (sorted == null || !(from instanceof Integer) || (Integer) from != 0) {
+            return Description.NO_MATCH;
+        }
+        ExpressionTree count = tree.getArguments().get(1);
+        return addFix(describe(tree, count, state), sorted, state.getSourceForNode(count), tree, state);
+    }
+
+    private Description.Builder describe(Tree tree, ExpressionTree count, VisitorState state) {
+        return buildDescription(tree)
+                .setMessage(String.format(
+                        "Sorting a stream to keep its first %s elements sorts every element. Prefer Guava's"
+                                + " Comparators.least or Comparators.greatest collector, which selects the elements"
+                                + " in O(n log k) time and O(k) memory. Note that the collectors don't preserve the"
+                                + " encounter order of equal elements.",
+                        state.getSourceForNode(count)));
+    }
+
+    /**
+     * Replaces everything following the stream which is sorted, up to the end of {@code replaced}, with a selecting
+     * collector.
+     */
+    private static Description addFix(
+            Description.Builder description,
+            MethodInvocationTree sorted,
+            String count,
+            Tree replaced,
+            VisitorState state) {
+        ExpressionTree stream = ASTHelpers.getReceiver(sorted);
+        if (stream == null) {
+            return description.build();
+        }
+        SuggestedFix.Builder fix = SuggestedFix.builder();
+        String comparators = SuggestedFixes.qualifyType(state, fix, "com.google.common.collect.Comparators");
+        String collector;
+        if (sorted.getArguments().isEmpty()) {
+            Type elementType = ASTHelpers.getType(stream).getTypeArguments().isEmpty()
+                    ? null
+                    : ASTHelpers.getType(stream).getTypeArguments().get(0);
+            if (!isComparable(elementType, state)) {
+                return description.build();
+            }
+            collector = comparators + ".least(" + count + ", " + naturalOrder(fix, state) + ")";
+        } else {
+            ExpressionTree comparator = ASTHelpers.stripParentheses(sorted.getArguments().get(0));
+            if (REVERSE_ORDER.matches(comparator, state)) {
+                collector = comparators + ".greatest(" + count + ", " + naturalOrder(fix, state) + ")";
+            } else if (REVERSED.matches(comparator, state) && ASTHelpers.getReceiver(comparator) != null) {
+                collector = comparators + ".greatest(" + count + ", "
+                        + state.getSourceForNode(ASTHelpers.getReceiver(comparator)) + ")";
+            } else {
+                collector = comparators + ".least(" + count + ", " + state.getSourceForNode(comparator) + ")";
+            }
+        }
+        fix.replace(
+                state.getEndPosition(stream),
+                state.getEndPosition(replaced),
+                ".collect(" + collector + ")");
+        return description.addFix(fix.build()).build();
+    }
+
+    private static String naturalOrder(SuggestedFix.Builder fix, VisitorState state) {
+        return SuggestedFixes.qualifyType(state, fix, COMPARATOR) + ".naturalOrder()";
+    }
+
+    @Nullable
+    private static MethodInvocationTree sortedReceiver(MethodInvocationTree tree, VisitorState state) {
+        ExpressionTree receiver = ASTHelpers.getReceiver(tree);
+        return receiver instanceof MethodInvocationTree && SORTED.matches(receiver, state)
+                ? (MethodInvocationTree) receiver
+                : null;
+    }
+
+    private static boolean isCollectToList(@Nullable Tree tree, VisitorState state) {
+        if (!(tree instanceof MethodInvocationTree)) {
+            return false;
+        }
+        MethodInvocationTree invocation = (MethodInvocationTree) tree;
+        return STREAM_TO_LIST.matches(invocation, state)
+                || (COLLECT.matches(invocation, state)
+                        && COLLECTORS_TO_LIST.matches(invocation.getArguments().get(0), state));
+    }
+
+    /** The selecting collectors accept an int count, where {@code limit} accepts a long. */
+    private static Optional<String> intSource(ExpressionTree count, VisitorState state) {
+        Type type = ASTHelpers.getType(count);
+        if (type != null && state.getTypes().isSameType(type, state.getSymtab().intType)) {
+            return Optional.of(state.getSourceForNode(count));
+        }
+        Object value = ASTHelpers.constValue(count);
+        if (value instanceof Long && (Long) value >= 0 && (Long) value <= Integer.MAX_VALUE) {
+            return Optional.of(Long.toString((Long) value));
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isComparable(@Nullable Type type, VisitorState state) {
+        Type comparable = state.getTypeFromString("java.lang.Comparable");
+        return type != null
+                && comparable != null
+                && state.getTypes().isSubtype(state.getTypes().erasure(type), state.getTypes().erasure(comparable));
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.Matchers;
+import com.google.errorprone.matchers.method.MethodMatchers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import javax.lang.model.element.ElementKind;
+
+/**
+ * Each {@code Stream.concat} wraps both of its streams in a new stream, so reassigning a variable to the
+ * concatenation of itself and another stream on every iteration of a loop produces a chain of streams as deep as the
+ * number of iterations. Each element passes through every level of the chain, and deep chains overflow the stack when
+ * the stream is consumed. Collecting the parts into a list and flattening them with {@code flatMap} has constant depth.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = SeverityLevel.WARNING,
+        summary = "Concatenating streams in a loop builds a chain of streams as deep as the number of iterations,"
+                + " which is slow to consume and may overflow the stack. Prefer collecting the streams into a list"
+                + " and using flatMap.")
+public final class StreamConcatInLoop extends BugChecker implements BugChecker.AssignmentTreeMatcher {
+
+    private static final Matcher<ExpressionTree> STREAM_CONCAT = MethodMatchers.staticMethod()
+            .onClass("java.util.stream.Stream")
+            .named("concat");
+
+    private static final Matcher<ExpressionTree> CONCAT = Matchers.anyOf(
+            STREAM_CONCAT,
+            MethodMatchers.staticMethod()
+                    .onClassAny(
+                            "java.util.stream.IntStream",
+                            "java.util.stream.LongStream",
+                            "java.util.stream.DoubleStream",
+                            "com.google.common.collect.Streams")
+                    .named("concat"));
+
+    private static final Matcher<ExpressionTree> GUAVA_STREAM_CONCAT = MethodMatchers.staticMethod()
+            .onClass("com.google.common.collect.Streams")
+            .named("concat")
+            .withParameters("java.util.stream.Stream[]");
+
+    private static final Matcher<ExpressionTree> EMPTY_STREAM = MethodMatchers.staticMethod()
+            .onClass("java.util.stream.Stream")
+            .named("empty")
+            .withNoParameters();
+
+    @Override
+    public Description matchAssignment(AssignmentTree tree, VisitorState state) {
+        Symbol symbol = ASTHelpers.getSymbol(tree.getVariable());
+        if (!(symbol instanceof VarSymbol)
+                || (symbol.getKind() != ElementKind.LOCAL_VARIABLE && symbol.getKind() != ElementKind.PARAMETER)
+                || !isConcatenation(tree, (VarSymbol) symbol, state)) {
+            return Description.NO_MATCH;
+        }
+        VarSymbol variable = (VarSymbol) symbol;
+        TreePath loop = MoreASTHelpers.outermostLoopCarrying(variable, state);
+        if (loop == null) {
+            return Description.NO_MATCH;
+        }
+        LoopScanner scanner = new LoopScanner(variable, state);
+        scanner.scan(loop, null);
+        // Report each variable once per loop, at the first place it is concatenated
+        if (scanner.concatenations.isEmpty() || scanner.concatenations.get(0) != tree) {
+            return Description.NO_MATCH;
+        }
+        Description.Builder description = buildDescription(tree)
+                .setMessage(String.format(
+                        "Stream '%s' is concatenated in a loop, which builds a chain of streams as deep as the number"
+                                + " of iterations. Prefer collecting the streams into a list and using flatMap.",
+                        variable.getSimpleName()));
+        if (scanner.canFix() && !MoreASTHelpers.exitsToOuterLabel(loop)) {
+            buildFix(loop, variable, scanner.concatenations, state).ifPresent(description::addFix);
+        }
+        return description.build();
+    }
+
+    /**
+     * Replaces each {@code stream = Stream.concat(stream, other)} with {@code streamParts.add(other)}, and flattens
+     * the parts once the loop completes.
+     */
+    private static Optional<SuggestedFix> buildFix(
+            TreePath loop, VarSymbol variable, List<AssignmentTree> concatenations, VisitorState state) {
+        if (!(loop.getParentPath().getLeaf() instanceof BlockTree)) {
+            return Optional.empty();
+        }
+        String name = variable.getSimpleName().toString();
+        String parts = MoreASTHelpers.unusedVariableName(name + "Parts", state);
+        SuggestedFix.Builder fix = SuggestedFix.builder();
+        for (AssignmentTree concatenation : concatenations) {
+            MethodInvocationTree invocation =
+                    (MethodInvocationTree) ASTHelpers.stripParentheses(concatenation.getExpression());
+            List<? extends ExpressionTree> arguments = invocation.getArguments();
+            // Only appending a single stream of the same type as the variable keeps the element order and type
+            if ((!STREAM_CONCAT.matches(invocation, state) && !GUAVA_STREAM_CONCAT.matches(invocation, state))
+                    || arguments.size() != 2
+                    || !isReference(arguments.get(0), variable)
+                    || !ASTHelpers.isSameType(ASTHelpers.getType(arguments.get(1)), variable.type, state)) {
+                return Optional.empty();
+            }
+            fix.replace(concatenation, parts + ".add(" + state.getSourceForNode(arguments.get(1)) + ")");
+        }
+        String type = SuggestedFixes.prettyType(state, fix, variable.type);
+        String partsDeclaration = SuggestedFixes.qualifyType(state, fix, "java.util.List") + "<" + type + "> " + parts
+                + " = new " + SuggestedFixes.qualifyType(state, fix, "java.util.ArrayList") + "<>();";
+        String flattened = parts + ".stream().flatMap("
+                + SuggestedFixes.qualifyType(state, fix, "java.util.function.Function") + ".identity());";
+        StatementTree statement = (StatementTree) loop.getLeaf();
+        VariableTree declaration =
+                MoreASTHelpers.precedingDeclaration((BlockTree) loop.getParentPath().getLeaf(), statement, variable);
+        if (declaration != null
+                && declaration.getInitializer() != null
+                && declaration.getModifiers().getAnnotations().isEmpty()) {
+            ExpressionTree initializer = declaration.getInitializer();
+            fix.replace(
+                            declaration,
+                            EMPTY_STREAM.matches(initializer, state)
+                                    ? partsDeclaration
+                                    : partsDeclaration + "\n" + parts + ".add(" + state.getSourceForNode(initializer)
+                                            + ");")
+                    .postfixWith(statement, "\n" + type + " " + name + " = " + flattened);
+        } else {
+            fix.prefixWith(statement, partsDeclaration + "\n" + parts + ".add(" + name + ");\n")
+                    .postfixWith(statement, "\n" + name + " = " + flattened);
+        }
+        return Optional.of(fix.build());
+    }
+
+    /** Returns true for {@code stream = concat(..., stream, ...)}. */
+    private static boolean isConcatenation(AssignmentTree tree, VarSymbol variable, VisitorState state) {
+        if (!Objects.equals(ASTHelpers.getSymbol(tree.getVariable()), variable)) {
+            return false;
+        }
+        ExpressionTree expression = ASTHelpers.stripParentheses(tree.getExpression());
+        return expression instanceof MethodInvocationTree
+                && CONCAT.matches(expression, state)
+                && ((MethodInvocationTree) expression)
+                        .getArguments().stream().anyMatch(argument -> isReference(argument, variable));
+    }
+
+    private static boolean isReference(ExpressionTree tree, VarSymbol variable) {
+        ExpressionTree expression = ASTHelpers.stripParentheses(tree);
+        return expression instanceof IdentifierTree && Objects.equals(ASTHelpers.getSymbol(expression), variable);
+    }
+
+    /**
+     * Collects the assignments within a loop which concatenate the variable, and whether the variable or the loop is
+     * used in any other way which prevents collecting the streams into a list for the duration of the loop.
+     */
+    private static final class LoopScanner extends TreePathScanner<Void, Void> {
+        private final VarSymbol variable;
+        private final VisitorState state;
+
+        private final List<AssignmentTree> concatenations = new ArrayList<>();
+        private int references;
+        private boolean resultUsed;
+
+        LoopScanner(VarSymbol variable, VisitorState state) {
+            this.variable = variable;
+            this.state = state;
+        }
+
+        /** Each concatenation references the variable twice, once as the assigned variable and once as an argument. */
+        boolean canFix() {
+            return references == 2 * concatenations.size() && !resultUsed;
+        }
+
+        @Override
+        public Void visitAssignment(AssignmentTree node, Void unused) {
+            if (isConcatenation(node, variable, state)) {
+                concatenations.add(node);
+                if (!(getCurrentPath().getParentPath().getLeaf() instanceof ExpressionStatementTree)) {
+                    resultUsed = true;
+                }
+            }
+            return super.visitAssignment(node, null);
+        }
+
+        @Override
+        public Void visitIdentifier(IdentifierTree node, Void unused) {
+            if (isReference(node, variable)) {
+                references++;
+            }
+            return null;
+        }
+    }
+}
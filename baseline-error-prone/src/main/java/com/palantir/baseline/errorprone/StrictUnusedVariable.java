@@ -56,7 +56,6 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.ListMultimap;
@@ -87,7 +86,6 @@ import com.sun.source.tree.ExpressionTree;
 import com.sun.source.tree.ForLoopTree;
 import com.sun.source.tree.IdentifierTree;
 import com.sun.source.tree.IfTree;
-import com.sun.source.tree.LambdaExpressionTree;
 import com.sun.source.tree.MemberReferenceTree;
 import com.sun.source.tree.MemberSelectTree;
 import com.sun.source.tree.MethodInvocationTree;
@@ -103,7 +101,8 @@ import com.sun.source.tree.WhileLoopTree;
 import com.sun.source.util.SimpleTreeVisitor;
 import com.sun.source.util.TreePath;
 import com.sun.source.util.TreePathScanner;
-import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.api.JavacTrees;
+import com.sun.tools.javac.code.Flags;
 import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.tree.JCTree;
@@ -116,7 +115,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nullable;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
@@ -181,23 +179,25 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
 
     @Override
     public Description matchCompilationUnit(CompilationUnitTree tree, VisitorState state) {
+        // A single traversal finds all local variables and fields, and filters out those which are used. Usages of
+        // exempted variables and invocations of private methods come from CompilationUnitFacts, which scans the
+        // compilation unit a second time, shared with other checks, only when one of them is needed.
+        VariableScanner scanner = new VariableScanner(state);
+        scanner.scan(state.getPath(), null);
+
         // We will skip reporting on the whole compilation if there are any native methods found.
-        // Use a TreeScanner to find all local variables and fields.
-        if (hasNativeMethods(tree)) {
+        if (scanner.hasNativeMethods) {
             return Description.NO_MATCH;
         }
 
-        VariableFinder variableFinder = new VariableFinder(state);
-        variableFinder.scan(state.getPath(), null);
-
-        checkUsedVariables(state, variableFinder);
+        checkUsedVariables(state, scanner);
 
         // Map of symbols to variable declarations. Initially this is a map of all of the local variable
         // and fields. As we go we remove those variables which are used.
-        Map<Symbol, TreePath> unusedElements = variableFinder.unusedElements;
+        Map<Symbol, TreePath> unusedElements = scanner.unusedElements;
 
         // Whether a symbol should only be checked for reassignments (e.g. public methods' parameters).
-        Set<Symbol> onlyCheckForReassignments = variableFinder.onlyCheckForReassignments;
+        Set<Symbol> onlyCheckForReassignments = scanner.onlyCheckForReassignments;
 
         // Map of symbols to their usage sites. In this map we also include the definition site in
         // addition to all the trees where symbol is used. This map is designed to keep the usage sites
@@ -205,14 +205,11 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
         //
         // We populate this map when analyzing the unused variables and then use it to generate
         // appropriate fixes for them.
-        ListMultimap<Symbol, TreePath> usageSites = variableFinder.usageSites;
-
-        FilterUsedVariables filterUsedVariables = new FilterUsedVariables(unusedElements, usageSites);
-        filterUsedVariables.scan(state.getPath(), null);
+        ListMultimap<Symbol, TreePath> usageSites = scanner.usageSites;
 
         // Keeps track of whether a symbol was _ever_ used (between reassignments).
-        Set<Symbol> isEverUsed = filterUsedVariables.isEverUsed;
-        List<UnusedSpec> unusedSpecs = filterUsedVariables.unusedSpecs;
+        Set<Symbol> isEverUsed = scanner.isEverUsed;
+        List<UnusedSpec> unusedSpecs = scanner.unusedSpecs;
 
         // Add the left-over unused variables...
         for (Map.Entry<Symbol, TreePath> entry : unusedElements.entrySet()) {
@@ -227,17 +224,18 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
             Symbol unusedSymbol = entry.getKey();
             Collection<UnusedSpec> specs = entry.getValue();
 
-            ImmutableList<TreePath> allUsageSites =
-                    specs.stream().flatMap(u -> u.usageSites().stream()).collect(toImmutableList());
             if (!unusedElements.containsKey(unusedSymbol)) {
                 isEverUsed.add(unusedSymbol);
             }
-            SuggestedFix makeFirstAssignmentDeclaration =
-                    makeAssignmentDeclaration(unusedSymbol, specs, allUsageSites, state);
             // Don't complain if this is a public method and we only overwrote it once.
             if (onlyCheckForReassignments.contains(unusedSymbol) && specs.size() <= 1) {
                 continue;
             }
+            // Fixes are only built for variables which are reported
+            ImmutableList<TreePath> allUsageSites =
+                    specs.stream().flatMap(u -> u.usageSites().stream()).collect(toImmutableList());
+            SuggestedFix makeFirstAssignmentDeclaration =
+                    makeAssignmentDeclaration(unusedSymbol, specs, allUsageSites, state);
             Tree unused = specs.iterator().next().variableTree().getLeaf();
             Symbol.VarSymbol symbol = (Symbol.VarSymbol) unusedSymbol;
             ImmutableList<SuggestedFix> fixes;
@@ -279,11 +277,9 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
         return Description.NO_MATCH;
     }
 
-    private void checkUsedVariables(VisitorState state, VariableFinder variableFinder) {
-        VariableUsage variableUsage = new VariableUsage();
-        variableUsage.scan(state.getPath(), null);
-        variableFinder.exemptedVariables.forEach((key, value) -> {
-            List<TreePath> usageSites = variableUsage.usageSites.get(key);
+    private void checkUsedVariables(VisitorState state, VariableScanner scanner) {
+        scanner.exemptedVariables.forEach((key, value) -> {
+            List<TreePath> usageSites = CompilationUnitFacts.of(state).usages(key);
             if (usageSites.size() <= 1) {
                 return;
             }
@@ -398,20 +394,6 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
         }
     }
 
-    private static boolean hasNativeMethods(CompilationUnitTree tree) {
-        AtomicBoolean hasAnyNativeMethods = new AtomicBoolean(false);
-        new TreeScanner<Void, Void>() {
-            @Override
-            public Void visitMethod(MethodTree tree, Void unused) {
-                if (tree.getModifiers().getFlags().contains(Modifier.NATIVE)) {
-                    hasAnyNativeMethods.set(true);
-                }
-                return null;
-            }
-        }.scan(tree, null);
-        return hasAnyNativeMethods.get();
-    }
-
     // https://docs.oracle.com/javase/specs/jls/se11/html/jls-14.html#jls-ExpressionStatement
     private static final ImmutableSet<Tree.Kind> TOP_LEVEL_EXPRESSIONS = ImmutableSet.of(
             Tree.Kind.ASSIGNMENT,
@@ -561,100 +543,95 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
 
         // Remove parameter if the method is private since we can automatically fix all invocation sites
         // Otherwise add `_` prefix to the variable name
+        JCTree declaration = JavacTrees.instance(state.context).getTree(methodSymbol);
         if (isPrivateMethod) {
-            new TreePathScanner<Void, Void>() {
-                @Override
-                public Void visitMethodInvocation(MethodInvocationTree tree, Void unused) {
-                    if (getSymbol(tree).equals(methodSymbol)) {
-                        removeByIndex(tree.getArguments());
-                    }
-                    return super.visitMethodInvocation(tree, null);
-                }
-
-                @Override
-                public Void visitMethod(MethodTree tree, Void unused) {
-                    if (getSymbol(tree).equals(methodSymbol)) {
-                        removeByIndex(tree.getParameters());
-                    }
-                    return super.visitMethod(tree, null);
+            for (TreePath invocation : CompilationUnitFacts.of(state).invocations(methodSymbol.owner)) {
+                MethodInvocationTree invocationTree = (MethodInvocationTree) invocation.getLeaf();
+                if (getSymbol(invocationTree).equals(methodSymbol)) {
+                    removeByIndex(invocationTree.getArguments(), index, methodSymbol, fix, state);
                 }
+            }
+            if (declaration instanceof MethodTree) {
+                removeByIndex(((MethodTree) declaration).getParameters(), index, methodSymbol, fix, state);
+            }
+        } else if (declaration instanceof MethodTree) {
+            renameByIndex(((MethodTree) declaration).getParameters(), index, methodSymbol, fix, state);
+        }
+        return ImmutableList.of(fix.build());
+    }
 
-                private void removeByIndex(List<? extends Tree> trees) {
-                    if (index >= trees.size()) {
-                        // possible when removing a varargs parameter with no corresponding formal parameters
-                        return;
-                    }
-                    if (trees.size() == 1) {
-                        Tree tree = getOnlyElement(trees);
-                        if (((JCTree) tree).getStartPosition() == -1 || state.getEndPosition(tree) == -1) {
-                            // TODO(b/118437729): handle bogus source positions in enum declarations
-                            return;
-                        }
-                        fix.delete(tree);
-                        return;
-                    }
-                    int startPos;
-                    int endPos;
-                    if (index >= 1) {
-                        startPos = state.getEndPosition(trees.get(index - 1));
-                        endPos = state.getEndPosition(trees.get(index));
-                    } else {
-                        startPos = ((JCTree) trees.get(index)).getStartPosition();
-                        endPos = ((JCTree) trees.get(index + 1)).getStartPosition();
-                    }
-                    if (index == methodSymbol.params().size() - 1 && methodSymbol.isVarArgs()) {
-                        endPos = state.getEndPosition(getLast(trees));
-                    }
-                    if (startPos == Position.NOPOS || endPos == Position.NOPOS) {
-                        // TODO(b/118437729): handle bogus source positions in enum declarations
-                        return;
-                    }
-                    fix.replace(startPos, endPos, "");
-                }
-            }.scan(state.getPath().getCompilationUnit(), null);
+    private static void removeByIndex(
+            List<? extends Tree> trees,
+            int index,
+            Symbol.MethodSymbol methodSymbol,
+            SuggestedFix.Builder fix,
+            VisitorState state) {
+        if (index >= trees.size()) {
+            // possible when removing a varargs parameter with no corresponding formal parameters
+            return;
+        }
+        if (trees.size() == 1) {
+            Tree tree = getOnlyElement(trees);
+            if (((JCTree) tree).getStartPosition() == -1 || state.getEndPosition(tree) == -1) {
+                // TODO(b/118437729): handle bogus source positions in enum declarations
+                return;
+            }
+            fix.delete(tree);
+            return;
+        }
+        int startPos;
+        int endPos;
+        if (index >= 1) {
+            startPos = state.getEndPosition(trees.get(index - 1));
+            endPos = state.getEndPosition(trees.get(index));
         } else {
-            new TreePathScanner<Void, Void>() {
-                @Override
-                public Void visitMethod(MethodTree methodTree, Void unused) {
-                    if (getSymbol(methodTree).equals(methodSymbol)) {
-                        renameByIndex(methodTree.getParameters());
-                    }
-                    return super.visitMethod(methodTree, null);
-                }
+            startPos = ((JCTree) trees.get(index)).getStartPosition();
+            endPos = ((JCTree) trees.get(index + 1)).getStartPosition();
+        }
+        if (index == methodSymbol.params().size() - 1 && methodSymbol.isVarArgs()) {
+            endPos = state.getEndPosition(getLast(trees));
+        }
+        if (startPos == Position.NOPOS || endPos == Position.NOPOS) {
+            // TODO(b/118437729): handle bogus source positions in enum declarations
+            return;
+        }
+        fix.replace(startPos, endPos, "");
+    }
 
-                private void renameByIndex(List<? extends VariableTree> trees) {
-                    if (index >= trees.size()) {
-                        // possible when removing a varargs parameter with no corresponding formal parameters
-                        return;
-                    }
+    private static void renameByIndex(
+            List<? extends VariableTree> trees,
+            int index,
+            Symbol.MethodSymbol methodSymbol,
+            SuggestedFix.Builder fix,
+            VisitorState state) {
+        if (index >= trees.size()) {
+            // possible when removing a varargs parameter with no corresponding formal parameters
+            return;
+        }
 
-                    VariableTree tree = trees.get(index);
-                    int startPos = state.getEndPosition(tree.getType()) + 1;
-                    int endPos = state.getEndPosition(trees.get(index));
-                    if (index == methodSymbol.params().size() - 1 && methodSymbol.isVarArgs()) {
-                        endPos = state.getEndPosition(getLast(trees));
-                    }
-                    if (startPos == Position.NOPOS || endPos == Position.NOPOS) {
-                        // TODO(b/118437729): handle bogus source positions in enum declarations
-                        return;
-                    }
-                    String name = tree.getName().toString();
-                    if (name.startsWith(UNUSED)) {
-                        fix.replace(
-                                startPos,
-                                endPos,
-                                "_"
-                                        + (name.equals(UNUSED)
-                                                ? "value"
-                                                : CaseFormat.UPPER_CAMEL.to(
-                                                        CaseFormat.LOWER_CAMEL, name.substring(UNUSED.length()))));
-                    } else {
-                        fix.replace(startPos, endPos, "_" + tree.getName());
-                    }
-                }
-            }.scan(state.getPath().getCompilationUnit(), null);
+        VariableTree tree = trees.get(index);
+        int startPos = state.getEndPosition(tree.getType()) + 1;
+        int endPos = state.getEndPosition(trees.get(index));
+        if (index == methodSymbol.params().size() - 1 && methodSymbol.isVarArgs()) {
+            endPos = state.getEndPosition(getLast(trees));
+        }
+        if (startPos == Position.NOPOS || endPos == Position.NOPOS) {
+            // TODO(b/118437729): handle bogus source positions in enum declarations
+            return;
+        }
+        String name = tree.getName().toString();
+        if (name.startsWith(UNUSED)) {
+            fix.replace(
+                    startPos,
+                    endPos,
+                    "_"
+                            + (name.equals(UNUSED)
+                                    ? "value"
+                                    : CaseFormat.UPPER_CAMEL.to(
+                                            CaseFormat.LOWER_CAMEL, name.substring(UNUSED.length()))));
+        } else {
+            fix.replace(startPos, endPos, "_" + tree.getName());
         }
-        return ImmutableList.of(fix.build());
     }
 
     private static boolean isEnhancedForLoopVar(TreePath variablePath) {
@@ -681,65 +658,119 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
     }
 
     private static boolean exemptedByName(Name name) {
-        return EXEMPT_PREFIXES.stream()
-                .anyMatch(prefix -> Ascii.toLowerCase(name.toString()).startsWith(prefix));
+        String lowerCaseName = Ascii.toLowerCase(name.toString());
+        return EXEMPT_PREFIXES.stream().anyMatch(lowerCaseName::startsWith);
     }
 
-    private final class VariableFinder extends TreePathScanner<Void, Void> {
+    /**
+     * Finds all local variables, fields and parameters, and filters out those which are used, in a single traversal
+     * of the compilation unit. Private fields and the parameters of referenced methods may be used before their
+     * declaration is reached, so such usages are recorded and applied once the declaration is found.
+     */
+    private final class VariableScanner extends TreePathScanner<Void, Void> {
         private final Map<Symbol, TreePath> unusedElements = new HashMap<>();
 
+        // The original declaration of every candidate, which is retained as unusedElements changes.
+        private final Map<Symbol, TreePath> declarationSites = new HashMap<>();
+
         private final Set<Symbol> onlyCheckForReassignments = new HashSet<>();
 
         private final ListMultimap<Symbol, TreePath> usageSites = ArrayListMultimap.create();
 
         private final Map<Symbol, VariableTree> exemptedVariables = new HashMap<>();
 
+        private final Set<Symbol> usedBeforeDeclaration = new HashSet<>();
+
+        private final ListMultimap<Symbol, TreePath> usageSitesBeforeDeclaration = ArrayListMultimap.create();
+
         private final VisitorState state;
 
-        private VariableFinder(VisitorState state) {
+        private boolean hasNativeMethods = false;
+        // When this greater than zero, variables declared in the current subtree are not checked, however their
+        // usages are still considered.
+        private int inExemptedTree = 0;
+        // When this greater than zero, we are within a method body.
+        private int inMethod = 0;
+
+        private boolean leftHandSideAssignment = false;
+        // When this greater than zero, the usage of identifiers are real.
+        private int inArrayAccess = 0;
+        // This is true when we are processing a `return` statement. Elements used in return statement
+        // must not be considered unused.
+        private boolean inReturnStatement = false;
+        // When this greater than zero, the usage of identifiers are real because they are in a method
+        // call.
+        private int inMethodCall = 0;
+
+        private final Set<Symbol> hasBeenAssigned = new HashSet<>();
+
+        private TreePath currentExpressionStatement = null;
+
+        // Keeps track of whether a symbol was _ever_ used (between reassignments).
+        private final Set<Symbol> isEverUsed = new HashSet<>();
+
+        private final List<UnusedSpec> unusedSpecs = new ArrayList<>();
+
+        private VariableScanner(VisitorState state) {
             this.state = state;
         }
 
         @Override
-        @SuppressWarnings("SwitchStatementDefaultCase")
-        public Void visitVariable(VariableTree variableTree, Void unused) {
-            if (isSuppressed(variableTree, state)) {
-                return null;
+        public Void visitVariable(VariableTree tree, Void unused) {
+            Symbol.VarSymbol symbol = getSymbol(tree);
+            boolean exempted = inExemptedTree > 0 || !findVariable(tree, symbol);
+            if (hasBeenAssigned(tree, symbol)) {
+                hasBeenAssigned.add(symbol);
             }
-            Symbol.VarSymbol symbol = getSymbol(variableTree);
-            if (symbol == null) {
-                return null;
+            if (exempted) {
+                inExemptedTree++;
+            }
+            super.visitVariable(tree, null);
+            if (exempted) {
+                inExemptedTree--;
+            }
+            return null;
+        }
+
+        /**
+         * Records the variable if it should be checked, returning false if variables declared within it must not be
+         * checked.
+         */
+        @SuppressWarnings("SwitchStatementDefaultCase")
+        private boolean findVariable(VariableTree variableTree, @Nullable Symbol.VarSymbol symbol) {
+            if (isSuppressed(variableTree, state) || symbol == null) {
+                return false;
             }
             if (exemptedByName(variableTree.getName())) {
                 exemptedVariables.put(symbol, variableTree);
-                return null;
+                return false;
             }
             if (symbol.getKind() == ElementKind.FIELD && exemptedFieldBySuperType(getType(variableTree), state)) {
-                return null;
+                return false;
             }
-            super.visitVariable(variableTree, null);
             // Return if the element is exempted by an annotation.
             if (exemptedByAnnotation(variableTree.getModifiers().getAnnotations(), state)) {
-                return null;
+                return true;
             }
             switch (symbol.getKind()) {
                 case FIELD:
                     // We are only interested in private fields and those which are not special.
                     if (isFieldEligibleForChecking(variableTree, symbol)) {
-                        unusedElements.put(symbol, getCurrentPath());
+                        declare(symbol);
                         usageSites.put(symbol, getCurrentPath());
+                        usageSites.putAll(symbol, usageSitesBeforeDeclaration.removeAll(symbol));
                     }
                     break;
                 case LOCAL_VARIABLE:
-                    unusedElements.put(symbol, getCurrentPath());
+                    declare(symbol);
                     usageSites.put(symbol, getCurrentPath());
                     break;
                 case PARAMETER:
                     // ignore the receiver parameter
                     if (variableTree.getName().contentEquals("this")) {
-                        return null;
+                        break;
                     }
-                    unusedElements.put(symbol, getCurrentPath());
+                    declare(symbol);
                     if (!isParameterSubjectToAnalysis(symbol)) {
                         onlyCheckForReassignments.add(symbol);
                     }
@@ -747,7 +778,14 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
                 default:
                     break;
             }
-            return null;
+            return true;
+        }
+
+        private void declare(Symbol symbol) {
+            declarationSites.put(symbol, getCurrentPath());
+            if (!usedBeforeDeclaration.remove(symbol)) {
+                unusedElements.put(symbol, getCurrentPath());
+            }
         }
 
         private boolean exemptedFieldBySuperType(Type type, VisitorState state) {
@@ -770,9 +808,21 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
                     && !enclosingMethod.getModifiers().contains(Modifier.DEFAULT);
         }
 
+        /** Returns whether {@code symbol} may be declared later in the compilation unit. */
+        private boolean mayBeDeclaredLater(Symbol symbol) {
+            if (declarationSites.containsKey(symbol)) {
+                return false;
+            }
+            return symbol.getKind() == ElementKind.PARAMETER
+                    || (symbol.getKind() == ElementKind.FIELD && (symbol.flags() & Flags.PRIVATE) != 0);
+        }
+
         @Override
         public Void visitTry(TryTree node, Void unused) {
-            // Skip resources, as while these may not be referenced, they are used.
+            // Skip checking resources, as while these may not be referenced, they are used.
+            inExemptedTree++;
+            scan(node.getResources(), null);
+            inExemptedTree--;
             scan(node.getBlock(), null);
             scan(node.getCatches(), null);
             scan(node.getFinallyBlock(), null);
@@ -781,60 +831,37 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
 
         @Override
         public Void visitClass(ClassTree tree, Void unused) {
-            if (isSuppressed(tree, state)) {
-                return null;
+            boolean exempted = inExemptedTree > 0
+                    || isSuppressed(tree, state)
+                    || EXEMPTING_SUPER_TYPES.stream()
+                            .anyMatch(t -> isSubtype(getType(tree), Suppliers.typeFromString(t).get(state), state));
+            if (exempted) {
+                inExemptedTree++;
             }
-            if (EXEMPTING_SUPER_TYPES.stream()
-                    .anyMatch(t ->
-                            isSubtype(getType(tree), Suppliers.typeFromString(t).get(state), state))) {
-                return null;
+            super.visitClass(tree, null);
+            if (exempted) {
+                inExemptedTree--;
             }
-            return super.visitClass(tree, null);
-        }
-
-        @Override
-        public Void visitLambdaExpression(LambdaExpressionTree node, Void unused) {
-            scan(node.getBody(), null);
-            scan(node.getParameters(), null);
             return null;
         }
 
         @Override
         public Void visitMethod(MethodTree tree, Void unused) {
-            return isSuppressed(tree, state) ? null : super.visitMethod(tree, null);
-        }
-    }
-
-    private static final class FilterUsedVariables extends TreePathScanner<Void, Void> {
-        private boolean leftHandSideAssignment = false;
-        // When this greater than zero, the usage of identifiers are real.
-        private int inArrayAccess = 0;
-        // This is true when we are processing a `return` statement. Elements used in return statement
-        // must not be considered unused.
-        private boolean inReturnStatement = false;
-        // When this greater than zero, the usage of identifiers are real because they are in a method
-        // call.
-        private int inMethodCall = 0;
-
-        private final Set<Symbol> hasBeenAssigned = new HashSet<>();
-
-        private TreePath currentExpressionStatement = null;
-
-        private final Map<Symbol, TreePath> unusedElements;
-
-        private final ListMultimap<Symbol, TreePath> usageSites;
-
-        // Keeps track of whether a symbol was _ever_ used (between reassignments).
-        private final Set<Symbol> isEverUsed = new HashSet<>();
-
-        private final List<UnusedSpec> unusedSpecs = new ArrayList<>();
-
-        private final ImmutableMap<Symbol, TreePath> declarationSites;
-
-        private FilterUsedVariables(Map<Symbol, TreePath> unusedElements, ListMultimap<Symbol, TreePath> usageSites) {
-            this.unusedElements = unusedElements;
-            this.usageSites = usageSites;
-            this.declarationSites = ImmutableMap.copyOf(unusedElements);
+            // Native methods are only considered outside of method bodies.
+            if (inMethod == 0 && tree.getModifiers().getFlags().contains(Modifier.NATIVE)) {
+                hasNativeMethods = true;
+            }
+            boolean exempted = inExemptedTree > 0 || isSuppressed(tree, state);
+            if (exempted) {
+                inExemptedTree++;
+            }
+            inMethod++;
+            super.visitMethod(tree, null);
+            inMethod--;
+            if (exempted) {
+                inExemptedTree--;
+            }
+            return null;
         }
 
         private boolean isInExpressionStatementTree() {
@@ -844,17 +871,24 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
 
         private boolean isUsed(@Nullable Symbol symbol) {
             return symbol != null
-                    && (!leftHandSideAssignment || inReturnStatement || inArrayAccess > 0 || inMethodCall > 0)
-                    && unusedElements.containsKey(symbol);
+                    && (!leftHandSideAssignment || inReturnStatement || inArrayAccess > 0 || inMethodCall > 0);
         }
 
-        @Override
-        public Void visitVariable(VariableTree tree, Void unused) {
-            Symbol.VarSymbol symbol = getSymbol(tree);
-            if (hasBeenAssigned(tree, symbol)) {
-                hasBeenAssigned.add(symbol);
+        private void markUsed(Symbol symbol) {
+            if (unusedElements.remove(symbol) == null && mayBeDeclaredLater(symbol)) {
+                usedBeforeDeclaration.add(symbol);
+            }
+        }
+
+        private void recordUsageSite(@Nullable Symbol symbol) {
+            if (currentExpressionStatement == null || symbol == null) {
+                return;
+            }
+            if (unusedElements.containsKey(symbol)) {
+                usageSites.put(symbol, currentExpressionStatement);
+            } else if (mayBeDeclaredLater(symbol)) {
+                usageSitesBeforeDeclaration.put(symbol, currentExpressionStatement);
             }
-            return super.visitVariable(tree, null);
         }
 
         private boolean hasBeenAssigned(VariableTree tree, Symbol.VarSymbol symbol) {
@@ -888,11 +922,9 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
             Symbol symbol = getSymbol(tree);
             // Filtering out identifier symbol from vars map. These are real usages of identifiers.
             if (isUsed(symbol)) {
-                unusedElements.remove(symbol);
-            }
-            if (currentExpressionStatement != null && unusedElements.containsKey(symbol)) {
-                usageSites.put(symbol, currentExpressionStatement);
+                markUsed(symbol);
             }
+            recordUsageSite(symbol);
             return null;
         }
 
@@ -951,28 +983,13 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
             usageSites.put(symbol, getCurrentPath().getParentPath());
         }
 
-        // This is a crude proxy for when a variable is unconditionally overwritten. It doesn't match
-        // all cases, but it catches a reassignment at the same depth.
-        private static int scopeDepth(TreePath assignmentSite) {
-            if (assignmentSite.getParentPath().getLeaf() instanceof EnhancedForLoopTree) {
-                return Iterables.size(assignmentSite) + 1;
-            }
-            if (assignmentSite.getLeaf() instanceof VariableTree) {
-                Symbol.VarSymbol symbol = getSymbol((VariableTree) assignmentSite.getLeaf());
-                if (symbol.getKind() == ElementKind.PARAMETER) {
-                    return Iterables.size(assignmentSite) + 1;
-                }
-            }
-            return Iterables.size(assignmentSite);
-        }
-
         @Override
         public Void visitMemberSelect(MemberSelectTree memberSelectTree, Void unused) {
             Symbol symbol = getSymbol(memberSelectTree);
             if (isUsed(symbol)) {
-                unusedElements.remove(symbol);
-            } else if (currentExpressionStatement != null && unusedElements.containsKey(symbol)) {
-                usageSites.put(symbol, currentExpressionStatement);
+                markUsed(symbol);
+            } else {
+                recordUsageSite(symbol);
             }
             // Clear leftHandSideAssignment and descend down the tree to catch any variables in the
             // receiver of this member select, which _are_ considered used.
@@ -988,7 +1005,7 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
             super.visitMemberReference(tree, null);
             Symbol.MethodSymbol symbol = getSymbol(tree);
             if (symbol != null) {
-                symbol.getParameters().forEach(unusedElements::remove);
+                symbol.getParameters().forEach(this::markUsed);
             }
             return null;
         }
@@ -1061,26 +1078,19 @@ public final class StrictUnusedVariable extends BugChecker implements BugChecker
         }
     }
 
-    static class VariableUsage extends TreePathScanner<Void, Void> {
-        public final ListMultimap<Symbol, TreePath> usageSites = ArrayListMultimap.create();
-
-        @Override
-        public Void visitVariable(VariableTree tree, Void unused) {
-            usageSites.put(getSymbol(tree), getCurrentPath());
-            return super.visitVariable(tree, null);
-        }
-
-        @Override
-        public Void visitIdentifier(IdentifierTree tree, Void unused) {
-            usageSites.put(getSymbol(tree), getCurrentPath());
-            return super.visitIdentifier(tree, null);
+    // This is a crude proxy for when a variable is unconditionally overwritten. It doesn't match
+    // all cases, but it catches a reassignment at the same depth.
+    private static int scopeDepth(TreePath assignmentSite) {
+        if (assignmentSite.getParentPath().getLeaf() instanceof EnhancedForLoopTree) {
+            return Iterables.size(assignmentSite) + 1;
         }
-
-        @Override
-        public Void visitMemberSelect(MemberSelectTree memberSelectTree, Void unused) {
-            usageSites.put(getSymbol(memberSelectTree), getCurrentPath());
-            return super.visitMemberSelect(memberSelectTree, null);
+        if (assignmentSite.getLeaf() instanceof VariableTree) {
+            Symbol.VarSymbol symbol = getSymbol((VariableTree) assignmentSite.getLeaf());
+            if (symbol.getKind() == ElementKind.PARAMETER) {
+                return Iterables.size(assignmentSite) + 1;
+            }
         }
+        return Iterables.size(assignmentSite);
     }
 
     interface UnusedSpec {
@@ -0,0 +1,266 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.BinaryTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.CompoundAssignmentTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.TypeTag;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.lang.model.element.ElementKind;
+
+/**
+ * Appending to a {@link String} variable on every iteration of a loop copies the accumulated value each time, which
+ * is quadratic in the length of the result. A {@link StringBuilder} grows its buffer geometrically instead. This is the
+ * counterpart of {@link StringBuilderConstantParameters}, which removes builders that aren't needed.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+        link = "https://github.com/palantir/gradle-baseline#baseline-error-prone-checks",
+        linkType = BugPattern.LinkType.CUSTOM,
+        severity = SeverityLevel.WARNING,
+        summary = "Building a String by concatenation in a loop copies the accumulated value on every iteration."
+                + " Prefer a StringBuilder.")
+public final class StringConcatenationInLoop extends BugChecker
+        implements BugChecker.CompoundAssignmentTreeMatcher, BugChecker.AssignmentTreeMatcher {
+
+    @Override
+    public Description matchCompoundAssignment(CompoundAssignmentTree tree, VisitorState state) {
+        return match(tree, state);
+    }
+
+    @Override
+    public Description matchAssignment(AssignmentTree tree, VisitorState state) {
+        return match(tree, state);
+    }
+
+    private Description match(ExpressionTree tree, VisitorState state) {
+        Symbol symbol = ASTHelpers.getSymbol(assignedVariable(tree));
+        if (!(symbol instanceof VarSymbol)
+                || (symbol.getKind() != ElementKind.LOCAL_VARIABLE && symbol.getKind() != ElementKind.PARAMETER)
+                || !ASTHelpers.isSameType(symbol.type, state.getSymtab().stringType, state)) {
+            return Description.NO_MATCH;
+        }
+        VarSymbol variable = (VarSymbol) symbol;
+        if (appendedOperands(tree, variable, state) == null) {
+            return Description.NO_MATCH;
+        }
+        TreePath loop = MoreASTHelpers.outermostLoopCarrying(variable, state);
+        if (loop == null) {
+            return Description.NO_MATCH;
+        }
+        LoopScanner scanner = new LoopScanner(variable, state);
+        scanner.scan(loop, null);
+        // Report each variable once per loop, at the first place it is appended to
+        if (scanner.accumulations.isEmpty() || scanner.accumulations.get(0) != tree) {
+            return Description.NO_MATCH;
+        }
+        Description.Builder description = buildDescription(tree)
+                .setMessage(String.format(
+                        "String '%s' is built by concatenation in a loop, which copies the accumulated value on"
+                                + " every iteration. Prefer appending to a StringBuilder.",
+                        variable.getSimpleName()));
+        if (scanner.canFix() && !MoreASTHelpers.exitsToOuterLabel(loop)) {
+            buildFix(loop, variable, scanner.accumulations, state).ifPresent(description::addFix);
+        }
+        return description.build();
+    }
+
+    private static Optional<SuggestedFix> buildFix(
+            TreePath loop, VarSymbol variable, List<ExpressionTree> accumulations, VisitorState state) {
+        Tree parent = loop.getParentPath().getLeaf();
+        if (!(parent instanceof BlockTree)) {
+            return Optional.empty();
+        }
+        String name = variable.getSimpleName().toString();
+        String builder = MoreASTHelpers.unusedVariableName(name + "Builder", state);
+        SuggestedFix.Builder fix = SuggestedFix.builder();
+        for (ExpressionTree accumulation : accumulations) {
+            List<ExpressionTree> operands = appendedOperands(accumulation, variable, state);
+            if (operands == null || operands.stream().anyMatch(operand -> isCharArray(ASTHelpers.getType(operand)))) {
+                // String concatenation renders a char[] as an object, where append copies its characters
+                return Optional.empty();
+            }
+            fix.replace(
+                    accumulation,
+                    builder
+                            + operands.stream()
+                                    .map(operand -> ".append(" + state.getSourceForNode(operand) + ")")
+                                    .collect(Collectors.joining()));
+        }
+        StatementTree statement = (StatementTree) loop.getLeaf();
+        VariableTree declaration = MoreASTHelpers.precedingDeclaration((BlockTree) parent, statement, variable);
+        if (declaration != null
+                && declaration.getInitializer() != null
+                && declaration.getModifiers().getAnnotations().isEmpty()) {
+            fix.replace(
+                            declaration,
+                            "StringBuilder " + builder + " = "
+                                    + newBuilder(declaration.getInitializer(), state) + ";")
+                    .postfixWith(statement, "\nString " + name + " = " + builder + ".toString();");
+        } else {
+            // Appending the current value preserves the "null" rendering of a null String
+            fix.prefixWith(statement, "StringBuilder " + builder + " = new StringBuilder().append(" + name + ");\n")
+                    .postfixWith(statement, "\n" + name + " = " + builder + ".toString();");
+        }
+        return Optional.of(fix.build());
+    }
+
+    private static String newBuilder(ExpressionTree initializer, VisitorState state) {
+        ExpressionTree expression = ASTHelpers.stripParentheses(initializer);
+        Object constant = ASTHelpers.constValue(expression);
+        if ("".equals(constant)) {
+            return "new StringBuilder()";
+        }
+        if (constant != null || expression.getKind() == Tree.Kind.PLUS) {
+            // Constants and concatenations are never null
+            return "new StringBuilder(" + state.getSourceForNode(initializer) + ")";
+        }
+        return "new StringBuilder().append(" + state.getSourceForNode(initializer) + ")";
+    }
+
+    /**
+     * Returns the operands appended to the variable by {@code s += a + b} or {@code s = s + a + b}, or null if the
+     * assignment doesn't append to the variable.
+     */
+    @Nullable
+    private static List<ExpressionTree> appendedOperands(ExpressionTree tree, VarSymbol variable, VisitorState state) {
+        if (!Objects.equals(ASTHelpers.getSymbol(assignedVariable(tree)), variable)) {
+            return null;
+        }
+        if (tree instanceof CompoundAssignmentTree) {
+            if (tree.getKind() != Tree.Kind.PLUS_ASSIGNMENT) {
+                return null;
+            }
+            List<ExpressionTree> operands = new ArrayList<>();
+            flatten(ASTHelpers.stripParentheses(((CompoundAssignmentTree) tree).getExpression()), operands, state);
+            return operands;
+        }
+        List<ExpressionTree> operands = new ArrayList<>();
+        flatten(ASTHelpers.stripParentheses(((AssignmentTree) tree).getExpression()), operands, state);
+        if (operands.size() < 2 || !isReference(operands.get(0), variable)) {
+            return null;
+        }
+        return operands.subList(1, operands.size());
+    }
+
+    /** Collects the operands of a String concatenation in the order they are appended. */
+    private static void flatten(ExpressionTree tree, List<ExpressionTree> operands, VisitorState state) {
+        if (tree.getKind() == Tree.Kind.PLUS
+                && ASTHelpers.isSameType(ASTHelpers.getType(tree), state.getSymtab().stringType, state)) {
+            flatten(((BinaryTree) tree).getLeftOperand(), operands, state);
+            flatten(((BinaryTree) tree).getRightOperand(), operands, state);
+        } else {
+            operands.add(tree);
+        }
+    }
+
+    private static ExpressionTree assignedVariable(ExpressionTree tree) {
+        return tree instanceof CompoundAssignmentTree
+                ? ((CompoundAssignmentTree) tree).getVariable()
+                : ((AssignmentTree) tree).getVariable();
+    }
+
+    private static boolean isReference(ExpressionTree tree, VarSymbol variable) {
+        return tree instanceof IdentifierTree && Objects.equals(ASTHelpers.getSymbol(tree), variable);
+    }
+
+    private static boolean isCharArray(@Nullable Type type) {
+        return type != null
+                && type.hasTag(TypeTag.ARRAY)
+                && ((Type.ArrayType) type).getComponentType().hasTag(TypeTag.CHAR);
+    }
+
+    /**
+     * Collects the statements within a loop which append to the variable, and whether the variable or the loop is
+     * used in any other way which prevents replacing the variable with a builder for the duration of the loop.
+     */
+    private static final class LoopScanner extends TreePathScanner<Void, Void> {
+        private final VarSymbol variable;
+        private final VisitorState state;
+
+        private final List<ExpressionTree> accumulations = new ArrayList<>();
+        private int references;
+        private int appendReferences;
+        private boolean resultUsed;
+
+        LoopScanner(VarSymbol variable, VisitorState state) {
+            this.variable = variable;
+            this.state = state;
+        }
+
+        boolean canFix() {
+            return references == appendReferences && !resultUsed;
+        }
+
+        @Override
+        public Void visitCompoundAssignment(CompoundAssignmentTree node, Void unused) {
+            checkAccumulation(node);
+            return super.visitCompoundAssignment(node, null);
+        }
+
+        @Override
+        public Void visitAssignment(AssignmentTree node, Void unused) {
+            checkAccumulation(node);
+            return super.visitAssignment(node, null);
+        }
+
+        private void checkAccumulation(ExpressionTree node) {
+            if (appendedOperands(node, variable, state) == null) {
+                return;
+            }
+            accumulations.add(node);
+            appendReferences += node instanceof CompoundAssignmentTree ? 1 : 2;
+            if (!(getCurrentPath().getParentPath().getLeaf() instanceof ExpressionStatementTree)) {
+                resultUsed = true;
+            }
+        }
+
+        @Override
+        public Void visitIdentifier(IdentifierTree node, Void unused) {
+            if (isReference(node, variable)) {
+                references++;
+            }
+            return null;
+        }
+    }
+}
@@ -62,9 +62,14 @@ public final class ZeroWarmupRateLimiter extends BugChecker implements BugChecke
             Matchers.argument(1, ZeroWarmupRateLimiter::isIntLiteralZero));
     private static final Matcher<MethodInvocationTree> MATCHER =
             Matchers.anyOf(DURATION_ZERO_MATCHER, INT_LITERAL_ZERO_MATCHER);
+    private static final Matcher<MethodInvocationTree> REFERENCES_RATE_LIMITER =
+            MoreMatchers.compilationUnitReferencesClass(RateLimiter.class.getName());
 
     @Override
     public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+        if (!REFERENCES_RATE_LIMITER.matches(tree, state)) {
+            return Description.NO_MATCH;
+        }
         List<? extends ExpressionTree> args = tree.getArguments();
         if (MATCHER.matches(tree, state)) {
             return buildDescription(tree)
@@ -16,24 +16,182 @@
 
 package com.palantir.baseline.errorprone.safety;
 
+import com.google.common.base.Throwables;
 import com.google.errorprone.VisitorState;
+import com.google.errorprone.dataflow.AccessPathStore;
 import com.google.errorprone.dataflow.DataFlow;
+import com.google.errorprone.util.ASTHelpers;
+import com.palantir.baseline.errorprone.safety.SafetyPropagationTransfer.BudgetExceededException;
 import com.palantir.baseline.errorprone.safety.SafetyPropagationTransfer.ClearVisitorState;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
 import com.sun.source.util.TreePath;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
 import com.sun.tools.javac.util.Context;
+import com.sun.tools.javac.util.Log;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.checkerframework.errorprone.dataflow.analysis.Analysis;
 
 public final class SafetyAnalysis {
+    /**
+     * Error-prone flag limiting the number of dataflow nodes visited while analyzing a single method, lambda, or
+     * initializer. Expressions within methods exceeding the budget are {@link Safety#UNKNOWN}.
+     */
+    public static final String MAX_NODE_VISITS_FLAG = "SafetyAnalysis:MaxNodeVisitsPerMethod";
+
+    /**
+     * Error-prone flag which prints the node visits, control flow graph builds, and time taken by the analysis of each
+     * method, lambda, or initializer, to help choose a budget for {@link #MAX_NODE_VISITS_FLAG}.
+     */
+    public static final String LOG_STATISTICS_FLAG = "SafetyAnalysis:LogStatistics";
+
     private static final Context.Key<SafetyPropagationTransfer> SAFETY_PROPAGATION = new Context.Key<>();
+    private static final Context.Key<MethodSafetyCache> METHOD_SAFETY = new Context.Key<>();
 
     /**
      * Returns the safety of the item at the current path.
      * Callers may need to use {@link VisitorState#withPath(TreePath)} to provide a more specific path.
      */
     public static Safety of(VisitorState state) {
+        return ofEnclosingMethod(state).get(state.getPath().getLeaf());
+    }
+
+    /**
+     * Returns the safety of every expression within the method, lambda, or initializer enclosing the current path.
+     * The analysis is run at most once per enclosing method, and the result is shared by all checks, so callers
+     * should prefer this over building a new {@link TreePath} for each expression passed to {@link #of(VisitorState)}.
+     */
+    public static MethodSafety ofEnclosingMethod(VisitorState state) {
+        TreePath enclosingPath = findEnclosingMethodOrLambdaOrInitializer(state.getPath());
+        if (enclosingPath == null) {
+            return MethodSafety.UNKNOWN;
+        }
+        MethodSafetyCache cache = methodSafetyCache(state);
+        MethodSafety cached = cache.results.get(enclosingPath.getLeaf());
+        if (cached != null) {
+            return cached;
+        }
         SafetyPropagationTransfer propagation = instance(state.context);
+        int maxNodeVisits =
+                state.errorProneOptions().getFlags().getInteger(MAX_NODE_VISITS_FLAG).orElse(Integer.MAX_VALUE);
+        boolean logStatistics =
+                state.errorProneOptions().getFlags().getBoolean(LOG_STATISTICS_FLAG).orElse(false);
+        long startNanos = System.nanoTime();
+        MethodSafety result;
         try (ClearVisitorState ignored = propagation.setVisitorState(state)) {
-            return Safety.nullToUnknown(DataFlow.expressionDataflow(state.getPath(), state.context, propagation));
+            propagation.setMaxNodeVisits(maxNodeVisits);
+            boolean budgetExceeded = false;
+            try {
+                result = new MethodSafety(DataFlow.methodDataflow(enclosingPath, state.context, propagation)
+                        .getAnalysis());
+            } catch (RuntimeException e) {
+                // The dataflow framework may wrap exceptions thrown by the transfer function
+                if (!(Throwables.getRootCause(e) instanceof BudgetExceededException)) {
+                    throw e;
+                }
+                result = MethodSafety.UNKNOWN;
+                budgetExceeded = true;
+            }
+            if (budgetExceeded || logStatistics) {
+                String statistics = String.format(
+                        "%d node visits, %d control flow graphs built, %d ms",
+                        propagation.nodeVisits(),
+                        // The enclosing method's graph is built by DataFlow
+                        propagation.cfgBuilds() + 1,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                Log.instance(state.context)
+                        .printRawLines(
+                                Log.WriterKind.NOTICE,
+                                budgetExceeded
+                                        ? String.format(
+                                                "Safety analysis of %s exceeded the budget of %d node visits (%s),"
+                                                        + " treating its results as unknown. Set -XepOpt:%s to adjust"
+                                                        + " the budget.",
+                                                describe(enclosingPath),
+                                                maxNodeVisits,
+                                                statistics,
+                                                MAX_NODE_VISITS_FLAG)
+                                        : String.format(
+                                                "Safety analysis of %s: %s", describe(enclosingPath), statistics));
+            }
+        }
+        cache.results.put(enclosingPath.getLeaf(), result);
+        return result;
+    }
+
+    /** Safety of the expressions within a single method, lambda, or initializer. */
+    public static final class MethodSafety {
+        private static final MethodSafety UNKNOWN = new MethodSafety(null);
+
+        @Nullable
+        private final Analysis<Safety, AccessPathStore<Safety>, SafetyPropagationTransfer> analysis;
+
+        private MethodSafety(@Nullable Analysis<Safety, AccessPathStore<Safety>, SafetyPropagationTransfer> analysis) {
+            this.analysis = analysis;
+        }
+
+        /** Returns the safety of the given tree, or {@link Safety#UNKNOWN} if it is not an analyzed expression. */
+        public Safety get(Tree tree) {
+            return analysis == null ? Safety.UNKNOWN : Safety.nullToUnknown(analysis.getValue(tree));
+        }
+    }
+
+    /** Names the method containing the given path, for diagnostics. */
+    private static String describe(TreePath path) {
+        for (TreePath current = path; current != null; current = current.getParentPath()) {
+            if (current.getLeaf() instanceof MethodTree) {
+                MethodSymbol method = ASTHelpers.getSymbol((MethodTree) current.getLeaf());
+                if (method != null) {
+                    return method.owner.getQualifiedName() + "#" + method;
+                }
+            }
+            if (current.getLeaf() instanceof ClassTree) {
+                ClassSymbol owner = ASTHelpers.getSymbol((ClassTree) current.getLeaf());
+                if (owner != null) {
+                    return owner.getQualifiedName() + " initializer";
+                }
+            }
+        }
+        return path.getCompilationUnit().getSourceFile().getName();
+    }
+
+    /** Mirrors the search used by {@link DataFlow#expressionDataflow}. */
+    @Nullable
+    private static TreePath findEnclosingMethodOrLambdaOrInitializer(TreePath path) {
+        TreePath current = path;
+        while (current != null) {
+            if (current.getLeaf() instanceof MethodTree) {
+                return current;
+            }
+            TreePath parent = current.getParentPath();
+            if (parent != null) {
+                if (parent.getLeaf() instanceof ClassTree) {
+                    if (current.getLeaf() instanceof BlockTree) {
+                        // class or instance initializer block
+                        return current;
+                    }
+                    if (current.getLeaf() instanceof VariableTree
+                            && ((VariableTree) current.getLeaf()).getInitializer() != null) {
+                        // field with an inline initializer
+                        return current;
+                    }
+                }
+                if (parent.getLeaf() instanceof LambdaExpressionTree) {
+                    return parent;
+                }
+            }
+            current = parent;
         }
+        return null;
     }
 
     private static SafetyPropagationTransfer instance(Context context) {
@@ -45,5 +203,27 @@ public final class SafetyAnalysis {
         return instance;
     }
 
+    /** Results are retained for the compilation unit currently being analyzed. */
+    private static MethodSafetyCache methodSafetyCache(VisitorState state) {
+        MethodSafetyCache cache = state.context.get(METHOD_SAFETY);
+        if (cache == null) {
+            cache = new MethodSafetyCache();
+            state.context.put(METHOD_SAFETY, cache);
+        }
+        CompilationUnitTree compilationUnit = state.getPath().getCompilationUnit();
+        if (cache.compilationUnit != compilationUnit) {
+            cache.compilationUnit = compilationUnit;
+            cache.results.clear();
+        }
+        return cache;
+    }
+
+    private static final class MethodSafetyCache {
+        @Nullable
+        private CompilationUnitTree compilationUnit;
+
+        private final Map<Tree, MethodSafety> results = new IdentityHashMap<>();
+    }
+
     private SafetyAnalysis() {}
 }
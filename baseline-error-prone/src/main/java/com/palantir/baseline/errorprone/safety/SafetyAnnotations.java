@@ -34,13 +34,15 @@ import com.sun.tools.javac.code.SymbolMetadata;
 import com.sun.tools.javac.code.TargetType;
 import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.code.Type.WildcardType;
+import com.sun.tools.javac.code.Types;
+import com.sun.tools.javac.util.Context;
 import com.sun.tools.javac.util.List;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import javax.lang.model.element.Name;
@@ -61,6 +63,8 @@ public final class SafetyAnnotations {
     private static final com.google.errorprone.suppliers.Supplier<Type> throwableSupplier =
             Suppliers.typeFromClass(Throwable.class);
 
+    private static final Context.Key<SafetyCache> SAFETY_CACHE = new Context.Key<>();
+
     private static final TypeArgumentHandlers SAFETY_IS_COMBINATION_OF_TYPE_ARGUMENTS = new TypeArgumentHandlers(
             new TypeArgumentHandler(Iterable.class),
             new TypeArgumentHandler(Iterator.class),
@@ -109,6 +113,20 @@ public final class SafetyAnnotations {
     }
 
     public static Safety getSafety(@Nullable Symbol symbol, VisitorState state) {
+        if (symbol == null) {
+            return Safety.UNKNOWN;
+        }
+        SafetyCache cache = SafetyCache.instance(state.context);
+        Safety cached = cache.symbolSafety.get(symbol);
+        if (cached == null) {
+            // Not using computeIfAbsent because the computation recursively populates the cache
+            cached = computeSafety(symbol, state);
+            cache.symbolSafety.put(symbol, cached);
+        }
+        return cached;
+    }
+
+    private static Safety computeSafety(@Nullable Symbol symbol, VisitorState state) {
         if (symbol != null) {
             Safety direct = getDirectSafety(symbol, state);
             if (direct != Safety.UNKNOWN) {
@@ -116,7 +134,12 @@ public final class SafetyAnnotations {
             }
             // Check super-methods
             if (symbol instanceof MethodSymbol) {
-                return getSuperMethodSafety((MethodSymbol) symbol, state);
+                Safety superMethodSafety = getSuperMethodSafety((MethodSymbol) symbol, state);
+                if (superMethodSafety != Safety.UNKNOWN) {
+                    return superMethodSafety;
+                }
+                // Fall back to safety inferred when the method's class was compiled, if it was persisted
+                return SafetySummaries.getReturnSafety((MethodSymbol) symbol, state);
             }
             if (symbol instanceof TypeVariableSymbol) {
                 return getTypeVariableSymbolSafety((TypeVariableSymbol) symbol);
@@ -138,10 +161,18 @@ public final class SafetyAnnotations {
     }
 
     public static Safety getSafety(@Nullable Type type, VisitorState state) {
-        if (type != null) {
-            return getSafetyInternal(type, state, null);
+        if (type == null) {
+            return Safety.UNKNOWN;
         }
-        return Safety.UNKNOWN;
+        SafetyCache cache = SafetyCache.instance(state.context);
+        Safety cached = cache.typeSafety.get(type);
+        if (cached == null) {
+            cached = getSafetyInternal(type, state, cache);
+            if (cache.typesInProgress.isEmpty()) {
+                cache.typeSafety.put(type, cached);
+            }
+        }
+        return cached;
     }
 
     public static Safety getTypeSafetyFromAncestors(ClassTree classTree, VisitorState state) {
@@ -196,7 +227,7 @@ public final class SafetyAnnotations {
         return Safety.UNKNOWN;
     }
 
-    private static Safety getSafetyInternal(Type type, VisitorState state, Set<String> dejaVu) {
+    private static Safety getSafetyInternal(Type type, VisitorState state, SafetyCache cache) {
         List<Attribute.TypeCompound> typeAnnotations = type.getAnnotationMirrors();
         for (Attribute.TypeCompound annotation : typeAnnotations) {
             Safety maybeSafety = getSafetyAnnotationValue(annotation);
@@ -204,7 +235,7 @@ public final class SafetyAnnotations {
                 return maybeSafety;
             }
         }
-        Safety typeArgumentCombination = SAFETY_IS_COMBINATION_OF_TYPE_ARGUMENTS.getSafety(type, state, dejaVu);
+        Safety typeArgumentCombination = SAFETY_IS_COMBINATION_OF_TYPE_ARGUMENTS.getSafety(type, state, cache);
         // Arrays are difficult to pipe through the above combiner without a large refactor, since the AST
         // is not quite a tree it stores its type information adjacent to the node.
         if (type instanceof Type.ArrayType) {
@@ -240,9 +271,9 @@ public final class SafetyAnnotations {
             this.handlers = handlers;
         }
 
-        Safety getSafety(Type type, VisitorState state, @Nullable Set<String> dejaVu) {
+        Safety getSafety(Type type, VisitorState state, SafetyCache cache) {
             for (TypeArgumentHandler handler : handlers) {
-                Safety result = handler.getSafety(type, state, dejaVu);
+                Safety result = handler.getSafety(type, state, cache);
                 if (result != null) {
                     return result;
                 }
@@ -273,40 +304,39 @@ public final class SafetyAnnotations {
         }
 
         @Nullable
-        Safety getSafety(Type type, VisitorState state, @Nullable Set<String> dejaVu) {
+        Safety getSafety(Type type, VisitorState state, SafetyCache cache) {
             Type baseType = typeSupplier.get(state);
             if (ASTHelpers.isSubtype(type, baseType, state)) {
                 // ensure we're matching the expected type arguments
-                Set<String> deJaVuToPass = dejaVu == null ? new HashSet<>() : dejaVu;
-                // Use the string value for cycle detection, the type itself is not guaranteed
-                // to declare hash/equals.
-                String typeString = type.toString();
-                if (!deJaVuToPass.add(typeString)) {
+                if (!cache.pushType(type, state.getTypes())) {
                     return Safety.UNKNOWN;
                 }
-                // Apply the input type arguments to the base type
-                Type asSubtype = state.getTypes().asSuper(unwrapWildcard(type), baseType.tsym);
-                if (asSubtype == null) {
-                    // Some types cannot be bound to a super-type. We attempt to unwrap wildcards, however
-                    // that doesn't cover every possible case.
-                    return null;
-                }
-                Safety safety = Safety.SAFE;
-                List<Type> typeArguments = asSubtype.getTypeArguments();
-                if (typeArguments.isEmpty()) {
-                    // Type information is not available, not enough data to make a decision
-                    return null;
-                }
-                for (Type typeArgument : typeArguments) {
-                    Safety safetyBasedOnType = SafetyAnnotations.getSafetyInternal(typeArgument, state, deJaVuToPass);
-                    Safety safetyBasedOnSymbol = SafetyAnnotations.getSafety(typeArgument.tsym, state);
-                    Safety typeArgumentSafety =
-                            Safety.mergeAssumingUnknownIsSame(safetyBasedOnType, safetyBasedOnSymbol);
-                    safety = safety.leastUpperBound(typeArgumentSafety);
+                try {
+                    // Apply the input type arguments to the base type
+                    Type asSubtype = state.getTypes().asSuper(unwrapWildcard(type), baseType.tsym);
+                    if (asSubtype == null) {
+                        // Some types cannot be bound to a super-type. We attempt to unwrap wildcards, however
+                        // that doesn't cover every possible case.
+                        return null;
+                    }
+                    Safety safety = Safety.SAFE;
+                    List<Type> typeArguments = asSubtype.getTypeArguments();
+                    if (typeArguments.isEmpty()) {
+                        // Type information is not available, not enough data to make a decision
+                        return null;
+                    }
+                    for (Type typeArgument : typeArguments) {
+                        Safety safetyBasedOnType = SafetyAnnotations.getSafetyInternal(typeArgument, state, cache);
+                        Safety safetyBasedOnSymbol = SafetyAnnotations.getSafety(typeArgument.tsym, state);
+                        Safety typeArgumentSafety =
+                                Safety.mergeAssumingUnknownIsSame(safetyBasedOnType, safetyBasedOnSymbol);
+                        safety = safety.leastUpperBound(typeArgumentSafety);
+                    }
+                    return safety;
+                } finally {
+                    // remove the type on the way out, otherwise map<Foo,Foo> would break.
+                    cache.popType();
                 }
-                // remove the type on the way out, otherwise map<Foo,Foo> would break.
-                deJaVuToPass.remove(typeString);
-                return safety;
             }
             return null;
         }
@@ -345,5 +375,43 @@ public final class SafetyAnnotations {
         return safety;
     }
 
+    /**
+     * Memoizes safety for the lifetime of the compilation. Symbols are unique within a compilation, and results for
+     * a given type instance never change, so both are keyed by identity. Nested type arguments are not cached
+     * individually because their results may be truncated by cycle detection.
+     */
+    private static final class SafetyCache {
+        private final Map<Symbol, Safety> symbolSafety = new IdentityHashMap<>();
+        private final Map<Type, Safety> typeSafety = new IdentityHashMap<>();
+        // Types currently being resolved, used for cycle detection. The type itself is not guaranteed to declare
+        // hash/equals, and types are rebuilt as type arguments are substituted, so types are compared structurally.
+        private final ArrayList<Type> typesInProgress = new ArrayList<>();
+
+        static SafetyCache instance(Context context) {
+            SafetyCache instance = context.get(SAFETY_CACHE);
+            if (instance == null) {
+                instance = new SafetyCache();
+                context.put(SAFETY_CACHE, instance);
+            }
+            return instance;
+        }
+
+        /** Returns false without modifying the stack if the type is already being resolved. */
+        boolean pushType(Type type, Types types) {
+            for (int i = 0; i < typesInProgress.size(); i++) {
+                Type current = typesInProgress.get(i);
+                if (current == type || types.isSameType(current, type)) {
+                    return false;
+                }
+            }
+            typesInProgress.add(type);
+            return true;
+        }
+
+        void popType() {
+            typesInProgress.remove(typesInProgress.size() - 1);
+        }
+    }
+
     private SafetyAnnotations() {}
 }
@@ -16,6 +16,7 @@
 
 package com.palantir.baseline.errorprone.safety;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
@@ -36,8 +37,10 @@ import com.google.errorprone.util.ASTHelpers;
 import com.palantir.baseline.errorprone.MoreASTHelpers;
 import com.palantir.baseline.errorprone.Records;
 import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
 import com.sun.source.tree.ExpressionTree;
 import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.MethodTree;
 import com.sun.source.tree.Tree;
 import com.sun.source.tree.Tree.Kind;
@@ -58,6 +61,7 @@ import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -291,19 +295,6 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
                     .named("shortValue")
                     .withNoParameters());
 
-    // These methods do not take the receiver (generally a static class) into account, only the inputs.
-    private static final Matcher<ExpressionTree> RETURNS_SAFETY_COMBINATION_OF_ARGS = Matchers.anyOf(
-            STRING_FORMAT,
-            STRING_VALUE_OF,
-            STRING_COPY_VALUE_OF,
-            OBJECTS_TO_STRING,
-            IMMUTABLE_COLLECTION_FACTORY,
-            OPTIONAL_FACTORIES,
-            STATIC_STREAM_FACTORIES,
-            RID_FACTORY,
-            THROWABLES_STACK_TRACE_AS_STRING,
-            PRIMITIVE_BOXING);
-
     private static final Matcher<ExpressionTree> CONSTRUCTOR_SAFETY_COMBINATION_OF_ARGS = Matchers.anyOf(
             MethodMatchers.constructor().forClass(StringBuilder.class.getName()).withParameters(String.class.getName()),
             MethodMatchers.constructor()
@@ -350,35 +341,34 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
                             "findFirst",
                             "findAny"));
 
-    // Returns the safety of the receiver, e.g. myString.getBytes() returns the safety of myString.
-    private static final Matcher<ExpressionTree> RETURNS_SAFETY_OF_RECEIVER = Matchers.anyOf(
-            MethodMatchers.instanceMethod()
-                    .onDescendantOf(CharSequence.class.getName())
-                    .namedAnyOf("charAt", "subSequence", "chars", "codePoints"),
-            MethodMatchers.instanceMethod()
-                    .onExactClass(String.class.getName())
-                    .namedAnyOf("getBytes", "toLowerCase", "toUpperCase", "substring", "split", "toCharArray"),
-            MethodMatchers.instanceMethod()
-                    .onDescendantOf(Collection.class.getName())
-                    .namedAnyOf("toArray", "stream", "parallelStream"),
-            MethodMatchers.instanceMethod()
-                    .onDescendantOf(Iterable.class.getName())
-                    .namedAnyOf("toArray", "iterator", "spliterator"),
-            MethodMatchers.instanceMethod()
-                    .onDescendantOf(Iterator.class.getName())
-                    .named("next")
-                    .withNoParameters(),
-            // Rid components are considered safe, except for 'locator' which inherits the safety of the rid object.
-            MethodMatchers.instanceMethod()
-                    .onDescendantOf("com.palantir.ri.ResourceIdentifier")
-                    .named("getLocator")
-                    .withNoParameters(),
-            OPTIONAL_ACCESSORS,
-            STREAM_ACCESSORS,
-            THROWABLE_GET_MESSAGE,
-            PRIMITIVE_UNBOXING);
+    private static final Matcher<ExpressionTree> CHAR_SEQUENCE_ACCESSORS = MethodMatchers.instanceMethod()
+            .onDescendantOf(CharSequence.class.getName())
+            .namedAnyOf("charAt", "subSequence", "chars", "codePoints");
+
+    private static final Matcher<ExpressionTree> STRING_ACCESSORS = MethodMatchers.instanceMethod()
+            .onExactClass(String.class.getName())
+            .namedAnyOf("getBytes", "toLowerCase", "toUpperCase", "substring", "split", "toCharArray");
+
+    private static final Matcher<ExpressionTree> COLLECTION_ACCESSORS = MethodMatchers.instanceMethod()
+            .onDescendantOf(Collection.class.getName())
+            .namedAnyOf("toArray", "stream", "parallelStream");
+
+    private static final Matcher<ExpressionTree> ITERABLE_ACCESSORS = MethodMatchers.instanceMethod()
+            .onDescendantOf(Iterable.class.getName())
+            .namedAnyOf("toArray", "iterator", "spliterator");
 
-    private static final Matcher<ExpressionTree> RETURNS_SAFETY_OF_FIRST_ARG = Matchers.anyOf(
+    private static final Matcher<ExpressionTree> ITERATOR_NEXT = MethodMatchers.instanceMethod()
+            .onDescendantOf(Iterator.class.getName())
+            .named("next")
+            .withNoParameters();
+
+    // Rid components are considered safe, except for 'locator' which inherits the safety of the rid object.
+    private static final Matcher<ExpressionTree> RID_GET_LOCATOR = MethodMatchers.instanceMethod()
+            .onDescendantOf("com.palantir.ri.ResourceIdentifier")
+            .named("getLocator")
+            .withNoParameters();
+
+    private static final Matcher<ExpressionTree> NULL_CHECKS = Matchers.anyOf(
             MethodMatchers.staticMethod().onClass(Objects.class.getName()).named("requireNonNull"),
             MethodMatchers.staticMethod()
                     .onClass("com.google.common.base.Preconditions")
@@ -387,7 +377,7 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
                     .onClass("com.palantir.logsafe.Preconditions")
                     .namedAnyOf("checkNotNull", "checkArgumentNotNull"));
 
-    // Similar to RETURNS_SAFETY_OF_ARGS_AND_RECEIVER, except the variable itself is assigned the safety result.
+    // Similar to KnownMethodSafety.ARGS_AND_RECEIVER, except the variable itself is assigned the safety result.
     // For example, the following returns do-not-log due to a mutation on the second line:
     // StringBuilder sb = new StringBuilder().append(safe);
     // sb.append(doNotLog);
@@ -423,17 +413,128 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
             ChildMultiMatcher.MatchType.LAST,
             Matchers.not(UNKNOWN_COLLECTORS));
 
-    private static final Matcher<ExpressionTree> RETURNS_SAFETY_OF_ARGS_AND_RECEIVER = Matchers.anyOf(
-            COLLECT_INCLUDES_STREAM_SAFETY,
-            MethodMatchers.instanceMethod()
-                    .onDescendantOf(Optional.class.getName())
-                    // TODO(ckozak): support 'or' and 'orElseGet' which require lambda support
-                    .named("orElse"),
-            MUTABLE_BUILDER_METHODS);
+    private static final Matcher<ExpressionTree> OPTIONAL_OR_ELSE = MethodMatchers.instanceMethod()
+            .onDescendantOf(Optional.class.getName())
+            // TODO(ckozak): support 'or' and 'orElseGet' which require lambda support
+            .named("orElse");
+
+    /**
+     * Methods with well-known safety semantics, indexed by method name so that each invocation only evaluates the
+     * few matchers which could possibly match it. Rules for a given name are evaluated in the order they are
+     * registered, which must follow the precedence of {@link KnownMethodSafety}.
+     */
+    @VisibleForTesting
+    static final ImmutableListMultimap<String, KnownMethodRule> KNOWN_METHODS =
+            new KnownMethodRules()
+                    // Returns the safety of the receiver combined with all arguments
+                    .add(KnownMethodSafety.ARGS_AND_RECEIVER, COLLECT_INCLUDES_STREAM_SAFETY, "collect")
+                    .add(KnownMethodSafety.ARGS_AND_RECEIVER, OPTIONAL_OR_ELSE, "orElse")
+                    .add(KnownMethodSafety.MUTABLE_BUILDER, MUTABLE_BUILDER_METHODS, "append", "insert", "replace")
+                    // These methods do not take the receiver (generally a static class) into account, only the inputs.
+                    .add(KnownMethodSafety.COMBINATION_OF_ARGS, STRING_FORMAT, "format")
+                    .add(KnownMethodSafety.COMBINATION_OF_ARGS, STRING_VALUE_OF, "valueOf")
+                    .add(KnownMethodSafety.COMBINATION_OF_ARGS, STRING_COPY_VALUE_OF, "copyValueOf")
+                    .add(KnownMethodSafety.COMBINATION_OF_ARGS, OBJECTS_TO_STRING, "toString")
+                    .add(KnownMethodSafety.COMBINATION_OF_ARGS, IMMUTABLE_COLLECTION_FACTORY, "of", "copyOf", "asList")
+                    .add(KnownMethodSafety.COMBINATION_OF_ARGS, OPTIONAL_FACTORIES, "of", "ofNullable")
+                    .add(KnownMethodSafety.COMBINATION_OF_ARGS, STATIC_STREAM_FACTORIES, "of", "ofNullable", "concat")
+                    .add(KnownMethodSafety.COMBINATION_OF_ARGS, RID_FACTORY, "of", "valueOf")
+                    .add(
+                            KnownMethodSafety.COMBINATION_OF_ARGS,
+                            THROWABLES_STACK_TRACE_AS_STRING,
+                            "getStackTraceAsString")
+                    .add(KnownMethodSafety.COMBINATION_OF_ARGS, PRIMITIVE_BOXING, "valueOf")
+                    // Returns the safety of the receiver, e.g. myString.getBytes() returns the safety of myString.
+                    .add(
+                            KnownMethodSafety.RECEIVER,
+                            CHAR_SEQUENCE_ACCESSORS,
+                            "charAt",
+                            "subSequence",
+                            "chars",
+                            "codePoints")
+                    .add(
+                            KnownMethodSafety.RECEIVER,
+                            STRING_ACCESSORS,
+                            "getBytes",
+                            "toLowerCase",
+                            "toUpperCase",
+                            "substring",
+                            "split",
+                            "toCharArray")
+                    .add(KnownMethodSafety.RECEIVER, COLLECTION_ACCESSORS, "toArray", "stream", "parallelStream")
+                    .add(KnownMethodSafety.RECEIVER, ITERABLE_ACCESSORS, "toArray", "iterator", "spliterator")
+                    .add(KnownMethodSafety.RECEIVER, ITERATOR_NEXT, "next")
+                    .add(KnownMethodSafety.RECEIVER, RID_GET_LOCATOR, "getLocator")
+                    .add(
+                            KnownMethodSafety.RECEIVER,
+                            OPTIONAL_ACCESSORS,
+                            "filter",
+                            "get",
+                            "orElseThrow",
+                            "stream",
+                            "getAsInt",
+                            "getAsLong",
+                            "getAsDouble")
+                    .add(
+                            KnownMethodSafety.RECEIVER,
+                            STREAM_ACCESSORS,
+                            "iterator",
+                            "spliterator",
+                            "sequential",
+                            "parallel",
+                            "unordered",
+                            "onClose",
+                            "filter",
+                            "distinct",
+                            "sorted",
+                            "peek",
+                            "limit",
+                            "skip",
+                            "takeWhile",
+                            "dropWhile",
+                            "toArray",
+                            "toList",
+                            "min",
+                            "max",
+                            "findFirst",
+                            "findAny")
+                    .add(KnownMethodSafety.RECEIVER, THROWABLE_GET_MESSAGE, "getMessage", "getLocalizedMessage")
+                    .add(
+                            KnownMethodSafety.RECEIVER,
+                            PRIMITIVE_UNBOXING,
+                            "booleanValue",
+                            "intValue",
+                            "byteValue",
+                            "charValue",
+                            "doubleValue",
+                            "floatValue",
+                            "longValue",
+                            "shortValue")
+                    .add(
+                            KnownMethodSafety.FIRST_ARG,
+                            NULL_CHECKS,
+                            "requireNonNull",
+                            "checkNotNull",
+                            "checkArgumentNotNull")
+                    .build();
 
     private VisitorState state;
     private final Set<VarSymbol> traversed = new HashSet<>();
 
+    // Sub-analyses are cached for the compilation unit they were computed in. Results are only cached when
+    // computed outside any other sub-analysis, where they cannot be truncated by the 'traversed' recursion guard.
+    @Nullable
+    private CompilationUnitTree cachedCompilationUnit;
+
+    private final Map<Tree, Analysis<Safety, AccessPathStore<Safety>, SafetyPropagationTransfer>>
+            capturedLocalVariableAnalyses = new IdentityHashMap<>();
+    private final Map<VarSymbol, Safety> fieldInitializerSafety = new IdentityHashMap<>();
+
+    // Instrumentation for the analysis currently running, including the sub-analyses it triggers.
+    private int maxNodeVisits = Integer.MAX_VALUE;
+    private int nodeVisits;
+    private int cfgBuilds;
+
     @Override
     public AccessPathStore<Safety> initialStore(UnderlyingAST _underlyingAst, List<LocalVariableNode> parameters) {
         if (parameters == null) {
@@ -451,6 +552,14 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
     public ClearVisitorState setVisitorState(VisitorState value) {
         this.state = Objects.requireNonNull(value, "VisitorState");
         traversed.clear();
+        nodeVisits = 0;
+        cfgBuilds = 0;
+        CompilationUnitTree compilationUnit = value.getPath().getCompilationUnit();
+        if (compilationUnit != cachedCompilationUnit) {
+            cachedCompilationUnit = compilationUnit;
+            capturedLocalVariableAnalyses.clear();
+            fieldInitializerSafety.clear();
+        }
         return new ClearVisitorState();
     }
 
@@ -459,25 +568,59 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
         public void close() {
             SafetyPropagationTransfer.this.state = null;
             traversed.clear();
+            maxNodeVisits = Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Limits the number of nodes the current analysis may visit, including revisits while iterating to a fixed point
+     * and visits within sub-analyses, before failing with {@link BudgetExceededException}.
+     */
+    void setMaxNodeVisits(int value) {
+        this.maxNodeVisits = value;
+    }
+
+    int nodeVisits() {
+        return nodeVisits;
+    }
+
+    int cfgBuilds() {
+        return cfgBuilds;
+    }
+
+    /** Thrown to abandon an analysis which has exceeded its budget. */
+    static final class BudgetExceededException extends RuntimeException {
+        BudgetExceededException() {
+            // Thrown through the dataflow framework, so the stack trace is never useful
+            super("Safety analysis budget exceeded", null, false, false);
+        }
+    }
+
+    private void recordVisit() {
+        if (++nodeVisits > maxNodeVisits) {
+            throw new BudgetExceededException();
         }
     }
 
     @CheckReturnValue
-    private static TransferResult<Safety, AccessPathStore<Safety>> noStoreChanges(
+    private TransferResult<Safety, AccessPathStore<Safety>> noStoreChanges(
             Safety value, TransferInput<?, AccessPathStore<Safety>> input) {
+        recordVisit();
         return new RegularTransferResult<>(value, input.getRegularStore());
     }
 
     @CheckReturnValue
-    private static TransferResult<Safety, AccessPathStore<Safety>> updateRegularStore(
+    private TransferResult<Safety, AccessPathStore<Safety>> updateRegularStore(
             Safety value, TransferInput<?, AccessPathStore<Safety>> input, ReadableUpdates updates) {
+        recordVisit();
         ResultingStore newStore = updateStore(input.getRegularStore(), updates);
         return new RegularTransferResult<>(value, newStore.store, newStore.storeChanged);
     }
 
     @CheckReturnValue
-    private static TransferResult<Safety, AccessPathStore<Safety>> conditionalResult(
+    private TransferResult<Safety, AccessPathStore<Safety>> conditionalResult(
             Safety value, AccessPathStore<Safety> thenStore, AccessPathStore<Safety> elseStore, boolean storeChanged) {
+        recordVisit();
         return new ConditionalTransferResult<>(value, thenStore, elseStore, storeChanged);
     }
 
@@ -500,6 +643,47 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
         }
     }
 
+    /** How the safety of a well-known method's result is derived, in order of precedence. */
+    @VisibleForTesting
+    enum KnownMethodSafety {
+        /** Combines the safety of the receiver and all arguments. */
+        ARGS_AND_RECEIVER,
+        /** Like {@link #ARGS_AND_RECEIVER}, additionally assigning the result to the builder being mutated. */
+        MUTABLE_BUILDER,
+        /** Combines the safety of all arguments, ignoring the receiver. */
+        COMBINATION_OF_ARGS,
+        RECEIVER,
+        FIRST_ARG
+    }
+
+    @VisibleForTesting
+    static final class KnownMethodRule {
+        final KnownMethodSafety safety;
+        final Matcher<ExpressionTree> matcher;
+
+        KnownMethodRule(KnownMethodSafety safety, Matcher<ExpressionTree> matcher) {
+            this.safety = safety;
+            this.matcher = matcher;
+        }
+    }
+
+    private static final class KnownMethodRules {
+        private final ImmutableListMultimap.Builder<String, KnownMethodRule> rules = ImmutableListMultimap.builder();
+
+        /** Registers a matcher under every method name it may match, which must be exhaustive. */
+        KnownMethodRules add(KnownMethodSafety safety, Matcher<ExpressionTree> matcher, String... methodNames) {
+            KnownMethodRule rule = new KnownMethodRule(safety, matcher);
+            for (String methodName : methodNames) {
+                rules.put(methodName, rule);
+            }
+            return this;
+        }
+
+        ImmutableListMultimap<String, KnownMethodRule> build() {
+            return rules.build();
+        }
+    }
+
     interface Updates {
         void set(LocalVariableNode node, Safety value);
 
@@ -554,7 +738,7 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
         }
     }
 
-    private static TransferResult<Safety, AccessPathStore<Safety>> unknown(
+    private TransferResult<Safety, AccessPathStore<Safety>> unknown(
             TransferInput<?, AccessPathStore<Safety>> input) {
         return noStoreChanges(Safety.UNKNOWN, input);
     }
@@ -920,6 +1104,12 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
         if (enclosingPath == null) {
             return Safety.UNKNOWN;
         }
+        Analysis<Safety, AccessPathStore<Safety>, SafetyPropagationTransfer> cached =
+                capturedLocalVariableAnalyses.get(enclosingPath.getLeaf());
+        if (cached != null) {
+            return getValue(cached, variableDefinition.getLeaf());
+        }
+        boolean cacheable = traversed.isEmpty();
         if (!traversed.add(variableSymbol)) {
             // Avoid infinite recursion between sub-analysis cycles
             return Safety.UNKNOWN;
@@ -927,16 +1117,25 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
         try {
             UnderlyingAST ast = createAst(enclosingPath);
             ControlFlowGraph cfg = CFGBuilder.build(state.getPath().getCompilationUnit(), ast, false, false, javacEnv);
+            cfgBuilds++;
             Analysis<Safety, AccessPathStore<Safety>, SafetyPropagationTransfer> analysis =
                     new ForwardAnalysisImpl<>(this);
             analysis.performAnalysis(cfg);
-            Safety maybeResult = analysis.getValue(variableDefinition.getLeaf());
-            return maybeResult == null ? Safety.UNKNOWN : maybeResult;
+            if (cacheable) {
+                capturedLocalVariableAnalyses.put(enclosingPath.getLeaf(), analysis);
+            }
+            return getValue(analysis, variableDefinition.getLeaf());
         } finally {
             traversed.remove(variableSymbol);
         }
     }
 
+    private static Safety getValue(
+            Analysis<Safety, AccessPathStore<Safety>, SafetyPropagationTransfer> analysis, Tree tree) {
+        Safety maybeResult = analysis.getValue(tree);
+        return maybeResult == null ? Safety.UNKNOWN : maybeResult;
+    }
+
     private static UnderlyingAST createAst(TreePath path) {
         Tree tree = path.getLeaf();
         ClassTree enclosingClass = TreePathUtil.enclosingClass(path);
@@ -1014,6 +1213,19 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
     }
 
     private Safety fieldInitializerSafetyIfAvailable(VarSymbol accessed) {
+        Safety cached = fieldInitializerSafety.get(accessed);
+        if (cached != null) {
+            return cached;
+        }
+        boolean cacheable = traversed.isEmpty();
+        Safety safety = computeFieldInitializerSafety(accessed);
+        if (cacheable) {
+            fieldInitializerSafety.put(accessed, safety);
+        }
+        return safety;
+    }
+
+    private Safety computeFieldInitializerSafety(VarSymbol accessed) {
         if (!traversed.add(accessed)) {
             // Avoid infinite recursion between initializers with circular references. We recommend against
             // writing such initializers, but handle it gracefully.
@@ -1044,11 +1256,11 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
             TreePath initializerPath = TreePath.getPath(fieldDeclPath, initializer);
             UnderlyingAST ast = new UnderlyingAST.CFGStatement(initializerPath.getLeaf(), classTree);
             ControlFlowGraph cfg = CFGBuilder.build(initializerPath, ast, false, false, javacEnv);
+            cfgBuilds++;
             Analysis<Safety, AccessPathStore<Safety>, SafetyPropagationTransfer> analysis =
                     new ForwardAnalysisImpl<>(this);
             analysis.performAnalysis(cfg);
-            Safety maybeResult = analysis.getValue(initializerPath.getLeaf());
-            return maybeResult == null ? Safety.UNKNOWN : maybeResult;
+            return getValue(analysis, initializerPath.getLeaf());
         } finally {
             traversed.remove(accessed);
         }
@@ -1170,8 +1382,7 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
 
         ResultingStore thenStore = updateStore(input.getThenStore(), thenUpdates);
 
-        return new ConditionalTransferResult<>(
-                Safety.SAFE, thenStore.store, input.getElseStore(), thenStore.storeChanged);
+        return conditionalResult(Safety.SAFE, thenStore.store, input.getElseStore(), thenStore.storeChanged);
     }
 
     @Override
@@ -1201,15 +1412,16 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
     @Override
     public TransferResult<Safety, AccessPathStore<Safety>> visitMethodInvocation(
             MethodInvocationNode node, TransferInput<Safety, AccessPathStore<Safety>> input) {
+        KnownMethodSafety knownMethod = getKnownMethod(node);
         Safety methodSymbolSafety = getMethodSymbolSafety(node, input);
-        Safety knownMethodSafety = getKnownMethodSafety(node, input);
+        Safety knownMethodSafety = getKnownMethodSafety(knownMethod, node, input);
         Safety result = Safety.mergeAssumingUnknownIsSame(methodSymbolSafety, knownMethodSafety);
-        if (MUTABLE_BUILDER_METHODS.matches(node.getTree(), state)) {
+        if (knownMethod == KnownMethodSafety.MUTABLE_BUILDER) {
             ReadableUpdates updates = new ReadableUpdates();
             Node current = node.getTarget().getReceiver();
             while (current instanceof MethodInvocationNode) {
                 MethodInvocationNode currentInvocation = (MethodInvocationNode) current;
-                if (MUTABLE_BUILDER_METHODS.matches(currentInvocation.getTree(), state)) {
+                if (getKnownMethod(currentInvocation) == KnownMethodSafety.MUTABLE_BUILDER) {
                     current = currentInvocation.getTarget().getReceiver();
                 } else {
                     break;
@@ -1222,26 +1434,55 @@ public final class SafetyPropagationTransfer implements ForwardTransferFunction<
         }
     }
 
+    @Nullable
+    private KnownMethodSafety getKnownMethod(MethodInvocationNode node) {
+        return getKnownMethod(node.getTree(), state);
+    }
+
+    @Nullable
+    @VisibleForTesting
+    static KnownMethodSafety getKnownMethod(MethodInvocationTree tree, VisitorState state) {
+        MethodSymbol methodSymbol = ASTHelpers.getSymbol(tree);
+        if (methodSymbol == null) {
+            return null;
+        }
+        for (KnownMethodRule rule : KNOWN_METHODS.get(methodSymbol.getSimpleName().toString())) {
+            if (rule.matcher.matches(tree, state)) {
+                return rule.safety;
+            }
+        }
+        return null;
+    }
+
     private Safety getKnownMethodSafety(
-            MethodInvocationNode node, TransferInput<Safety, AccessPathStore<Safety>> input) {
-        if (RETURNS_SAFETY_OF_ARGS_AND_RECEIVER.matches(node.getTree(), state)) {
-            Safety safety = getValueOfSubNode(input, node.getTarget().getReceiver());
-            for (Node argument : node.getArguments()) {
-                safety = safety.leastUpperBound(getValueOfSubNode(input, argument));
+            @Nullable KnownMethodSafety knownMethod,
+            MethodInvocationNode node,
+            TransferInput<Safety, AccessPathStore<Safety>> input) {
+        if (knownMethod == null) {
+            return Safety.UNKNOWN;
+        }
+        switch (knownMethod) {
+            case ARGS_AND_RECEIVER:
+            case MUTABLE_BUILDER: {
+                Safety safety = getValueOfSubNode(input, node.getTarget().getReceiver());
+                for (Node argument : node.getArguments()) {
+                    safety = safety.leastUpperBound(getValueOfSubNode(input, argument));
+                }
+                return safety;
             }
-            return safety;
-        } else if (RETURNS_SAFETY_COMBINATION_OF_ARGS.matches(node.getTree(), state)) {
-            Safety safety = Safety.SAFE;
-            for (Node argument : node.getArguments()) {
-                safety = safety.leastUpperBound(getValueOfSubNode(input, argument));
+            case COMBINATION_OF_ARGS: {
+                Safety safety = Safety.SAFE;
+                for (Node argument : node.getArguments()) {
+                    safety = safety.leastUpperBound(getValueOfSubNode(input, argument));
+                }
+                return safety;
             }
-            return safety;
-        } else if (RETURNS_SAFETY_OF_RECEIVER.matches(node.getTree(), state)) {
-            return getValueOfSubNode(input, node.getTarget().getReceiver());
-        } else if (RETURNS_SAFETY_OF_FIRST_ARG.matches(node.getTree(), state)) {
-            return getValueOfSubNode(input, node.getArguments().get(0));
+            case RECEIVER:
+                return getValueOfSubNode(input, node.getTarget().getReceiver());
+            case FIRST_ARG:
+                return getValueOfSubNode(input, node.getArguments().get(0));
         }
-        return Safety.UNKNOWN;
+        throw new IllegalStateException("Unknown method safety: " + knownMethod);
     }
 
     private Safety getMethodSymbolSafety(
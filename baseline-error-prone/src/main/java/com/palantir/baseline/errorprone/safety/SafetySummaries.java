@@ -0,0 +1,160 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone.safety;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.VisitorState;
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.code.Types;
+import com.sun.tools.javac.util.Context;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Inferred return safety of unannotated methods, persisted alongside compiled classes so that consumers compiling
+ * against a jar benefit from the analysis performed when the jar was built.
+ *
+ * <p>Summaries are stored in one resource per top-level class, {@code META-INF/baseline/safety-summaries/<flat name>},
+ * with one {@code <method key>\t<safety>} entry per line. Only methods which cannot be overridden are summarized,
+ * because the summary describes a specific implementation rather than a contract.
+ */
+public final class SafetySummaries {
+    public static final String RESOURCE_DIRECTORY = "META-INF/baseline/safety-summaries/";
+
+    private static final Context.Key<SummaryCache> SUMMARY_CACHE = new Context.Key<>();
+
+    /**
+     * Returns the summarized return safety of a method loaded from a class file, or {@link Safety#UNKNOWN} if no
+     * summary is available. Summaries are read lazily, at most once per top-level class.
+     */
+    static Safety getReturnSafety(MethodSymbol method, VisitorState state) {
+        if (!isSummarizable(method)) {
+            return Safety.UNKNOWN;
+        }
+        ClassSymbol outermost = method.outermostClass();
+        if (outermost == null) {
+            return Safety.UNKNOWN;
+        }
+        SummaryCache cache = SummaryCache.instance(state.context);
+        Map<String, Safety> summary = cache.summaries.get(outermost);
+        if (summary == null) {
+            summary = read(outermost, state);
+            cache.summaries.put(outermost, summary);
+        }
+        return summary.getOrDefault(methodKey(method, state.getTypes()), Safety.UNKNOWN);
+    }
+
+    /** Returns true if the method has a single implementation, allowing its inferred safety to be persisted. */
+    public static boolean isSummarizable(MethodSymbol method) {
+        if (method.isConstructor() || method.isStaticOrInstanceInit() || method.owner.isAnonymous()) {
+            return false;
+        }
+        return (method.flags() & (Flags.STATIC | Flags.FINAL | Flags.PRIVATE)) != 0
+                || (method.owner.flags() & Flags.FINAL) != 0;
+    }
+
+    /** Key identifying a method within a summary, stable across compilations of the same signature. */
+    public static String methodKey(MethodSymbol method, Types types) {
+        return method.owner.flatName() + "#" + method.getSimpleName()
+                + method.getParameters().stream()
+                        .map(parameter -> types.erasure(parameter.type).toString())
+                        .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    /** Renders a summary in the format expected by {@link #parse(String)}. */
+    public static String format(Map<String, Safety> summary) {
+        StringBuilder builder = new StringBuilder();
+        summary.forEach((key, safety) -> builder.append(key).append('\t').append(safety.name()).append('\n'));
+        return builder.toString();
+    }
+
+    static Map<String, Safety> parse(String content) {
+        Map<String, Safety> summary = new HashMap<>();
+        for (String line : Splitter.on('\n').omitEmptyStrings().split(content)) {
+            List<String> parts = Splitter.on('\t').splitToList(line);
+            if (parts.size() != 2) {
+                continue;
+            }
+            Safety safety = parseSafety(parts.get(1));
+            if (safety != null && safety != Safety.UNKNOWN) {
+                summary.put(parts.get(0), safety);
+            }
+        }
+        return summary;
+    }
+
+    @Nullable
+    private static Safety parseSafety(String value) {
+        for (Safety safety : Safety.values()) {
+            if (safety.name().equals(value)) {
+                return safety;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the summary of a class loaded from a class file using the compiler's file manager, which keeps each jar on
+     * the classpath open once for the compilation rather than opening it again for every summarized class.
+     */
+    private static Map<String, Safety> read(ClassSymbol outermost, VisitorState state) {
+        JavaFileObject classfile = outermost.classfile;
+        JavaFileManager fileManager = state.context.get(JavaFileManager.class);
+        if (classfile == null || classfile.getKind() != JavaFileObject.Kind.CLASS || fileManager == null) {
+            return ImmutableMap.of();
+        }
+        try {
+            FileObject resource = fileManager.getFileForInput(
+                    StandardLocation.CLASS_PATH, "", RESOURCE_DIRECTORY + outermost.flatName());
+            if (resource == null) {
+                // Most classes are not summarized
+                return ImmutableMap.of();
+            }
+            return parse(resource.getCharContent(true).toString());
+        } catch (IOException | RuntimeException e) {
+            return ImmutableMap.of();
+        }
+    }
+
+    private static final class SummaryCache {
+        private final Map<Symbol, Map<String, Safety>> summaries = new IdentityHashMap<>();
+
+        static SummaryCache instance(Context context) {
+            SummaryCache instance = context.get(SUMMARY_CACHE);
+            if (instance == null) {
+                instance = new SummaryCache();
+                context.put(SUMMARY_CACHE, instance);
+            }
+            return instance;
+        }
+    }
+
+    private SafetySummaries() {}
+}
@@ -0,0 +1,201 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class BoxedAccumulatorInLoopTest {
+
+    @Test
+    void unboxes_local_accumulators() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  long f(List<Long> values) {",
+                        "    Long total = 0L;",
+                        "    for (Long value : values) {",
+                        "      total += value;",
+                        "    }",
+                        "    return total;",
+                        "  }",
+                        "  int g(int n) {",
+                        "    Integer count = 0;",
+                        "    for (Integer i = 0; i < n; i++) {",
+                        "      count = count + i;",
+                        "    }",
+                        "    return count;",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  long f(List<Long> values) {",
+                        "    long total = 0L;",
+                        "    for (Long value : values) {",
+                        "      total += value;",
+                        "    }",
+                        "    return total;",
+                        "  }",
+                        "  int g(int n) {",
+                        "    int count = 0;",
+                        "    for (int i = 0; i < n; i++) {",
+                        "      count = count + i;",
+                        "    }",
+                        "    return count;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void no_fix_when_value_may_be_null() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  Long f(List<Long> values) {",
+                        "    // BUG: Diagnostic contains: 'total' is a boxed Long updated within a loop",
+                        "    Long total = null;",
+                        "    for (Long value : values) {",
+                        "      total = total == null ? value : total + value;",
+                        "    }",
+                        "    return total;",
+                        "  }",
+                        "}")
+                .doTest();
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  Long f(List<Long> values) {",
+                        "    Long total = null;",
+                        "    for (Long value : values) {",
+                        "      total = total == null ? value : total + value;",
+                        "    }",
+                        "    return total;",
+                        "  }",
+                        "}")
+                .expectUnchanged()
+                .doTest();
+    }
+
+    @Test
+    void no_fix_when_passed_as_object() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  void f(List<Integer> values, int count) {",
+                        "    Integer index = 0;",
+                        "    for (int i = 0; i < count; i++) {",
+                        "      index++;",
+                        "      values.remove(index);",
+                        "    }",
+                        "  }",
+                        "}")
+                .expectUnchanged()
+                .doTest();
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  void f(List<Integer> values, int count) {",
+                        "    Integer index = 0;",
+                        "    for (int i = 0; i < count; i++) {",
+                        "      index++;",
+                        "      values.get(index);",
+                        "    }",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  void f(List<Integer> values, int count) {",
+                        "    int index = 0;",
+                        "    for (int i = 0; i < count; i++) {",
+                        "      index++;",
+                        "      values.get(index);",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void merges_map_counters() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(List<String> words, Map<String, Integer> counts, Map<String, Long> lengths) {",
+                        "    for (String word : words) {",
+                        "      counts.put(word, counts.get(word) + 1);",
+                        "      lengths.put(word, 1 + lengths.get(word));",
+                        "    }",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(List<String> words, Map<String, Integer> counts, Map<String, Long> lengths) {",
+                        "    for (String word : words) {",
+                        "      counts.merge(word, 1, Integer::sum);",
+                        "      lengths.merge(word, 1L, Long::sum);",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void ignores_updates_outside_loops() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  long f(List<Long> values, Map<String, Integer> counts) {",
+                        "    Long total = 0L;",
+                        "    total += values.size();",
+                        "    counts.put(\"a\", counts.get(\"a\") + 1);",
+                        "    long sum = 0;",
+                        "    for (Long value : values) {",
+                        "      Long doubled = value;",
+                        "      doubled *= 2;",
+                        "      sum += doubled;",
+                        "    }",
+                        "    return total + sum;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private RefactoringValidator fix() {
+        return RefactoringValidator.of(BoxedAccumulatorInLoop.class, getClass());
+    }
+
+    private CompilationTestHelper helper() {
+        return CompilationTestHelper.newInstance(BoxedAccumulatorInLoop.class, getClass());
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.errorprone.ErrorProneJavaCompiler;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.scanner.ScannerSupplier;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Measures the compile-time cost of individual checks by compiling a fixed corpus with exactly one check enabled,
+ * relative to compiling the same corpus with no checks enabled. Run using {@code ./gradlew checkBenchmark}, which
+ * provides the corpus pinned under {@code src/benchmark/corpus}.
+ *
+ * <p>Each check's relative overhead must not exceed its limit in {@code src/benchmark/check-overhead.properties}.
+ * Relative overheads vary less between machines than absolute timings, and the limits are generous enough that only
+ * substantial regressions fail. Running with {@code -Drecreate=true} rewrites the limits from the measurements.
+ */
+@Tag("benchmark")
+public final class CheckCompileTimeBenchmark {
+    private static final String CORPUS_PROPERTY = "benchmark.corpus";
+    private static final String CLASSPATH_PROPERTY = "benchmark.classpath";
+    private static final String LIMITS_PROPERTY = "benchmark.limits";
+
+    /** Limits are recreated with this much headroom over the measured overhead. */
+    private static final double RECREATED_LIMIT_FACTOR = 2;
+
+    /** The corpus is a copy of this project's sources, which use javac internals. */
+    private static final ImmutableList<String> EXPORTED_PACKAGES = ImmutableList.of(
+            "com.sun.tools.javac.api",
+            "com.sun.tools.javac.code",
+            "com.sun.tools.javac.comp",
+            "com.sun.tools.javac.file",
+            "com.sun.tools.javac.main",
+            "com.sun.tools.javac.model",
+            "com.sun.tools.javac.parser",
+            "com.sun.tools.javac.processing",
+            "com.sun.tools.javac.tree",
+            "com.sun.tools.javac.util");
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    private static final ImmutableList<Class<? extends BugChecker>> CHECKS = ImmutableList.of(
+            IllegalSafeLoggingArgument.class,
+            SafeLoggingPropagation.class,
+            LoggingDoNotLog.class,
+            StrictUnusedVariable.class,
+            LambdaMethodReference.class);
+
+    /** Limits recreated from this run's measurements, keyed by check name. */
+    private static final Map<String, String> RECREATED_LIMITS = new ConcurrentSkipListMap<>();
+
+    private static List<File> corpus;
+    private static double kloc;
+    private static Measurement baseline;
+    private static Path limitsFile;
+    private static Properties limits;
+
+    @BeforeAll
+    static void beforeAll(TestReporter reporter) throws IOException {
+        corpus = corpus();
+        limitsFile = Paths.get(System.getProperty(LIMITS_PROPERTY));
+        limits = new Properties();
+        try (Reader reader = Files.newBufferedReader(limitsFile, StandardCharsets.UTF_8)) {
+            limits.load(reader);
+        }
+        long lines = 0;
+        for (File file : corpus) {
+            lines += Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).size();
+        }
+        kloc = lines / 1000.0;
+        baseline = measure();
+        reporter.publishEntry(ImmutableMap.of(
+                "files", Integer.toString(corpus.size()),
+                "kloc", format(kloc),
+                "ms/KLOC", format(baseline.millis / kloc),
+                "MB/KLOC", format(baseline.megabytes() / kloc)));
+    }
+
+    static Stream<Class<? extends BugChecker>> checks() {
+        return CHECKS.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("checks")
+    void check_overhead(Class<? extends BugChecker> check, TestReporter reporter) {
+        Measurement measurement = measure(check);
+        double overheadMillis = measurement.millis - baseline.millis;
+        double overheadMegabytes = measurement.megabytes() - baseline.megabytes();
+        double relative = overheadMillis / baseline.millis;
+        reporter.publishEntry(ImmutableMap.of(
+                "check", check.getSimpleName(),
+                "ms/KLOC", format(overheadMillis / kloc),
+                "MB/KLOC", format(overheadMegabytes / kloc),
+                "relative", format(relative)));
+        if (Boolean.getBoolean("recreate")) {
+            // Checks cheaper than the measurement noise still get a meaningful limit
+            RECREATED_LIMITS.put(
+                    check.getSimpleName(), format(Math.max(relative, 0.05) * RECREATED_LIMIT_FACTOR));
+            return;
+        }
+        String limit = limits.getProperty(check.getSimpleName());
+        assertThat(limit)
+                .describedAs("No overhead limit for %s in %s", check.getSimpleName(), limitsFile)
+                .isNotNull();
+        assertThat(relative)
+                .describedAs(
+                        "Overhead of %s relative to compiling without checks. Run with -Drecreate=true to update"
+                                + " the limit if the regression is expected.",
+                        check.getSimpleName())
+                .isLessThanOrEqualTo(Double.parseDouble(limit));
+    }
+
+    @AfterAll
+    static void afterAll() throws IOException {
+        if (RECREATED_LIMITS.isEmpty()) {
+            return;
+        }
+        // Limits of checks which weren't run are kept
+        Map<String, String> updated = new TreeMap<>(Maps.fromProperties(limits));
+        updated.putAll(RECREATED_LIMITS);
+        List<String> lines = new ArrayList<>();
+        lines.add("# Maximum compile-time overhead of each check, relative to compiling the corpus with no checks"
+                + " enabled.");
+        lines.add("# Regenerate using ./gradlew checkBenchmark -Drecreate=true");
+        updated.forEach((check, limit) -> lines.add(check + "=" + limit));
+        Files.write(limitsFile, lines, StandardCharsets.UTF_8);
+    }
+
+    /** Returns the median time and allocation of compiling the corpus with the given checks. */
+    @SafeVarargs
+    private static Measurement measure(Class<? extends BugChecker>... checks) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            compile(checks);
+        }
+        double[] millis = new double[MEASUREMENT_ITERATIONS];
+        long[] bytes = new long[MEASUREMENT_ITERATIONS];
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            long startBytes = allocatedBytes();
+            long startNanos = System.nanoTime();
+            compile(checks);
+            millis[i] = (System.nanoTime() - startNanos) / 1_000_000.0;
+            bytes[i] = allocatedBytes() - startBytes;
+        }
+        Arrays.sort(millis);
+        Arrays.sort(bytes);
+        return new Measurement(millis[MEASUREMENT_ITERATIONS / 2], bytes[MEASUREMENT_ITERATIONS / 2]);
+    }
+
+    /**
+     * Returns the corpus sources provided by the {@code checkBenchmark} task, skipping the calling benchmark when it
+     * is run in any other way.
+     */
+    public static List<File> corpus() throws IOException {
+        String corpusDir = System.getProperty(CORPUS_PROPERTY);
+        Assumptions.assumeTrue(corpusDir != null, "Run using './gradlew checkBenchmark'");
+        try (Stream<Path> paths = Files.walk(Paths.get(corpusDir))) {
+            return paths.filter(path -> path.toString().endsWith(".java"))
+                    .sorted()
+                    .map(Path::toFile)
+                    .collect(ImmutableList.toImmutableList());
+        }
+    }
+
+    @SafeVarargs
+    private static void compile(Class<? extends BugChecker>... checks) {
+        compile(corpus, ScannerSupplier.fromBugCheckerClasses(checks));
+    }
+
+    /** Compiles the corpus with the given checks, up to the point where error-prone has analyzed it. */
+    public static void compile(List<File> sourceFiles, ScannerSupplier scanners) {
+        ErrorProneJavaCompiler compiler = new ErrorProneJavaCompiler(scanners);
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager =
+                compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            ImmutableList.Builder<String> options = ImmutableList.<String>builder()
+                    .add(
+                            "-proc:none",
+                            "-classpath",
+                            System.getProperty(CLASSPATH_PROPERTY, ""),
+                            "-XDcompilePolicy=simple",
+                            // Error-prone runs once flow analysis completes, so code generation is unnecessary
+                            "-XDshould-stop.ifNoError=FLOW");
+            for (String exported : EXPORTED_PACKAGES) {
+                options.add("--add-exports", "jdk.compiler/" + exported + "=ALL-UNNAMED");
+            }
+            Iterable<? extends JavaFileObject> sources = fileManager.getJavaFileObjectsFromFiles(sourceFiles);
+            Boolean success = compiler.getTask(null, fileManager, diagnostics, options.build(), null, sources).call();
+            List<Diagnostic<? extends JavaFileObject>> errors = diagnostics.getDiagnostics().stream()
+                    .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                    .collect(Collectors.toList());
+            // Findings are reported as errors by some checks, only compilation failures invalidate the measurement
+            boolean compiled = success
+                    || errors.stream().allMatch(error -> error.getCode().startsWith("compiler.err.error.prone"));
+            assertThat(compiled)
+                    .describedAs("Corpus failed to compile: %s", errors)
+                    .isTrue();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static final class Measurement {
+        private final double millis;
+        private final long bytes;
+
+        Measurement(double millis, long bytes) {
+            this.millis = millis;
+            this.bytes = bytes;
+        }
+
+        double megabytes() {
+            return bytes / (1024.0 * 1024.0);
+        }
+    }
+}
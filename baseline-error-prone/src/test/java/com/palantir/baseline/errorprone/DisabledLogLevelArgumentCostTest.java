@@ -0,0 +1,174 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class DisabledLogLevelArgumentCostTest {
+
+    @Test
+    void guards_expensive_invocation() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import com.palantir.logsafe.SafeArg;",
+                        "import java.util.List;",
+                        "import org.slf4j.Logger;",
+                        "import org.slf4j.LoggerFactory;",
+                        "class Test {",
+                        "  private static final Logger log = LoggerFactory.getLogger(Test.class);",
+                        "  void f(List<String> values) {",
+                        "    log.debug(\"Values {}\", SafeArg.of(\"values\", String.join(\",\", values)));",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import com.palantir.logsafe.SafeArg;",
+                        "import java.util.List;",
+                        "import org.slf4j.Logger;",
+                        "import org.slf4j.LoggerFactory;",
+                        "class Test {",
+                        "  private static final Logger log = LoggerFactory.getLogger(Test.class);",
+                        "  void f(List<String> values) {",
+                        "    if (log.isDebugEnabled()) {",
+                        "      log.debug(\"Values {}\", SafeArg.of(\"values\", String.join(\",\", values)));",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void guards_unbraced_statement() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import org.slf4j.Logger;",
+                        "import org.slf4j.LoggerFactory;",
+                        "class Test {",
+                        "  private static final Logger log = LoggerFactory.getLogger(Test.class);",
+                        "  void f(boolean flag, String value) {",
+                        "    if (flag) log.trace(\"value: \" + value);",
+                        "    else System.out.println(value);",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import org.slf4j.Logger;",
+                        "import org.slf4j.LoggerFactory;",
+                        "class Test {",
+                        "  private static final Logger log = LoggerFactory.getLogger(Test.class);",
+                        "  void f(boolean flag, String value) {",
+                        "    if (flag) {",
+                        "      if (log.isTraceEnabled()) {",
+                        "        log.trace(\"value: \" + value);",
+                        "      }",
+                        "    } else System.out.println(value);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void reports_many_arguments() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import com.palantir.logsafe.SafeArg;",
+                        "import com.palantir.logsafe.UnsafeArg;",
+                        "import org.slf4j.Logger;",
+                        "import org.slf4j.LoggerFactory;",
+                        "class Test {",
+                        "  private static final Logger log = LoggerFactory.getLogger(Test.class);",
+                        "  void f(String a, String b, String c) {",
+                        "    // BUG: Diagnostic contains: computed even when DEBUG logging is disabled",
+                        "    log.debug(",
+                        "        \"{} {} {}\", SafeArg.of(\"a\", a), UnsafeArg.of(\"b\", b), SafeArg.of(\"c\", c));",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void ignores_cheap_and_guarded_statements() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import com.palantir.logsafe.SafeArg;",
+                        "import org.slf4j.Logger;",
+                        "import org.slf4j.LoggerFactory;",
+                        "class Test {",
+                        "  private static final Logger log = LoggerFactory.getLogger(Test.class);",
+                        "  private String name;",
+                        "  String getName() { return name; }",
+                        "  void f(String value, Exception e) {",
+                        "    log.debug(\"Value {}\", SafeArg.of(\"value\", value), e);",
+                        "    log.debug(\"Name {}\", SafeArg.of(\"name\", getName()));",
+                        "    log.info(\"Value \" + value.trim());",
+                        "    if (log.isDebugEnabled() && value != null) {",
+                        "      log.debug(\"Value \" + value.trim());",
+                        "    }",
+                        "  }",
+                        "  void g(String value) {",
+                        "    if (!log.isTraceEnabled()) {",
+                        "      return;",
+                        "    }",
+                        "    log.trace(\"Value \" + value.trim());",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void reports_statements_guarded_by_another_level_or_logger() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import org.slf4j.Logger;",
+                        "import org.slf4j.LoggerFactory;",
+                        "class Test {",
+                        "  private static final Logger log = LoggerFactory.getLogger(Test.class);",
+                        "  private static final Logger audit = LoggerFactory.getLogger(\"audit\");",
+                        "  String expensive() { return \"\"; }",
+                        "  void f() {",
+                        "    if (log.isDebugEnabled()) {",
+                        "      // BUG: Diagnostic contains: isTraceEnabled()",
+                        "      log.trace(expensive());",
+                        "    }",
+                        "    if (audit.isDebugEnabled()) {",
+                        "      // BUG: Diagnostic contains: isDebugEnabled()",
+                        "      log.debug(expensive());",
+                        "    }",
+                        "    if (log.isTraceEnabled()) {",
+                        "      log.debug(expensive());",
+                        "    }",
+                        "  }",
+                        "  void g() {",
+                        "    if (!log.isDebugEnabled()) {",
+                        "      return;",
+                        "    }",
+                        "    // BUG: Diagnostic contains: isTraceEnabled()",
+                        "    log.trace(expensive());",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private RefactoringValidator fix() {
+        return RefactoringValidator.of(DisabledLogLevelArgumentCost.class, getClass());
+    }
+
+    private CompilationTestHelper helper() {
+        return CompilationTestHelper.newInstance(DisabledLogLevelArgumentCost.class, getClass());
+    }
+}
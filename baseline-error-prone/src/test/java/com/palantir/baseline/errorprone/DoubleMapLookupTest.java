@@ -0,0 +1,239 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class DoubleMapLookupTest {
+
+    @Test
+    void contains_key_ternary() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  String f(Map<String, String> map, String key) {",
+                        "    return map.containsKey(key) ? map.get(key) : \"default\";",
+                        "  }",
+                        "  String g(Map<String, String> map, String key) {",
+                        "    return !map.containsKey(key) ? null : map.get(key);",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  String f(Map<String, String> map, String key) {",
+                        "    return map.getOrDefault(key, \"default\");",
+                        "  }",
+                        "  String g(Map<String, String> map, String key) {",
+                        "    return map.get(key);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void contains_key_ternary_with_promoted_fallback() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, Double> doubles, Map<String, Long> longs, Map<String, Integer> ints,",
+                        "      String k) {",
+                        "    double d = doubles.containsKey(k) ? doubles.get(k) : 0;",
+                        "    long l = longs.containsKey(k) ? longs.get(k) : 0;",
+                        "    int i = ints.containsKey(k) ? ints.get(k) : 0;",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, Double> doubles, Map<String, Long> longs, Map<String, Integer> ints,",
+                        "      String k) {",
+                        "    double d = doubles.containsKey(k) ? doubles.get(k) : 0;",
+                        "    long l = longs.containsKey(k) ? longs.get(k) : 0;",
+                        "    int i = ints.getOrDefault(k, 0);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void contains_key_then_get_on_concurrent_map() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.concurrent.ConcurrentMap;",
+                        "class Test {",
+                        "  void f(ConcurrentMap<String, String> map, String key) {",
+                        "    if (map.containsKey(key)) {",
+                        "      String value = map.get(key);",
+                        "      System.out.println(value);",
+                        "    }",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.concurrent.ConcurrentMap;",
+                        "class Test {",
+                        "  void f(ConcurrentMap<String, String> map, String key) {",
+                        "    String value = map.get(key);",
+                        "    if (value != null) {",
+                        "      System.out.println(value);",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void contains_key_then_get_without_fix_when_values_may_be_null() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "import java.util.concurrent.ConcurrentMap;",
+                        "class Test {",
+                        "  void f(Map<String, String> map, String key) {",
+                        "    // BUG: Diagnostic contains: Map is looked up several times with the same key",
+                        "    if (map.containsKey(key)) {",
+                        "      String value = map.get(key);",
+                        "      System.out.println(value);",
+                        "    }",
+                        "  }",
+                        "  void g(ConcurrentMap<String, String> map, String key) {",
+                        "    // BUG: Diagnostic contains: not atomic",
+                        "    if (map.containsKey(key)) {",
+                        "      System.out.println(map.get(key));",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void get_then_put() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.ArrayList;",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, String> map, String key, String value) {",
+                        "    if (map.get(key) == null) {",
+                        "      map.put(key, value);",
+                        "    }",
+                        "  }",
+                        "  void g(Map<String, List<String>> map, String key) {",
+                        "    if (map.get(key) == null) map.put(key, new ArrayList<>());",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.ArrayList;",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, String> map, String key, String value) {",
+                        "    map.putIfAbsent(key, value);",
+                        "  }",
+                        "  void g(Map<String, List<String>> map, String key) {",
+                        "    map.computeIfAbsent(key, _key -> new ArrayList<>());",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void get_null_check_then_put() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.ArrayList;",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, List<String>> map, String key, String value) {",
+                        "    List<String> values = map.get(key);",
+                        "    if (values == null) {",
+                        "      values = new ArrayList<>();",
+                        "      map.put(key, values);",
+                        "    }",
+                        "    values.add(value);",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.ArrayList;",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, List<String>> map, String key, String value) {",
+                        "    List<String> values = map.computeIfAbsent(key, _key -> new ArrayList<>());",
+                        "    values.add(value);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void get_or_default_then_put() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, Integer> ints, Map<String, Long> longs, String key, int count) {",
+                        "    ints.put(key, ints.getOrDefault(key, 0) + count);",
+                        "    longs.put(key, 1 + longs.getOrDefault(key, 0L));",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, Integer> ints, Map<String, Long> longs, String key, int count) {",
+                        "    ints.merge(key, count, Integer::sum);",
+                        "    longs.merge(key, 1L, Long::sum);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void ignores_different_keys_and_side_effects() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  String f(Map<String, String> map, String key, String other) {",
+                        "    if (map.get(key) == null) {",
+                        "      map.put(other, \"value\");",
+                        "    }",
+                        "    return map.containsKey(key.trim()) ? map.get(key.trim()) : null;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private RefactoringValidator fix() {
+        return RefactoringValidator.of(DoubleMapLookup.class, getClass());
+    }
+
+    private CompilationTestHelper helper() {
+        return CompilationTestHelper.newInstance(DoubleMapLookup.class, getClass());
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class ExpensiveFactoryInMethodBodyTest {
+
+    @Test
+    void hoists_pattern() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.regex.Pattern;",
+                        "class Test {",
+                        "  boolean f(String value) {",
+                        "    Pattern digits = Pattern.compile(\"[0-9]+\");",
+                        "    return digits.matcher(value).matches();",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.regex.Pattern;",
+                        "class Test {",
+                        "  private static final Pattern DIGITS = Pattern.compile(\"[0-9]+\");",
+                        "  boolean f(String value) {",
+                        "    Pattern digits = DIGITS;",
+                        "    return digits.matcher(value).matches();",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void hoists_with_constant_field_argument() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.time.format.DateTimeFormatter;",
+                        "class Test {",
+                        "  private static final String FORMAT = \"yyyy-MM-dd\";",
+                        "  String f(java.time.LocalDate date) {",
+                        "    return DateTimeFormatter.ofPattern(FORMAT).format(date);",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.time.format.DateTimeFormatter;",
+                        "class Test {",
+                        "  private static final DateTimeFormatter DATE_TIME_FORMATTER =",
+                        "      DateTimeFormatter.ofPattern(Test.FORMAT);",
+                        "  private static final String FORMAT = \"yyyy-MM-dd\";",
+                        "  String f(java.time.LocalDate date) {",
+                        "    return DATE_TIME_FORMATTER.format(date);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void hoists_thread_confined_into_thread_local() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.text.SimpleDateFormat;",
+                        "import java.util.Date;",
+                        "class Test {",
+                        "  String f(Date date) {",
+                        "    return new SimpleDateFormat(\"yyyy\").format(date);",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.text.SimpleDateFormat;",
+                        "import java.util.Date;",
+                        "class Test {",
+                        "  private static final ThreadLocal<SimpleDateFormat> SIMPLE_DATE_FORMAT =",
+                        "      ThreadLocal.withInitial(() -> new SimpleDateFormat(\"yyyy\"));",
+                        "  String f(Date date) {",
+                        "    return SIMPLE_DATE_FORMAT.get().format(date);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void no_fix_for_factories_throwing_checked_exceptions() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.security.MessageDigest;",
+                        "import java.security.NoSuchAlgorithmException;",
+                        "class Test {",
+                        "  byte[] f(byte[] value) {",
+                        "    try {",
+                        "      // BUG: Diagnostic contains: MessageDigest is expensive to create",
+                        "      return MessageDigest.getInstance(\"SHA-256\").digest(value);",
+                        "    } catch (NoSuchAlgorithmException e) {",
+                        "      throw new IllegalStateException(e);",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.security.MessageDigest;",
+                        "import java.security.NoSuchAlgorithmException;",
+                        "class Test {",
+                        "  byte[] f(byte[] value) {",
+                        "    try {",
+                        "      return MessageDigest.getInstance(\"SHA-256\").digest(value);",
+                        "    } catch (NoSuchAlgorithmException e) {",
+                        "      throw new IllegalStateException(e);",
+                        "    }",
+                        "  }",
+                        "}")
+                .expectUnchanged()
+                .doTest();
+    }
+
+    @Test
+    void avoids_conflicting_names() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.regex.Pattern;",
+                        "class Test {",
+                        "  private final String PATTERN = \"a\";",
+                        "  boolean f(String value) {",
+                        "    return Pattern.compile(\"b\").matcher(value).matches();",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.regex.Pattern;",
+                        "class Test {",
+                        "  private static final Pattern PATTERN_2 = Pattern.compile(\"b\");",
+                        "  private final String PATTERN = \"a\";",
+                        "  boolean f(String value) {",
+                        "    return PATTERN_2.matcher(value).matches();",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void ignores_non_constant_arguments() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.regex.Pattern;",
+                        "class Test {",
+                        "  boolean f(String regex, String value) {",
+                        "    return Pattern.compile(regex).matcher(value).matches();",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void ignores_static_initializers() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.regex.Pattern;",
+                        "class Test {",
+                        "  private static final Pattern PATTERN = Pattern.compile(\"a\");",
+                        "  private static final Pattern OTHER;",
+                        "  static {",
+                        "    OTHER = Pattern.compile(\"b\");",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void ignores_configured_object_mapper() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import com.fasterxml.jackson.databind.ObjectMapper;",
+                        "class Test {",
+                        "  String f(Object value) throws Exception {",
+                        "    ObjectMapper mapper = new ObjectMapper();",
+                        "    mapper.setSerializationInclusion(null);",
+                        "    return new ObjectMapper().setSerializationInclusion(null).writeValueAsString(value);",
+                        "  }",
+                        "  String g(Object value) throws Exception {",
+                        "    // BUG: Diagnostic contains: ObjectMapper is expensive to create",
+                        "    return new ObjectMapper().writeValueAsString(value);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private RefactoringValidator fix() {
+        return RefactoringValidator.of(ExpensiveFactoryInMethodBody.class, getClass());
+    }
+
+    private CompilationTestHelper helper() {
+        return CompilationTestHelper.newInstance(ExpensiveFactoryInMethodBody.class, getClass());
+    }
+}
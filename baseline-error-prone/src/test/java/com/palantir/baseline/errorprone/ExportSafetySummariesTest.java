@@ -0,0 +1,87 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import java.io.File;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public final class ExportSafetySummariesTest {
+
+    @Test
+    public void never_reports_findings() {
+        getCompilationHelper()
+                .addSourceLines(
+                        "Test.java",
+                        "import com.palantir.logsafe.*;",
+                        "public final class Test {",
+                        "  @Safe private final String safeField = \"\";",
+                        "  public String safe() {",
+                        "    return safeField;",
+                        "  }",
+                        "  public static String unsafe(@Unsafe String value) {",
+                        "    return value;",
+                        "  }",
+                        "  public void empty() {}",
+                        "  static final class Nested {",
+                        "    String constant() {",
+                        "      return \"constant\";",
+                        "    }",
+                        "  }",
+                        "}")
+                .expectNoDiagnostics()
+                .doTest();
+    }
+
+    @Test
+    public void summaries_are_read_by_consumers(@TempDir Path classes) {
+        CompilationTestHelper.newInstance(ExportSafetySummaries.class, getClass())
+                .setArgs("-XepOpt:" + ExportSafetySummaries.ENABLED_FLAG + "=true", "-d", classes.toString())
+                .addSourceLines(
+                        "lib/Library.java",
+                        "package lib;",
+                        "import com.palantir.logsafe.*;",
+                        "public final class Library {",
+                        "  @DoNotLog private static final String SECRET = \"secret\";",
+                        "  public static String secret() {",
+                        "    return SECRET;",
+                        "  }",
+                        "}")
+                .expectNoDiagnostics()
+                .doTest();
+        CompilationTestHelper.newInstance(IllegalSafeLoggingArgument.class, getClass())
+                .setArgs("-cp", classes + File.pathSeparator + System.getProperty("java.class.path"))
+                .addSourceLines(
+                        "Test.java",
+                        "import com.palantir.logsafe.*;",
+                        "import lib.Library;",
+                        "class Test {",
+                        "  void f() {",
+                        "    // BUG: Diagnostic contains: Dangerous argument value: arg is 'DO_NOT_LOG'",
+                        "    SafeArg.of(\"secret\", Library.secret());",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private CompilationTestHelper getCompilationHelper() {
+        return CompilationTestHelper.newInstance(ExportSafetySummaries.class, getClass())
+                .setArgs("-XepOpt:" + ExportSafetySummaries.ENABLED_FLAG + "=true");
+    }
+}
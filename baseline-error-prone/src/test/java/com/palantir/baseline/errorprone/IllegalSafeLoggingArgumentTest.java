@@ -17,6 +17,7 @@
 package com.palantir.baseline.errorprone;
 
 import com.google.errorprone.CompilationTestHelper;
+import com.palantir.baseline.errorprone.safety.SafetyAnalysis;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
@@ -2121,6 +2122,40 @@ class IllegalSafeLoggingArgumentTest {
                 .doTest();
     }
 
+    @Test
+    public void testAnalysisBudgetExceeded() {
+        helper().setArgs("-XepOpt:" + SafetyAnalysis.MAX_NODE_VISITS_FLAG + "=1")
+                .addSourceLines(
+                        "Test.java",
+                        "import com.palantir.logsafe.*;",
+                        "class Test {",
+                        "  void f(@Unsafe String unsafeParam) {",
+                        "    String local = unsafeParam;",
+                        "    // Results are unknown once the budget is exceeded",
+                        "    fun(local);",
+                        "  }",
+                        "  private static void fun(@Safe Object obj) {}",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    public void testAnalysisStatisticsLogged() {
+        helper().setArgs("-XepOpt:" + SafetyAnalysis.LOG_STATISTICS_FLAG + "=true")
+                .addSourceLines(
+                        "Test.java",
+                        "import com.palantir.logsafe.*;",
+                        "class Test {",
+                        "  void f(@Unsafe String unsafeParam) {",
+                        "    String local = unsafeParam;",
+                        "    // BUG: Diagnostic contains: Dangerous argument value: arg is 'UNSAFE'",
+                        "    fun(local);",
+                        "  }",
+                        "  private static void fun(@Safe Object obj) {}",
+                        "}")
+                .doTest();
+    }
+
     private CompilationTestHelper helper() {
         return CompilationTestHelper.newInstance(IllegalSafeLoggingArgument.class, getClass());
     }
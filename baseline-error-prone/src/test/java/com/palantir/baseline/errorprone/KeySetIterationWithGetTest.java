@@ -0,0 +1,248 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class KeySetIterationWithGetTest {
+
+    @Test
+    void map_key_set_with_get() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  int f(Map<String, Integer> map) {",
+                        "    int total = 0;",
+                        "    for (String key : map.keySet()) {",
+                        "      total += map.get(key);",
+                        "    }",
+                        "    return total;",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  int f(Map<String, Integer> map) {",
+                        "    int total = 0;",
+                        "    for (Map.Entry<String, Integer> entry : map.entrySet()) {",
+                        "      total += entry.getValue();",
+                        "    }",
+                        "    return total;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void key_used_in_body() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, Integer> map) {",
+                        "    for (String key : map.keySet()) {",
+                        "      System.out.println(key + \"=\" + map.get(key));",
+                        "    }",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, Integer> map) {",
+                        "    for (Map.Entry<String, Integer> entry : map.entrySet()) {",
+                        "      String key = entry.getKey();",
+                        "      System.out.println(key + \"=\" + entry.getValue());",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void entry_name_avoids_declared_variables() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  int f(Map<String, Integer> map, String entry) {",
+                        "    int total = entry.length();",
+                        "    for (String key : map.keySet()) {",
+                        "      total += map.get(key);",
+                        "    }",
+                        "    return total;",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  int f(Map<String, Integer> map, String entry) {",
+                        "    int total = entry.length();",
+                        "    for (Map.Entry<String, Integer> entry2 : map.entrySet()) {",
+                        "      total += entry2.getValue();",
+                        "    }",
+                        "    return total;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void multimap_key_set_with_get() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import com.google.common.collect.ListMultimap;",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  void f(ListMultimap<String, Integer> multimap) {",
+                        "    for (String key : multimap.keySet()) {",
+                        "      List<Integer> values = multimap.get(key);",
+                        "      System.out.println(values.get(0));",
+                        "    }",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import com.google.common.collect.ListMultimap;",
+                        "import com.google.common.collect.Multimaps;",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(ListMultimap<String, Integer> multimap) {",
+                        "    for (Map.Entry<String, List<Integer>> entry : Multimaps.asMap(multimap).entrySet()) {",
+                        "      List<Integer> values = entry.getValue();",
+                        "      System.out.println(values.get(0));",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void immutable_multimap_uses_as_map_value_type() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import com.google.common.collect.ImmutableListMultimap;",
+                        "import com.google.common.collect.TreeMultimap;",
+                        "class Test {",
+                        "  void f(ImmutableListMultimap<String, Integer> list, TreeMultimap<String, Integer> sorted) {",
+                        "    for (String key : list.keySet()) {",
+                        "      System.out.println(list.get(key).size());",
+                        "    }",
+                        "    for (String key : sorted.keySet()) {",
+                        "      System.out.println(sorted.get(key).first());",
+                        "    }",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import com.google.common.collect.ImmutableListMultimap;",
+                        "import com.google.common.collect.Multimaps;",
+                        "import com.google.common.collect.TreeMultimap;",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "import java.util.SortedSet;",
+                        "class Test {",
+                        "  void f(ImmutableListMultimap<String, Integer> list, TreeMultimap<String, Integer> sorted) {",
+                        "    for (Map.Entry<String, List<Integer>> entry : Multimaps.asMap(list).entrySet()) {",
+                        "      System.out.println(entry.getValue().size());",
+                        "    }",
+                        "    for (Map.Entry<String, SortedSet<Integer>> entry : Multimaps.asMap(sorted).entrySet()) {",
+                        "      System.out.println(entry.getValue().first());",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void no_fix_when_immutable_value_required() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import com.google.common.collect.ImmutableSet;",
+                        "import com.google.common.collect.ImmutableSetMultimap;",
+                        "class Test {",
+                        "  void f(ImmutableSetMultimap<String, Integer> multimap) {",
+                        "    for (String key : multimap.keySet()) {",
+                        "      ImmutableSet<Integer> values = multimap.get(key);",
+                        "      System.out.println(values.asList());",
+                        "    }",
+                        "  }",
+                        "}")
+                .expectUnchanged()
+                .doTest();
+    }
+
+    @Test
+    void no_fix_when_map_modified() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, Integer> map) {",
+                        "    for (String key : map.keySet()) {",
+                        "      map.put(key, map.get(key) + 1);",
+                        "    }",
+                        "  }",
+                        "}")
+                .expectUnchanged()
+                .doTest();
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, Integer> map) {",
+                        "    // BUG: Diagnostic contains: Prefer iterating over entrySet()",
+                        "    for (String key : map.keySet()) {",
+                        "      map.put(key, map.get(key) + 1);",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void ignores_other_lookups() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.Map;",
+                        "class Test {",
+                        "  void f(Map<String, Integer> map, Map<String, Integer> other) {",
+                        "    for (String key : map.keySet()) {",
+                        "      System.out.println(other.get(key));",
+                        "    }",
+                        "    for (String key : map.keySet()) {",
+                        "      key = key.trim();",
+                        "      System.out.println(map.get(key));",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private RefactoringValidator fix() {
+        return RefactoringValidator.of(KeySetIterationWithGet.class, getClass());
+    }
+
+    private CompilationTestHelper helper() {
+        return CompilationTestHelper.newInstance(KeySetIterationWithGet.class, getClass());
+    }
+}
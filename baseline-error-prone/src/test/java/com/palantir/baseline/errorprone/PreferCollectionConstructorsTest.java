@@ -221,6 +221,14 @@ public final class PreferCollectionConstructorsTest {
                 "Maps.<String, Integer>newTreeMap()", "new TreeMap<String, Integer>()", "java.util.TreeMap");
     }
 
+    @Test
+    public void testEnumKeyedHashMapRewrite() {
+        testStaticFactoryMethodRewrite(
+                "java.util.Map<java.util.concurrent.TimeUnit, String> map = Maps.newHashMap()",
+                "java.util.Map<java.util.concurrent.TimeUnit, String> map = new HashMap<>()",
+                "java.util.HashMap");
+    }
+
     @Test
     public void testWithVarargRewrite() {
         testStaticFactoryMethodRewrite(
@@ -0,0 +1,144 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class PreferEnumCollectionsTest {
+
+    @Test
+    void reports_constructors() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.HashMap;",
+                        "import java.util.HashSet;",
+                        "import java.util.Map;",
+                        "import java.util.Set;",
+                        "import java.util.concurrent.TimeUnit;",
+                        "class Test {",
+                        "  // BUG: Diagnostic contains: Maps with enum keys should use EnumMap",
+                        "  private final Map<TimeUnit, String> names = new HashMap<>();",
+                        "  // BUG: Diagnostic contains: Maps with enum keys should use EnumMap",
+                        "  private final HashMap<TimeUnit, String> hashNames = new HashMap<>();",
+                        "  Set<TimeUnit> f() {",
+                        "    // BUG: Diagnostic contains: Maps with enum keys should use EnumMap",
+                        "    Map<TimeUnit, Integer> counts = new HashMap<TimeUnit, Integer>(16);",
+                        "    // BUG: Diagnostic contains: Sets of enums should use EnumSet",
+                        "    return new HashSet<>();",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void reports_guava_factories() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import com.google.common.collect.Maps;",
+                        "import com.google.common.collect.Sets;",
+                        "import java.util.Map;",
+                        "import java.util.Set;",
+                        "import java.util.concurrent.TimeUnit;",
+                        "class Test {",
+                        "  void f(int size) {",
+                        "    // BUG: Diagnostic contains: Maps with enum keys should use EnumMap",
+                        "    Map<TimeUnit, String> map = Maps.newHashMap();",
+                        "    // BUG: Diagnostic contains: Sets of enums should use EnumSet",
+                        "    Set<TimeUnit> set = Sets.newHashSetWithExpectedSize(size);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void reports_collectors() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "import java.util.Set;",
+                        "import java.util.concurrent.TimeUnit;",
+                        "import java.util.function.Function;",
+                        "import java.util.stream.Collectors;",
+                        "class Test {",
+                        "  Set<TimeUnit> f(List<TimeUnit> units) {",
+                        "    // BUG: Diagnostic contains: Sets of enums should use EnumSet",
+                        "    return units.stream().collect(Collectors.toSet());",
+                        "  }",
+                        "  Map<TimeUnit, String> g(List<TimeUnit> units) {",
+                        "    return units.stream()",
+                        "        // BUG: Diagnostic contains: Maps with enum keys should use EnumMap",
+                        "        .collect(Collectors.toMap(Function.identity(), TimeUnit::name, (a, b) -> a));",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void does_not_fix_collections_which_may_hold_null() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.HashMap;",
+                        "import java.util.Map;",
+                        "import java.util.concurrent.TimeUnit;",
+                        "class Test {",
+                        "  Map<TimeUnit, String> f() {",
+                        "    Map<TimeUnit, String> names = new HashMap<>();",
+                        "    names.put(null, \"none\");",
+                        "    return names;",
+                        "  }",
+                        "}")
+                .expectUnchanged()
+                .doTest();
+    }
+
+    @Test
+    void ignores_other_collections() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.HashMap;",
+                        "import java.util.LinkedHashMap;",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "import java.util.Set;",
+                        "import java.util.concurrent.TimeUnit;",
+                        "import java.util.function.Function;",
+                        "import java.util.stream.Collectors;",
+                        "class Test {",
+                        "  <E extends Enum<E>> void f(List<TimeUnit> units, Map<TimeUnit, String> existing) {",
+                        "    Map<String, TimeUnit> byName = new HashMap<>();",
+                        "    Map<TimeUnit, String> ordered = new LinkedHashMap<>();",
+                        "    Map<TimeUnit, String> copy = new HashMap<>(existing);",
+                        "    Map<E, String> generic = new HashMap<>();",
+                        "    Map<TimeUnit, String> unique = units.stream()",
+                        "        .collect(Collectors.toMap(Function.identity(), TimeUnit::name));",
+                        "    Map<Boolean, Set<TimeUnit>> grouped = units.stream()",
+                        "        .collect(Collectors.groupingBy(unit -> unit.ordinal() > 2, Collectors.toSet()));",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private RefactoringValidator fix() {
+        return RefactoringValidator.of(PreferEnumCollections.class, getClass());
+    }
+
+    private CompilationTestHelper helper() {
+        return CompilationTestHelper.newInstance(PreferEnumCollections.class, getClass());
+    }
+}
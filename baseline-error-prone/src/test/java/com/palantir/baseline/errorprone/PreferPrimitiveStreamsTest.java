@@ -0,0 +1,173 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class PreferPrimitiveStreamsTest {
+
+    @Test
+    void replaces_reductions() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.Comparator;",
+                        "import java.util.List;",
+                        "import java.util.stream.Collectors;",
+                        "class Test {",
+                        "  void f(List<String> values) {",
+                        "    int a = values.stream().map(String::length).reduce(0, Integer::sum);",
+                        "    long b = values.stream().map(v -> (long) v.length())",
+                        "        .collect(Collectors.summingLong(x -> x));",
+                        "    double c = values.stream().map(String::length)",
+                        "        .collect(Collectors.averagingInt(Integer::intValue));",
+                        "    int d = values.stream().map(String::length).max(Comparator.naturalOrder()).get();",
+                        "    int e = values.stream().map(String::length).min(Integer::compare).orElse(0);",
+                        "    int g = values.stream().map(String::length).mapToInt(Integer::intValue).sum();",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.Comparator;",
+                        "import java.util.List;",
+                        "import java.util.stream.Collectors;",
+                        "class Test {",
+                        "  void f(List<String> values) {",
+                        "    int a = values.stream().mapToInt(String::length).sum();",
+                        "    long b = values.stream().mapToLong(v -> (long) v.length()).sum();",
+                        "    double c = values.stream().mapToInt(String::length).average().orElse(0);",
+                        "    int d = values.stream().mapToInt(String::length).max().getAsInt();",
+                        "    int e = values.stream().mapToInt(String::length).min().orElse(0);",
+                        "    int g = values.stream().mapToInt(String::length).sum();",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void boxes_sorted_primitive_stream() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.stream.Collectors;",
+                        "class Test {",
+                        "  List<Long> f(List<String> values) {",
+                        "    return values.stream().map(Long::parseLong).sorted().collect(Collectors.toList());",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.stream.Collectors;",
+                        "class Test {",
+                        "  List<Long> f(List<String> values) {",
+                        "    return values.stream().mapToLong(Long::parseLong).sorted().boxed()"
+                                + ".collect(Collectors.toList());",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void reports_without_fix_when_result_differs() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.Comparator;",
+                        "import java.util.List;",
+                        "import java.util.Optional;",
+                        "class Test {",
+                        "  void f(List<String> values) {",
+                        "    // BUG: Diagnostic contains: boxes every element of a Stream<Double>",
+                        "    double a = values.stream().map(Double::parseDouble).reduce(0.0, Double::sum);",
+                        "    // BUG: Diagnostic contains: boxes every element of a Stream<Integer>",
+                        "    Optional<Integer> b = values.stream().map(String::length).max(Comparator.naturalOrder());",
+                        "    // BUG: Diagnostic contains: boxes every element of a Stream<Integer>",
+                        "    String c = values.stream().map(String::length).reduce(0, Integer::sum).toString();",
+                        "  }",
+                        "}")
+                .doTest();
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.Comparator;",
+                        "import java.util.List;",
+                        "import java.util.Optional;",
+                        "class Test {",
+                        "  void f(List<String> values) {",
+                        "    double a = values.stream().map(Double::parseDouble).reduce(0.0, Double::sum);",
+                        "    Optional<Integer> b = values.stream().map(String::length).max(Comparator.naturalOrder());",
+                        "    String c = values.stream().map(String::length).reduce(0, Integer::sum).toString();",
+                        "  }",
+                        "}")
+                .expectUnchanged()
+                .doTest();
+    }
+
+    @Test
+    void reports_without_fix_for_function_variables() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.function.Function;",
+                        "class Test {",
+                        "  int f(List<String> values, Function<String, Integer> f) {",
+                        "    // BUG: Diagnostic contains: boxes every element of a Stream<Integer>",
+                        "    return values.stream().map(f).reduce(0, Integer::sum);",
+                        "  }",
+                        "}")
+                .doTest();
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.function.Function;",
+                        "class Test {",
+                        "  int f(List<String> values, Function<String, Integer> f) {",
+                        "    return values.stream().map(f).reduce(0, Integer::sum);",
+                        "  }",
+                        "}")
+                .expectUnchanged()
+                .doTest();
+    }
+
+    @Test
+    void ignores_other_operations() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.Comparator;",
+                        "import java.util.List;",
+                        "import java.util.stream.Collectors;",
+                        "class Test {",
+                        "  void f(List<String> values, List<Integer> numbers) {",
+                        "    int a = numbers.stream().reduce(0, Integer::sum);",
+                        "    int b = values.stream().map(String::length).reduce(1, (x, y) -> x * y);",
+                        "    String c = values.stream().map(String::trim).max(Comparator.naturalOrder()).get();",
+                        "    int d = values.stream().map(String::length).max(Comparator.reverseOrder()).get();",
+                        "    int e = values.stream().collect(Collectors.summingInt(String::length));",
+                        "    List<Integer> g = values.stream().map(String::length).distinct()"
+                                + ".collect(Collectors.toList());",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private RefactoringValidator fix() {
+        return RefactoringValidator.of(PreferPrimitiveStreams.class, getClass());
+    }
+
+    private CompilationTestHelper helper() {
+        return CompilationTestHelper.newInstance(PreferPrimitiveStreams.class, getClass());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class PresizeCollectionFromKnownSizeTest {
+
+    @Test
+    void presizes_list_from_collection() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.ArrayList;",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  List<Integer> f(List<String> values) {",
+                        "    List<Integer> lengths = new ArrayList<>();",
+                        "    for (String value : values) {",
+                        "      String trimmed = value.trim();",
+                        "      lengths.add(trimmed.length());",
+                        "    }",
+                        "    return lengths;",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.ArrayList;",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  List<Integer> f(List<String> values) {",
+                        "    List<Integer> lengths = new ArrayList<>(values.size());",
+                        "    for (String value : values) {",
+                        "      String trimmed = value.trim();",
+                        "      lengths.add(trimmed.length());",
+                        "    }",
+                        "    return lengths;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void presizes_hash_collections() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.HashMap;",
+                        "import java.util.LinkedHashSet;",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "import java.util.Set;",
+                        "class Test {",
+                        "  Map<String, Integer> f(String[] values) {",
+                        "    Map<String, Integer> map = new HashMap<String, Integer>();",
+                        "    for (String value : values) map.put(value, value.length());",
+                        "    return map;",
+                        "  }",
+                        "  Set<String> g(List<String> values) {",
+                        "    Set<String> set = new LinkedHashSet<>();",
+                        "    for (int i = 0; i < values.size(); i++) {",
+                        "      set.add(values.get(i));",
+                        "    }",
+                        "    return set;",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import com.google.common.collect.Maps;",
+                        "import com.google.common.collect.Sets;",
+                        "import java.util.HashMap;",
+                        "import java.util.LinkedHashSet;",
+                        "import java.util.List;",
+                        "import java.util.Map;",
+                        "import java.util.Set;",
+                        "class Test {",
+                        "  Map<String, Integer> f(String[] values) {",
+                        "    Map<String, Integer> map =",
+                        "        Maps.<String, Integer>newHashMapWithExpectedSize(values.length);",
+                        "    for (String value : values) map.put(value, value.length());",
+                        "    return map;",
+                        "  }",
+                        "  Set<String> g(List<String> values) {",
+                        "    Set<String> set = Sets.newLinkedHashSetWithExpectedSize(values.size());",
+                        "    for (int i = 0; i < values.size(); i++) {",
+                        "      set.add(values.get(i));",
+                        "    }",
+                        "    return set;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void ignores_conditional_or_unknown_additions() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.ArrayList;",
+                        "import java.util.Iterator;",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  void f(List<String> values, Iterable<String> iterable) {",
+                        "    List<String> filtered = new ArrayList<>();",
+                        "    for (String value : values) {",
+                        "      if (!value.isEmpty()) {",
+                        "        filtered.add(value);",
+                        "      }",
+                        "    }",
+                        "    List<String> firstFew = new ArrayList<>();",
+                        "    for (String value : values) {",
+                        "      if (firstFew.size() > 3) {",
+                        "        break;",
+                        "      }",
+                        "      firstFew.add(value);",
+                        "    }",
+                        "    List<String> unsized = new ArrayList<>();",
+                        "    for (String value : iterable) {",
+                        "      unsized.add(value);",
+                        "    }",
+                        "    List<String> doubled = new ArrayList<>();",
+                        "    for (String value : values) {",
+                        "      doubled.add(value);",
+                        "      doubled.add(value);",
+                        "    }",
+                        "    List<String> separated = new ArrayList<>();",
+                        "    System.out.println(separated);",
+                        "    for (String value : values) {",
+                        "      separated.add(value);",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private RefactoringValidator fix() {
+        return RefactoringValidator.of(PresizeCollectionFromKnownSize.class, getClass());
+    }
+
+    private CompilationTestHelper helper() {
+        return CompilationTestHelper.newInstance(PresizeCollectionFromKnownSize.class, getClass());
+    }
+}
@@ -324,6 +324,29 @@ public class PreventTokenLoggingTests {
         passLogSafe("UnsafeArg.of(name, null);");
     }
 
+    @Test
+    public void testSlf4jTokenReturnedByGetterWithoutImport() {
+        compilationHelper
+                .addSourceLines(
+                        "Request.java",
+                        "import com.palantir.tokens.auth.BearerToken;",
+                        "interface Request {",
+                        "  BearerToken getToken();",
+                        "}")
+                .addSourceLines(
+                        "Test.java",
+                        "import org.slf4j.Logger;",
+                        "import org.slf4j.LoggerFactory;",
+                        "class Test {",
+                        "  private static final Logger log = LoggerFactory.getLogger(Test.class);",
+                        "  void f(Request request) {",
+                        "    // BUG: Diagnostic contains: not allowed to be logged",
+                        "    log.info(\"token\", request.getToken());",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
     private void passSlf4j(String statement) {
         compilationHelper
                 .addSourceLines(
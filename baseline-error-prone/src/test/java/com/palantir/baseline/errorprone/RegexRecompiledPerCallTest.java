@@ -0,0 +1,171 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class RegexRecompiledPerCallTest {
+
+    @Test
+    void literal_replace_all() {
+        fix().addInputLines(
+                        "Test.java",
+                        "class Test {",
+                        "  String f(String name) {",
+                        "    return name.replaceAll(\"/\", \".\").replaceAll(\"\\\\$\", \"\\\\\\\\\");",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "class Test {",
+                        "  String f(String name) {",
+                        "    return name.replace(\"/\", \".\").replace(\"$\", \"\\\\\");",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void literal_matches() {
+        fix().addInputLines(
+                        "Test.java",
+                        "class Test {",
+                        "  boolean f(String value) {",
+                        "    return value.matches(\"abc\");",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "class Test {",
+                        "  boolean f(String value) {",
+                        "    return value.equals(\"abc\");",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void hoists_regex() {
+        fix().addInputLines(
+                        "Test.java",
+                        "class Test {",
+                        "  String f(String name) {",
+                        "    return name.replaceAll(\"\\\\.class$\", \"\");",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.regex.Pattern;",
+                        "class Test {",
+                        "  private static final Pattern REPLACE_ALL_PATTERN = Pattern.compile(\"\\\\.class$\");",
+                        "  String f(String name) {",
+                        "    return REPLACE_ALL_PATTERN.matcher(name).replaceAll(\"\");",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void hoists_split() {
+        fix().addInputLines(
+                        "Test.java",
+                        "class Test {",
+                        "  String[] f(String value) {",
+                        "    return value.trim().split(\", \", 2);",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.regex.Pattern;",
+                        "class Test {",
+                        "  private static final Pattern SPLIT_PATTERN = Pattern.compile(\", \");",
+                        "  String[] f(String value) {",
+                        "    return SPLIT_PATTERN.split(value.trim(), 2);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void hoists_matches() {
+        fix().addInputLines(
+                        "Test.java",
+                        "class Test {",
+                        "  boolean f(String value) {",
+                        "    return value.matches(\"[a-z]+\");",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.regex.Pattern;",
+                        "class Test {",
+                        "  private static final Pattern MATCHES_PATTERN = Pattern.compile(\"[a-z]+\");",
+                        "  boolean f(String value) {",
+                        "    return MATCHES_PATTERN.matcher(value).matches();",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void reports_in_loops_and_lambdas() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.stream.Collectors;",
+                        "class Test {",
+                        "  void f(List<String> values) {",
+                        "    for (String value : values) {",
+                        "      // BUG: Diagnostic contains: Prefer a Pattern stored in a static field",
+                        "      value.replaceFirst(\"a+\", \"b\");",
+                        "    }",
+                        "  }",
+                        "  List<String> g(List<String> values) {",
+                        "    return values.stream()",
+                        "        // BUG: Diagnostic contains: Prefer String.replace",
+                        "        .map(value -> value.replaceAll(\"a\", \"b\"))",
+                        "        .collect(Collectors.toList());",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void ignores_fastpath_split_and_non_constant_regex() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "class Test {",
+                        "  private static final String[] PARTS = \"a.b\".split(\"\\\\.\", 2);",
+                        "  String[] f(String value, String regex) {",
+                        "    value.split(\",\");",
+                        "    value.split(\"\\\\|\");",
+                        "    value.replaceAll(regex, \"\");",
+                        "    return value.split(regex);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private RefactoringValidator fix() {
+        return RefactoringValidator.of(RegexRecompiledPerCall.class, getClass());
+    }
+
+    private CompilationTestHelper helper() {
+        return CompilationTestHelper.newInstance(RegexRecompiledPerCall.class, getClass());
+    }
+}
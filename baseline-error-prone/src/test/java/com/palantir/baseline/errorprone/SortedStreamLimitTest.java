@@ -0,0 +1,175 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class SortedStreamLimitTest {
+
+    @Test
+    void replaces_sorted_limit_collected_to_list() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.Comparator;",
+                        "import java.util.List;",
+                        "import java.util.stream.Collectors;",
+                        "import java.util.stream.Stream;",
+                        "class Test {",
+                        "  List<String> least(Stream<String> s) {",
+                        "    return s.sorted().limit(10).collect(Collectors.toList());",
+                        "  }",
+                        "  List<String> shortest(Stream<String> s, int k) {",
+                        "    return s.sorted(Comparator.comparing(String::length)).limit(k)"
+                                + ".collect(Collectors.toList());",
+                        "  }",
+                        "  List<String> greatest(Stream<String> s) {",
+                        "    return s.sorted(Comparator.reverseOrder()).limit(5L).collect(Collectors.toList());",
+                        "  }",
+                        "  List<String> longest(Stream<String> s) {",
+                        "    return s.sorted(Comparator.comparing(String::length).reversed()).limit(3)"
+                                + ".collect(Collectors.toList());",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import com.google.common.collect.Comparators;",
+                        "import java.util.Comparator;",
+                        "import java.util.List;",
+                        "import java.util.stream.Collectors;",
+                        "import java.util.stream.Stream;",
+                        "class Test {",
+                        "  List<String> least(Stream<String> s) {",
+                        "    return s.collect(Comparators.least(10, Comparator.naturalOrder()));",
+                        "  }",
+                        "  List<String> shortest(Stream<String> s, int k) {",
+                        "    return s.collect(Comparators.least(k, Comparator.comparing(String::length)));",
+                        "  }",
+                        "  List<String> greatest(Stream<String> s) {",
+                        "    return s.collect(Comparators.greatest(5, Comparator.naturalOrder()));",
+                        "  }",
+                        "  List<String> longest(Stream<String> s) {",
+                        "    return s.collect(Comparators.greatest(3, Comparator.comparing(String::length)));",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void reports_without_fix_when_not_collected() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.io.IOException;",
+                        "import java.nio.file.Files;",
+                        "import java.nio.file.Path;",
+                        "import java.util.Comparator;",
+                        "import java.util.List;",
+                        "import java.util.stream.Stream;",
+                        "class Test {",
+                        "  void f(List<Integer> values, Comparator<Integer> comparator, Path path)",
+                        "      throws IOException {",
+                        "    // BUG: Diagnostic contains: keep its first 3 elements",
+                        "    values.stream().sorted(comparator).limit(3).forEach(System.out::println);",
+                        "    // BUG: Diagnostic contains: keep its first 10 elements",
+                        "    try (Stream<String> lines = Files.lines(path).sorted().limit(10)) {",
+                        "      lines.forEach(System.out::println);",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.Comparator;",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  void f(List<Integer> values, Comparator<Integer> comparator) {",
+                        "    values.stream().sorted(comparator).limit(3).forEach(System.out::println);",
+                        "  }",
+                        "}")
+                .expectUnchanged()
+                .doTest();
+    }
+
+    @Test
+    void replaces_sub_list_of_sorted_list() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.Comparator;",
+                        "import java.util.List;",
+                        "import java.util.stream.Collectors;",
+                        "class Test {",
+                        "  List<String> f(List<String> values, int k) {",
+                        "    return values.stream().sorted(Comparator.comparing(String::length))"
+                                + ".collect(Collectors.toList()).subList(0, k);",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import com.google.common.collect.Comparators;",
+                        "import java.util.Comparator;",
+                        "import java.util.List;",
+                        "import java.util.stream.Collectors;",
+                        "class Test {",
+                        "  List<String> f(List<String> values, int k) {",
+                        "    return values.stream()",
+                        "        .collect(Comparators.least(k, Comparator.comparing(String::length)));",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void reports_without_fix_for_long_limit() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.stream.Collectors;",
+                        "import java.util.stream.Stream;",
+                        "class Test {",
+                        "  List<String> f(Stream<String> s, long k) {",
+                        "    // BUG: Diagnostic contains: keep its first k elements",
+                        "    return s.sorted().limit(k).collect(Collectors.toList());",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void ignores_unsorted_and_offset_selection() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.stream.Collectors;",
+                        "import java.util.stream.Stream;",
+                        "class Test {",
+                        "  void f(Stream<String> s, List<String> values) {",
+                        "    s.limit(10).sorted().collect(Collectors.toList());",
+                        "    values.stream().sorted().collect(Collectors.toList()).subList(1, 3);",
+                        "    values.stream().sorted().skip(1).limit(3).collect(Collectors.toList());",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private RefactoringValidator fix() {
+        return RefactoringValidator.of(SortedStreamLimit.class, getClass());
+    }
+
+    private CompilationTestHelper helper() {
+        return CompilationTestHelper.newInstance(SortedStreamLimit.class, getClass());
+    }
+}
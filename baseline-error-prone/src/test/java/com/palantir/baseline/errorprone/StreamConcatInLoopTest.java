@@ -0,0 +1,163 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class StreamConcatInLoopTest {
+
+    @Test
+    void replaces_declaration_preceding_loop() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.stream.Stream;",
+                        "class Test {",
+                        "  Stream<String> f(List<List<String>> groups) {",
+                        "    Stream<String> result = Stream.empty();",
+                        "    for (List<String> group : groups) {",
+                        "      result = Stream.concat(result, group.stream());",
+                        "    }",
+                        "    return result;",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.ArrayList;",
+                        "import java.util.List;",
+                        "import java.util.function.Function;",
+                        "import java.util.stream.Stream;",
+                        "class Test {",
+                        "  Stream<String> f(List<List<String>> groups) {",
+                        "    List<Stream<String>> resultParts = new ArrayList<>();",
+                        "    for (List<String> group : groups) {",
+                        "      resultParts.add(group.stream());",
+                        "    }",
+                        "    Stream<String> result = resultParts.stream().flatMap(Function.identity());",
+                        "    return result;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void wraps_loop_when_declared_elsewhere() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import com.google.common.collect.Streams;",
+                        "import java.util.stream.Stream;",
+                        "class Test {",
+                        "  Stream<Integer> f(Stream<Integer> values, int count) {",
+                        "    int i = 0;",
+                        "    while (i < count) {",
+                        "      values = Streams.concat(values, Stream.of(i++));",
+                        "    }",
+                        "    return values;",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import com.google.common.collect.Streams;",
+                        "import java.util.ArrayList;",
+                        "import java.util.List;",
+                        "import java.util.function.Function;",
+                        "import java.util.stream.Stream;",
+                        "class Test {",
+                        "  Stream<Integer> f(Stream<Integer> values, int count) {",
+                        "    int i = 0;",
+                        "    List<Stream<Integer>> valuesParts = new ArrayList<>();",
+                        "    valuesParts.add(values);",
+                        "    while (i < count) {",
+                        "      valuesParts.add(Stream.of(i++));",
+                        "    }",
+                        "    values = valuesParts.stream().flatMap(Function.identity());",
+                        "    return values;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void reports_without_fix_when_prepending_or_reading() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.stream.IntStream;",
+                        "import java.util.stream.Stream;",
+                        "class Test {",
+                        "  void f(List<String> values) {",
+                        "    Stream<String> prepended = Stream.empty();",
+                        "    IntStream lengths = IntStream.empty();",
+                        "    Stream<String> read = Stream.empty();",
+                        "    for (String value : values) {",
+                        "      // BUG: Diagnostic contains: Stream 'prepended' is concatenated in a loop",
+                        "      prepended = Stream.concat(Stream.of(value), prepended);",
+                        "      // BUG: Diagnostic contains: Stream 'lengths' is concatenated in a loop",
+                        "      lengths = IntStream.concat(lengths, IntStream.of(value.length()));",
+                        "      // BUG: Diagnostic contains: Stream 'read' is concatenated in a loop",
+                        "      read = Stream.concat(read, Stream.of(value));",
+                        "      read = read.filter(v -> !v.isEmpty());",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.stream.Stream;",
+                        "class Test {",
+                        "  Stream<String> f(List<String> values) {",
+                        "    Stream<String> prepended = Stream.empty();",
+                        "    for (String value : values) {",
+                        "      prepended = Stream.concat(Stream.of(value), prepended);",
+                        "    }",
+                        "    return prepended;",
+                        "  }",
+                        "}")
+                .expectUnchanged()
+                .doTest();
+    }
+
+    @Test
+    void ignores_concatenation_outside_loops() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "import java.util.stream.Stream;",
+                        "class Test {",
+                        "  void f(List<String> values, Stream<String> other) {",
+                        "    Stream<String> once = Stream.empty();",
+                        "    once = Stream.concat(once, other);",
+                        "    for (String value : values) {",
+                        "      Stream<String> local = Stream.of(value);",
+                        "      local = Stream.concat(local, Stream.of(value));",
+                        "      System.out.println(local.count() + once.count());",
+                        "    }",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private RefactoringValidator fix() {
+        return RefactoringValidator.of(StreamConcatInLoop.class, getClass());
+    }
+
+    private CompilationTestHelper helper() {
+        return CompilationTestHelper.newInstance(StreamConcatInLoop.class, getClass());
+    }
+}
@@ -395,4 +395,28 @@ public class StrictUnusedVariableTest {
                         "}")
                 .doTest();
     }
+
+    @Test
+    public void handles_usages_before_declaration() {
+        compilationHelper
+                .addSourceLines(
+                        "Test.java",
+                        "import java.util.function.Consumer;",
+                        "class Test {",
+                        "  Test() {",
+                        "    this.written = 1;",
+                        "  }",
+                        "  int read() {",
+                        "    return read;",
+                        "  }",
+                        "  Consumer<String> reference() {",
+                        "    return this::consume;",
+                        "  }",
+                        "  private final int read = 1;",
+                        "  // BUG: Diagnostic contains: Unused",
+                        "  private int written;",
+                        "  private void consume(String value) {}",
+                        "}")
+                .doTest();
+    }
 }
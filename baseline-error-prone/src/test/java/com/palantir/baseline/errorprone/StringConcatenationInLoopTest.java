@@ -0,0 +1,188 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class StringConcatenationInLoopTest {
+
+    @Test
+    void replaces_declaration_preceding_loop() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  String f(List<String> values) {",
+                        "    String result = \"\";",
+                        "    for (String value : values) {",
+                        "      result += value;",
+                        "      result = result + \", \" + value.length();",
+                        "    }",
+                        "    return result;",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  String f(List<String> values) {",
+                        "    StringBuilder resultBuilder = new StringBuilder();",
+                        "    for (String value : values) {",
+                        "      resultBuilder.append(value);",
+                        "      resultBuilder.append(\", \").append(value.length());",
+                        "    }",
+                        "    String result = resultBuilder.toString();",
+                        "    return result;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void wraps_loop_when_declared_elsewhere() {
+        fix().addInputLines(
+                        "Test.java",
+                        "class Test {",
+                        "  String f(String prefix, int count) {",
+                        "    int i = 0;",
+                        "    while (i < count) {",
+                        "      prefix += i++;",
+                        "    }",
+                        "    return prefix;",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "class Test {",
+                        "  String f(String prefix, int count) {",
+                        "    int i = 0;",
+                        "    StringBuilder prefixBuilder = new StringBuilder().append(prefix);",
+                        "    while (i < count) {",
+                        "      prefixBuilder.append(i++);",
+                        "    }",
+                        "    prefix = prefixBuilder.toString();",
+                        "    return prefix;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void reports_outermost_loop_once() {
+        fix().addInputLines(
+                        "Test.java",
+                        "class Test {",
+                        "  String f(int[][] rows) {",
+                        "    String result = \"[\";",
+                        "    for (int[] row : rows) {",
+                        "      for (int cell : row) {",
+                        "        result += cell + 1;",
+                        "      }",
+                        "      result += '\\n';",
+                        "    }",
+                        "    return result;",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "class Test {",
+                        "  String f(int[][] rows) {",
+                        "    StringBuilder resultBuilder = new StringBuilder(\"[\");",
+                        "    for (int[] row : rows) {",
+                        "      for (int cell : row) {",
+                        "        resultBuilder.append(cell + 1);",
+                        "      }",
+                        "      resultBuilder.append('\\n');",
+                        "    }",
+                        "    String result = resultBuilder.toString();",
+                        "    return result;",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    @Test
+    void no_fix_when_read_in_loop() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  String f(List<String> values) {",
+                        "    String result = \"\";",
+                        "    for (String value : values) {",
+                        "      // BUG: Diagnostic contains: String 'result' is built by concatenation in a loop",
+                        "      result += value;",
+                        "      if (result.length() > 100) {",
+                        "        break;",
+                        "      }",
+                        "    }",
+                        "    return result;",
+                        "  }",
+                        "}")
+                .doTest();
+        fix().addInputLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  String f(List<String> values) {",
+                        "    String result = \"\";",
+                        "    for (String value : values) {",
+                        "      result += value;",
+                        "      if (result.length() > 100) {",
+                        "        break;",
+                        "      }",
+                        "    }",
+                        "    return result;",
+                        "  }",
+                        "}")
+                .expectUnchanged()
+                .doTest();
+    }
+
+    @Test
+    void ignores_non_accumulating_assignments() {
+        helper().addSourceLines(
+                        "Test.java",
+                        "import java.util.List;",
+                        "class Test {",
+                        "  private String field = \"\";",
+                        "  void f(List<String> values) {",
+                        "    String last = \"\";",
+                        "    for (String value : values) {",
+                        "      String line = \"\";",
+                        "      line += value;",
+                        "      last = value + last.length();",
+                        "      field += value;",
+                        "      System.out.println(line + last);",
+                        "    }",
+                        "    String once = \"\";",
+                        "    once += values.size();",
+                        "    System.out.println(once);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
+    private RefactoringValidator fix() {
+        return RefactoringValidator.of(StringConcatenationInLoop.class, getClass());
+    }
+
+    private CompilationTestHelper helper() {
+        return CompilationTestHelper.newInstance(StringConcatenationInLoop.class, getClass());
+    }
+}
@@ -112,6 +112,29 @@ class ZeroWarmupRateLimiterTest {
                 .doTest();
     }
 
+    @Test
+    public void should_remove_duration_zero_static_import_create() {
+        fix().addInputLines(
+                        "Test.java",
+                        "import static com.google.common.util.concurrent.RateLimiter.create;",
+                        "import java.time.Duration;",
+                        "class Test {",
+                        "  void f() {",
+                        "    create(10, Duration.ZERO);",
+                        "  }",
+                        "}")
+                .addOutputLines(
+                        "Test.java",
+                        "import static com.google.common.util.concurrent.RateLimiter.create;",
+                        "import java.time.Duration;",
+                        "class Test {",
+                        "  void f() {",
+                        "    create(10);",
+                        "  }",
+                        "}")
+                .doTest();
+    }
+
     @Test
     public void should_not_modify_existing_uses() {
         fix().addInputLines(
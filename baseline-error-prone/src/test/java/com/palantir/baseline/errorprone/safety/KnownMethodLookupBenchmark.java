@@ -0,0 +1,136 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.errorprone.safety;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.scanner.ScannerSupplier;
+import com.palantir.baseline.errorprone.CheckCompileTimeBenchmark;
+import com.palantir.baseline.errorprone.safety.SafetyPropagationTransfer.KnownMethodRule;
+import com.palantir.baseline.errorprone.safety.SafetyPropagationTransfer.KnownMethodSafety;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.util.TreeScanner;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+/**
+ * Measures the lookup of well-known method safety rules, which are indexed by method name, against evaluating every
+ * rule for each invocation. The latter approximates the matcher chains the transfer function evaluated before the
+ * rules were indexed, which only stopped early for the few invocations of well-known methods. Every method invocation
+ * in the {@code checkBenchmark} corpus is looked up both ways, which also verifies that both find the same rule.
+ */
+@Tag("benchmark")
+public final class KnownMethodLookupBenchmark {
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 20;
+
+    private static final ImmutableSet<KnownMethodRule> ALL_RULES =
+            ImmutableSet.copyOf(SafetyPropagationTransfer.KNOWN_METHODS.values());
+
+    // Failures within the compiler are reported as diagnostics, so MISMATCHES are asserted once it completes
+    private static final List<String> MISMATCHES = new ArrayList<>();
+
+    private static long invocations;
+    private static long indexedNanos;
+    private static long unindexedNanos;
+    private static int sink;
+
+    @Test
+    void indexed_lookup_is_faster_than_evaluating_every_rule(TestReporter reporter) throws IOException {
+        CheckCompileTimeBenchmark.compile(
+                CheckCompileTimeBenchmark.corpus(), ScannerSupplier.fromBugCheckerClasses(LookupTimer.class));
+        long lookups = invocations * MEASUREMENT_ITERATIONS;
+        reporter.publishEntry(ImmutableMap.of(
+                "invocations", Long.toString(invocations),
+                "indexed ns/invocation", format((double) indexedNanos / lookups),
+                "unindexed ns/invocation", format((double) unindexedNanos / lookups),
+                "checksum", Integer.toString(sink)));
+        assertThat(MISMATCHES).isEmpty();
+        assertThat(invocations).isPositive();
+        assertThat(indexedNanos).isLessThan(unindexedNanos);
+    }
+
+    /** Returns the highest precedence rule matching the invocation, evaluating every rule regardless of name. */
+    @Nullable
+    private static KnownMethodSafety evaluateEveryRule(MethodInvocationTree tree, VisitorState state) {
+        KnownMethodSafety result = null;
+        for (KnownMethodRule rule : ALL_RULES) {
+            if (rule.matcher.matches(tree, state) && (result == null || rule.safety.compareTo(result) < 0)) {
+                result = rule.safety;
+            }
+        }
+        return result;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    @BugPattern(severity = BugPattern.SeverityLevel.SUGGESTION, summary = "Times known method safety lookups")
+    public static final class LookupTimer extends BugChecker implements BugChecker.CompilationUnitTreeMatcher {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Description matchCompilationUnit(CompilationUnitTree tree, VisitorState state) {
+            List<MethodInvocationTree> found = new ArrayList<>();
+            new TreeScanner<Void, Void>() {
+                @Override
+                public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                    found.add(node);
+                    return super.visitMethodInvocation(node, null);
+                }
+            }.scan(tree, null);
+            for (MethodInvocationTree invocation : found) {
+                KnownMethodSafety indexed = SafetyPropagationTransfer.getKnownMethod(invocation, state);
+                KnownMethodSafety unindexed = evaluateEveryRule(invocation, state);
+                if (indexed != unindexed) {
+                    MISMATCHES.add(invocation + ": indexed " + indexed + ", every rule " + unindexed);
+                }
+            }
+            for (int i = 0; i < WARMUP_ITERATIONS + MEASUREMENT_ITERATIONS; i++) {
+                long startNanos = System.nanoTime();
+                for (MethodInvocationTree invocation : found) {
+                    sink += Objects.hashCode(SafetyPropagationTransfer.getKnownMethod(invocation, state));
+                }
+                long indexedEndNanos = System.nanoTime();
+                for (MethodInvocationTree invocation : found) {
+                    sink += Objects.hashCode(evaluateEveryRule(invocation, state));
+                }
+                if (i >= WARMUP_ITERATIONS) {
+                    indexedNanos += indexedEndNanos - startNanos;
+                    unindexedNanos += System.nanoTime() - indexedEndNanos;
+                }
+            }
+            invocations += found.size();
+            return Description.NO_MATCH;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.palantir.baseline.extensions;
 import com.google.common.collect.ImmutableList;
 import org.gradle.api.Project;
 import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
 
 public class BaselineErrorProneExtension {
 
@@ -30,6 +31,7 @@ public class BaselineErrorProneExtension {
             // Baseline checks
             "AssertNoArgs",
             "AvoidNewHashMapInt",
+            "BoxedAccumulatorInLoop",
             "BugCheckerAutoService",
             "CatchBlockLogException",
             // TODO(ckozak): re-enable pending scala check
@@ -39,7 +41,9 @@ public class BaselineErrorProneExtension {
             "ConsistentLoggerName",
             "ConsistentOverrides",
             "DeprecatedGuavaObjects",
+            "DoubleMapLookup",
             "ExecutorSubmitRunnableFutureIgnored",
+            "ExpensiveFactoryInMethodBody",
             "ExtendsErrorOrThrowable",
             "FinalClass",
             "IllegalSafeLoggingArgument",
@@ -48,6 +52,7 @@ public class BaselineErrorProneExtension {
             "ImplicitPublicBuilderConstructor",
             "JavaTimeDefaultTimeZone",
             "JavaTimeSystemDefaultTimeZone",
+            "KeySetIterationWithGet",
             "LambdaMethodReference",
             "LoggerEnclosingClass",
             "LogsafeArgName",
@@ -63,14 +68,17 @@ public class BaselineErrorProneExtension {
             "PreferSafeLogger",
             "PreferSafeLoggingPreconditions",
             "PreferStaticLoggers",
+            "PresizeCollectionFromKnownSize",
             "ProxyNonConstantType",
             "ReadReturnValueIgnored",
             "RedundantMethodReference",
             "RedundantModifier",
+            "RegexRecompiledPerCall",
             "SafeLoggingPropagation",
             "Slf4jLevelCheck",
             "Slf4jLogsafeArgs",
             "Slf4jThrowable",
+            "StreamConcatInLoop",
             "StreamOfEmpty",
             "StrictUnusedVariable",
             "StringBuilderConstantParameters",
@@ -98,13 +106,36 @@ public class BaselineErrorProneExtension {
             "ZoneIdOfZ");
 
     private final ListProperty<String> patchChecks;
+    private final Property<Boolean> analyzeInSeparateTask;
+    private final Property<Boolean> exportSafetySummaries;
 
     public BaselineErrorProneExtension(Project project) {
         patchChecks = project.getObjects().listProperty(String.class);
         patchChecks.set(DEFAULT_PATCH_CHECKS);
+        analyzeInSeparateTask = project.getObjects().property(Boolean.class);
+        analyzeInSeparateTask.set(false);
+        exportSafetySummaries = project.getObjects().property(Boolean.class);
+        exportSafetySummaries.set(false);
     }
 
     public final ListProperty<String> getPatchChecks() {
         return patchChecks;
     }
+
+    /**
+     * When enabled, source sets are compiled without error-prone so that downstream projects do not wait on analysis.
+     * Analysis instead runs in a separate {@code errorProneCheck} task per source set which {@code check} depends on.
+     */
+    public final Property<Boolean> getAnalyzeInSeparateTask() {
+        return analyzeInSeparateTask;
+    }
+
+    /**
+     * When enabled, the inferred safety of unannotated methods is written to {@code META-INF/baseline/safety-summaries}
+     * so that the safe-logging checks of consumers can use it. The summaries are written to the classes directory, or
+     * when analysis runs in a separate task, are only added to the jar, which then depends on {@code errorProneCheck}.
+     */
+    public final Property<Boolean> getExportSafetySummaries() {
+        return exportSafetySummaries;
+    }
 }
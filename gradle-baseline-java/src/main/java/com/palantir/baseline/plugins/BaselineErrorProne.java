@@ -23,34 +23,60 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.MoreCollectors;
 import com.palantir.baseline.extensions.BaselineErrorProneExtension;
+import com.palantir.baseline.services.GitChangedFiles;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import net.ltgt.gradle.errorprone.CheckSeverity;
 import net.ltgt.gradle.errorprone.ErrorProneOptions;
 import net.ltgt.gradle.errorprone.ErrorPronePlugin;
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.api.plugins.ExtensionAware;
+import org.gradle.api.plugins.JavaBasePlugin;
 import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.api.tasks.compile.ForkOptions;
 import org.gradle.api.tasks.compile.JavaCompile;
+import org.gradle.jvm.tasks.Jar;
 import org.gradle.process.CommandLineArgumentProvider;
 
 public final class BaselineErrorProne implements Plugin<Project> {
     private static final Logger log = Logging.getLogger(BaselineErrorProne.class);
     public static final String EXTENSION_NAME = "baselineErrorProne";
     private static final String PROP_ERROR_PRONE_APPLY = "errorProneApply";
+    private static final String PROP_ERROR_PRONE_APPLY_SCOPE = "errorProneApplyScope";
+    private static final String APPLY_SCOPE_CHANGED = "changed";
+    private static final String APPLY_SCOPE_SINCE_PREFIX = "since=";
     private static final String DISABLE_PROPERTY = "com.palantir.baseline-error-prone.disable";
+    private static final String LOCAL_MODE_PROPERTY = "com.palantir.baseline-error-prone.local";
+    private static final String ERROR_PRONE_CHECK_TASK_VERB = "errorProneCheck";
+    // Error-prone runs once flow analysis has completed, so there's no need to generate class files
+    private static final String STOP_AFTER_FLOW_ARG = "-XDshould-stop.ifNoError=FLOW";
+    private static final String EXPORT_SAFETY_SUMMARIES_FLAG = "ExportSafetySummaries:Enabled";
+    // Must match SafetySummaries.RESOURCE_DIRECTORY in baseline-error-prone
+    private static final String SAFETY_SUMMARIES_DIRECTORY = "META-INF/baseline/safety-summaries";
 
     @Override
     public void apply(Project project) {
@@ -86,19 +112,39 @@ public final class BaselineErrorProne implements Plugin<Project> {
         // these compiler flags after all configuration has happened.
         project.afterEvaluate(
                 unused -> project.getTasks().withType(JavaCompile.class).configureEach(javaCompile -> {
-                    if (isErrorProneRefactoring(project)) {
-                        javaCompile.getOptions().setWarnings(false);
-                        javaCompile.getOptions().setDeprecation(false);
-                        javaCompile
-                                .getOptions()
-                                .setCompilerArgs(javaCompile.getOptions().getCompilerArgs().stream()
-                                        .filter(arg -> !arg.equals("-Werror"))
-                                        .filter(arg -> !arg.equals("-deprecation"))
-                                        .filter(arg -> !arg.equals("-Xlint:deprecation"))
-                                        .collect(Collectors.toList()));
+                    if (isErrorProneRefactoring(project) && !getErrorProneApplyChangedFiles(project).isPresent()) {
+                        removeRefactoringIncompatibleFlags(javaCompile);
                     }
                 }));
 
+        // Whether a task has changed sources is only known once git has run, so scoped refactoring removes the flags
+        // when the task executes. Tasks without changed sources keep their flags, so that they remain up-to-date or are
+        // loaded from the build cache. The action is added to every task because task actions are inputs.
+        project.getTasks().withType(JavaCompile.class).configureEach(javaCompile -> {
+            javaCompile.doFirst(new Action<Task>() {
+                @Override
+                public void execute(Task task) {
+                    if (!isErrorProneRefactoring(project)) {
+                        return;
+                    }
+                    getErrorProneApplyChangedFiles(project)
+                            .filter(changedFiles -> hasChangedSources(javaCompile, changedFiles))
+                            .ifPresent(changedFiles -> removeRefactoringIncompatibleFlags(javaCompile));
+                }
+            });
+        });
+
+        project.afterEvaluate(unused -> {
+            if (errorProneExtension.getAnalyzeInSeparateTask().get()
+                    && !isErrorProneRefactoring(project)
+                    && !isDisabled(project)) {
+                project.getExtensions()
+                        .getByType(JavaPluginExtension.class)
+                        .getSourceSets()
+                        .all(sourceSet -> configureErrorProneCheckTask(project, errorProneExtension, sourceSet));
+            }
+        });
+
         project.getPluginManager().withPlugin("java-gradle-plugin", appliedPlugin -> {
             project.getTasks().withType(JavaCompile.class).configureEach(javaCompile -> ((ExtensionAware)
                             javaCompile.getOptions())
@@ -129,6 +175,116 @@ public final class BaselineErrorProne implements Plugin<Project> {
         });
     }
 
+    /**
+     * Compiles the source set without error-prone so its classes are available to consumers immediately, and
+     * registers an {@code errorProneCheck} task which runs the analysis over the same sources and classpath.
+     */
+    private static void configureErrorProneCheckTask(
+            Project project, BaselineErrorProneExtension errorProneExtension, SourceSet sourceSet) {
+        TaskProvider<JavaCompile> compileTask =
+                project.getTasks().named(sourceSet.getCompileJavaTaskName(), JavaCompile.class);
+        compileTask.configure(javaCompile -> ((ExtensionAware) javaCompile.getOptions())
+                .getExtensions()
+                .configure(ErrorProneOptions.class, errorProneOptions -> errorProneOptions
+                        .getEnabled()
+                        .set(false)));
+
+        TaskProvider<JavaCompile> errorProneCheck = project.getTasks()
+                .register(sourceSet.getTaskName(ERROR_PRONE_CHECK_TASK_VERB, null), JavaCompile.class, task -> {
+                    JavaCompile javaCompile = compileTask.get();
+                    task.setGroup(JavaBasePlugin.VERIFICATION_GROUP);
+                    task.setDescription("Runs error-prone on the " + sourceSet.getName() + " sources.");
+                    task.setSource(javaCompile.getSource());
+                    task.setClasspath(javaCompile.getClasspath());
+                    task.setSourceCompatibility(javaCompile.getSourceCompatibility());
+                    task.setTargetCompatibility(javaCompile.getTargetCompatibility());
+                    task.getJavaCompiler().set(javaCompile.getJavaCompiler());
+                    task.getModularity().getInferModulePath().set(javaCompile.getModularity().getInferModulePath());
+                    task.getOptions().getRelease().set(javaCompile.getOptions().getRelease());
+                    task.getOptions().setEncoding(javaCompile.getOptions().getEncoding());
+                    task.getOptions()
+                            .setAnnotationProcessorPath(
+                                    javaCompile.getOptions().getAnnotationProcessorPath());
+                    List<String> compilerArgs = new ArrayList<>(javaCompile.getOptions().getCompilerArgs());
+                    compilerArgs.add(STOP_AFTER_FLOW_ARG);
+                    task.getOptions().setCompilerArgs(compilerArgs);
+                    // Providers contribute flags such as '--enable-preview' and '--add-exports', but error-prone
+                    // registers its own provider on every compile task, so copying it would pass its arguments twice
+                    javaCompile.getOptions().getCompilerArgumentProviders().stream()
+                            .filter(provider -> !isErrorProneArgumentProvider(provider))
+                            .forEach(task.getOptions().getCompilerArgumentProviders()::add);
+                    copyForkOptions(javaCompile, task);
+                    task.getDestinationDirectory()
+                            .set(project.getLayout()
+                                    .getBuildDirectory()
+                                    .dir("errorProne/" + sourceSet.getName() + "/classes"));
+                    task.getOptions()
+                            .getGeneratedSourceOutputDirectory()
+                            .set(project.getLayout()
+                                    .getBuildDirectory()
+                                    .dir("errorProne/" + sourceSet.getName() + "/generated"));
+                    copyErrorProneOptions(javaCompile, task);
+                });
+
+        project.getTasks()
+                .named(JavaBasePlugin.CHECK_TASK_NAME)
+                .configure(check -> check.dependsOn(errorProneCheck));
+
+        // Summaries are written to the output of the check task, which only contains resources as it stops before
+        // generating classes. Only the jar includes them, so that compilation of consumers does not wait on analysis.
+        if (errorProneExtension.getExportSafetySummaries().get()
+                && project.getTasks().getNames().contains(sourceSet.getJarTaskName())) {
+            project.getTasks().named(sourceSet.getJarTaskName(), Jar.class).configure(jar -> jar.from(
+                    errorProneCheck.flatMap(JavaCompile::getDestinationDirectory),
+                    spec -> spec.include(SAFETY_SUMMARIES_DIRECTORY + "/**")));
+        }
+    }
+
+    private static boolean isErrorProneArgumentProvider(CommandLineArgumentProvider provider) {
+        return provider.getClass().getName().startsWith(ErrorPronePlugin.class.getPackage().getName() + ".");
+    }
+
+    /**
+     * Copies the error-prone options configured for the compile task, e.g. checks disabled by the build, excluding
+     * whether error-prone is enabled. Argument providers registered by this plugin refer to the compile task, so the
+     * check task keeps its own.
+     */
+    private static void copyErrorProneOptions(JavaCompile from, JavaCompile to) {
+        ErrorProneOptions source =
+                ((ExtensionAware) from.getOptions()).getExtensions().getByType(ErrorProneOptions.class);
+        ErrorProneOptions target =
+                ((ExtensionAware) to.getOptions()).getExtensions().getByType(ErrorProneOptions.class);
+        target.getDisableAllChecks().set(source.getDisableAllChecks());
+        target.getDisableAllWarnings().set(source.getDisableAllWarnings());
+        target.getAllErrorsAsWarnings().set(source.getAllErrorsAsWarnings());
+        target.getAllDisabledChecksAsWarnings().set(source.getAllDisabledChecksAsWarnings());
+        target.getDisableWarningsInGeneratedCode().set(source.getDisableWarningsInGeneratedCode());
+        target.getIgnoreUnknownCheckNames().set(source.getIgnoreUnknownCheckNames());
+        target.getIgnoreSuppressionAnnotations().set(source.getIgnoreSuppressionAnnotations());
+        target.getCompilingTestOnlyCode().set(source.getCompilingTestOnlyCode());
+        target.getExcludedPaths().set(source.getExcludedPaths());
+        target.getChecks().set(source.getChecks());
+        target.getCheckOptions().set(source.getCheckOptions());
+        target.getErrorproneArgs().set(source.getErrorproneArgs());
+        source.getErrorproneArgumentProviders().stream()
+                .filter(provider -> !provider.getClass().getName().startsWith(BaselineErrorProne.class.getName()))
+                .forEach(target.getErrorproneArgumentProviders()::add);
+    }
+
+    /**
+     * Copies the options of a forked compiler, e.g. its heap size and the JVM arguments which export compiler internals
+     * to annotation processors. Called when the check task is realized, once the compile task is fully configured.
+     */
+    private static void copyForkOptions(JavaCompile from, JavaCompile to) {
+        to.getOptions().setFork(from.getOptions().isFork());
+        ForkOptions source = from.getOptions().getForkOptions();
+        ForkOptions target = to.getOptions().getForkOptions();
+        target.setMemoryInitialSize(source.getMemoryInitialSize());
+        target.setMemoryMaximumSize(source.getMemoryMaximumSize());
+        target.setJvmArgs(source.getJvmArgs());
+        target.getJvmArgumentProviders().addAll(source.getJvmArgumentProviders());
+    }
+
     @SuppressWarnings("UnstableApiUsage")
     private static void configureErrorProneOptions(
             Project project,
@@ -140,8 +296,20 @@ public final class BaselineErrorProne implements Plugin<Project> {
         }
 
         errorProneOptions.getDisableWarningsInGeneratedCode().set(true);
+        errorProneOptions
+                .getCheckOptions()
+                .put(
+                        EXPORT_SAFETY_SUMMARIES_FLAG,
+                        errorProneExtension.getExportSafetySummaries().map(Object::toString));
         errorProneOptions.getExcludedPaths().set(excludedPathsRegex());
 
+        if (isLocalMode(project) && !isErrorProneRefactoring(project)) {
+            errorProneOptions
+                    .getErrorproneArgumentProviders()
+                    .add(new ChangedFilesOnlyArgumentProvider(
+                            registerGitChangedFiles(project, Optional.empty()), errorProneOptions.getExcludedPaths()));
+        }
+
         errorProneOptions.disable(
                 "AutoCloseableMustBeClosed",
                 "CatchSpecificity",
@@ -183,10 +351,77 @@ public final class BaselineErrorProne implements Plugin<Project> {
             errorProneOptions.disable("UnnecessaryLambda");
         }
 
-        if (isErrorProneRefactoring(project)) {
+        Optional<Provider<GitChangedFiles>> applyChangedFiles =
+                isErrorProneRefactoring(project) ? getErrorProneApplyChangedFiles(project) : Optional.empty();
+        if (applyChangedFiles.isPresent()) {
+            // Only tasks with changed sources are refactored, which must run again whenever they are requested. Other
+            // tasks keep their normal up-to-date checks and caching.
+            javaCompile.getOutputs().upToDateWhen(t -> !hasChangedSources(javaCompile, applyChangedFiles.get()));
+            javaCompile.getOutputs().cacheIf(t -> !hasChangedSources(javaCompile, applyChangedFiles.get()));
+        } else if (isErrorProneRefactoring(project)) {
             // Don't attempt to cache since it won't capture the source files that might be modified
             javaCompile.getOutputs().cacheIf(t -> false);
+        }
 
+        // This provider is registered even when not refactoring, so that compile tasks which are not refactored have
+        // the same inputs as in a normal build.
+        // TODO(gatesn): Is there a way to discover error-prone checks?
+        // Maybe service-load from a ClassLoader configured with annotation processor path?
+        // https://github.com/google/error-prone/pull/947
+        errorProneOptions.getErrorproneArgumentProviders().add(new CommandLineArgumentProvider() {
+            // intentionally not using a lambda to reduce gradle warnings
+            @Override
+            public Iterable<String> asArguments() {
+                if (!isErrorProneRefactoring(project)) {
+                    return ImmutableList.of();
+                }
+                if (!applyChangedFiles.isPresent()) {
+                    return getPatchArguments(project, errorProneExtension, javaCompile, errorProneOptions);
+                }
+                if (!hasChangedSources(javaCompile, applyChangedFiles.get())) {
+                    return ImmutableList.of();
+                }
+                // Only patch files which have been changed, everything else is excluded from analysis
+                return Iterables.concat(
+                        getPatchArguments(project, errorProneExtension, javaCompile, errorProneOptions),
+                        changedFilesOnlyArguments(
+                                Optional.ofNullable(errorProneOptions.getExcludedPaths().getOrNull()),
+                                applyChangedFiles.get().get().getChangedFiles()));
+            }
+        });
+    }
+
+    private static void removeRefactoringIncompatibleFlags(JavaCompile javaCompile) {
+        javaCompile.getOptions().setWarnings(false);
+        javaCompile.getOptions().setDeprecation(false);
+        javaCompile
+                .getOptions()
+                .setCompilerArgs(javaCompile.getOptions().getCompilerArgs().stream()
+                        .filter(arg -> !arg.equals("-Werror"))
+                        .filter(arg -> !arg.equals("-deprecation"))
+                        .filter(arg -> !arg.equals("-Xlint:deprecation"))
+                        .collect(Collectors.toList()));
+    }
+
+    private static Iterable<String> getPatchArguments(
+            Project project,
+            BaselineErrorProneExtension errorProneExtension,
+            JavaCompile javaCompile,
+            ErrorProneOptions errorProneOptions) {
+        Optional<List<String>> specificChecks = getSpecificErrorProneChecks(project);
+        if (specificChecks.isPresent()) {
+            List<String> errorProneChecks = specificChecks.get();
+            // Work around https://github.com/google/error-prone/issues/3908 by explicitly enabling any
+            // check we want to use patch checks for (ensuring it is not disabled); if this is fixed, the
+            // -Xep:*:ERROR arguments could be removed
+            return Iterables.concat(
+                    errorProneChecks.stream()
+                            .map(checkName -> "-Xep:" + checkName + ":ERROR")
+                            .collect(Collectors.toList()),
+                    ImmutableList.of(
+                            "-XepPatchChecks:" + Joiner.on(',').join(errorProneChecks),
+                            "-XepPatchLocation:IN_PLACE"));
+        } else {
             Optional<SourceSet> maybeSourceSet = project
                     .getExtensions()
                     .getByType(JavaPluginExtension.class)
@@ -194,37 +429,12 @@ public final class BaselineErrorProne implements Plugin<Project> {
                     .matching(ss -> javaCompile.getName().equals(ss.getCompileJavaTaskName()))
                     .stream()
                     .collect(MoreCollectors.toOptional());
-
-            // TODO(gatesn): Is there a way to discover error-prone checks?
-            // Maybe service-load from a ClassLoader configured with annotation processor path?
-            // https://github.com/google/error-prone/pull/947
-            errorProneOptions.getErrorproneArgumentProviders().add(new CommandLineArgumentProvider() {
-                // intentionally not using a lambda to reduce gradle warnings
-                @Override
-                public Iterable<String> asArguments() {
-                    Optional<List<String>> specificChecks = getSpecificErrorProneChecks(project);
-                    if (specificChecks.isPresent()) {
-                        List<String> errorProneChecks = specificChecks.get();
-                        // Work around https://github.com/google/error-prone/issues/3908 by explicitly enabling any
-                        // check we want to use patch checks for (ensuring it is not disabled); if this is fixed, the
-                        // -Xep:*:ERROR arguments could be removed
-                        return Iterables.concat(
-                                errorProneChecks.stream()
-                                        .map(checkName -> "-Xep:" + checkName + ":ERROR")
-                                        .collect(Collectors.toList()),
-                                ImmutableList.of(
-                                        "-XepPatchChecks:" + Joiner.on(',').join(errorProneChecks),
-                                        "-XepPatchLocation:IN_PLACE"));
-                    } else {
-                        // Don't apply checks that have been explicitly disabled
-                        Stream<String> errorProneChecks = getNotDisabledErrorproneChecks(
-                                project, errorProneExtension, javaCompile, maybeSourceSet, errorProneOptions);
-                        return ImmutableList.of(
-                                "-XepPatchChecks:" + Joiner.on(',').join(errorProneChecks.iterator()),
-                                "-XepPatchLocation:IN_PLACE");
-                    }
-                }
-            });
+            // Don't apply checks that have been explicitly disabled
+            Stream<String> errorProneChecks = getNotDisabledErrorproneChecks(
+                    project, errorProneExtension, javaCompile, maybeSourceSet, errorProneOptions);
+            return ImmutableList.of(
+                    "-XepPatchChecks:" + Joiner.on(',').join(errorProneChecks.iterator()),
+                    "-XepPatchLocation:IN_PLACE");
         }
     }
 
@@ -235,6 +445,27 @@ public final class BaselineErrorProne implements Plugin<Project> {
         return ".*/(build|generated_.*[sS]rc|src/generated.*)/.*";
     }
 
+    /**
+     * Extends {@link #excludedPathsRegex()} to additionally exclude every file which is not one of the given files.
+     */
+    static String excludedPathsRegex(Collection<File> includedFiles) {
+        return excludedPathsRegex(Optional.of(excludedPathsRegex()), includedFiles);
+    }
+
+    /** Extends the given excluded paths to additionally exclude every file which is not one of the given files. */
+    static String excludedPathsRegex(Optional<String> excludedPaths, Collection<File> includedFiles) {
+        if (includedFiles.isEmpty()) {
+            return ".*";
+        }
+        // Error-prone matches the entire path, so a negative lookahead excludes everything except the given files.
+        // The leading '.*' allows for platform specific prefixes such as '/C:' on windows.
+        String notIncluded = includedFiles.stream()
+                .map(file -> Pattern.quote(file.getAbsolutePath().replace(File.separatorChar, '/')))
+                .sorted()
+                .collect(Collectors.joining("|", "(?!.*(?:", ")$).*"));
+        return excludedPaths.map(paths -> paths + "|" + notIncluded).orElse(notIncluded);
+    }
+
     private static Optional<List<String>> getSpecificErrorProneChecks(Project project) {
         return Optional.ofNullable(project.findProperty(PROP_ERROR_PRONE_APPLY))
                 .map(Objects::toString)
@@ -320,10 +551,63 @@ public final class BaselineErrorProne implements Plugin<Project> {
         };
     }
 
+    private static boolean isLocalMode(Project project) {
+        return isLocalMode(project.findProperty(LOCAL_MODE_PROPERTY), System.getenv("CI"));
+    }
+
+    /** Local mode is opt-in and never enabled on CI, where every file must be analyzed. */
+    static boolean isLocalMode(@Nullable Object localMode, @Nullable String ci) {
+        return localMode != null && !localMode.equals("false") && !"true".equals(ci);
+    }
+
     private static boolean isErrorProneRefactoring(Project project) {
         return project.hasProperty(PROP_ERROR_PRONE_APPLY);
     }
 
+    private static boolean hasChangedSources(JavaCompile javaCompile, Provider<GitChangedFiles> changedFiles) {
+        Set<File> files = changedFiles
+                .get()
+                .getChangedFiles()
+                .orElseThrow(() -> new GradleException(String.format(
+                        "Unable to determine changed files for -P%s, is this a git repository?",
+                        PROP_ERROR_PRONE_APPLY_SCOPE)));
+        return javaCompile.getSource().getFiles().stream().anyMatch(file -> files.contains(file.getAbsoluteFile()));
+    }
+
+    private static Optional<Provider<GitChangedFiles>> getErrorProneApplyChangedFiles(Project project) {
+        return Optional.ofNullable(project.findProperty(PROP_ERROR_PRONE_APPLY_SCOPE))
+                .map(Objects::toString)
+                .flatMap(value -> Optional.ofNullable(Strings.emptyToNull(value)))
+                .map(scope -> {
+                    if (scope.equals(APPLY_SCOPE_CHANGED)) {
+                        return Optional.<String>empty();
+                    }
+                    if (scope.startsWith(APPLY_SCOPE_SINCE_PREFIX)
+                            && scope.length() > APPLY_SCOPE_SINCE_PREFIX.length()) {
+                        return Optional.of(scope.substring(APPLY_SCOPE_SINCE_PREFIX.length()));
+                    }
+                    throw new GradleException(String.format(
+                            "Unsupported value for -P%s: '%s'. Expected '%s' or '%s<ref>'",
+                            PROP_ERROR_PRONE_APPLY_SCOPE,
+                            scope,
+                            APPLY_SCOPE_CHANGED,
+                            APPLY_SCOPE_SINCE_PREFIX));
+                })
+                .map(baseRef -> registerGitChangedFiles(project, baseRef));
+    }
+
+    private static Provider<GitChangedFiles> registerGitChangedFiles(Project project, Optional<String> baseRef) {
+        return project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent(
+                        "baselineGitChangedFiles-" + baseRef.orElse("default"), GitChangedFiles.class, spec -> {
+                            spec.getParameters()
+                                    .getWorkingDirectory()
+                                    .set(project.getRootProject().getLayout().getProjectDirectory());
+                            baseRef.ifPresent(ref -> spec.getParameters().getBaseRef().set(ref));
+                        });
+    }
+
     private static boolean isDisabled(Project project) {
         Object disable = project.findProperty(DISABLE_PROPERTY);
         if (disable == null) {
@@ -333,6 +617,48 @@ public final class BaselineErrorProne implements Plugin<Project> {
         }
     }
 
+    /**
+     * Limits analysis to files changed relative to the merge-base of the working tree. Git is only run once the task
+     * executes, rather than while configuring the build. The changed files are intentionally not a task input: they
+     * only affect which diagnostics are reported, not the compiled classes, and tracking them would force a full
+     * recompilation whenever another file is touched. Arguments from providers are passed after
+     * {@link ErrorProneOptions#getExcludedPaths()}, so the configured excluded paths are combined into this argument.
+     */
+    private static final class ChangedFilesOnlyArgumentProvider implements CommandLineArgumentProvider {
+        private final Provider<GitChangedFiles> gitChangedFiles;
+        private final Provider<String> excludedPaths;
+
+        ChangedFilesOnlyArgumentProvider(Provider<GitChangedFiles> gitChangedFiles, Provider<String> excludedPaths) {
+            this.gitChangedFiles = gitChangedFiles;
+            this.excludedPaths = excludedPaths;
+        }
+
+        @Internal
+        public Provider<GitChangedFiles> getGitChangedFiles() {
+            return gitChangedFiles;
+        }
+
+        /** Already tracked as an input of {@link ErrorProneOptions}. */
+        @Internal
+        public Provider<String> getExcludedPaths() {
+            return excludedPaths;
+        }
+
+        @Override
+        public Iterable<String> asArguments() {
+            return changedFilesOnlyArguments(
+                    Optional.ofNullable(excludedPaths.getOrNull()),
+                    gitChangedFiles.get().getChangedFiles());
+        }
+    }
+
+    static List<String> changedFilesOnlyArguments(Optional<String> excludedPaths, Optional<Set<File>> changedFiles) {
+        return changedFiles
+                .map(files -> ImmutableList.of("-XepExcludedPaths:" + excludedPathsRegex(excludedPaths, files)))
+                // Fall back to analyzing everything if changes can't be determined
+                .orElseGet(ImmutableList::of);
+    }
+
     private static boolean checkExplicitlyDisabled(ErrorProneOptions errorProneOptions, String check) {
         Map<String, CheckSeverity> checks = errorProneOptions.getChecks().get();
         return checks.get(check) == CheckSeverity.OFF
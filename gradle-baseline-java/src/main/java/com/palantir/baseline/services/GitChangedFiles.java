@@ -0,0 +1,140 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.baseline.services;
+
+import com.google.common.base.Splitter;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Computes the set of files changed in the git working tree relative to the merge-base of {@code HEAD} and a base
+ * ref. Uncommitted and untracked files are always considered changed. The result is computed at most once per build.
+ */
+public abstract class GitChangedFiles implements BuildService<GitChangedFiles.Params> {
+    private static final Logger log = Logging.getLogger(GitChangedFiles.class);
+
+    /** Used when no base ref is configured: the remote default branch, falling back to {@code HEAD}. */
+    private static final ImmutableList<String> DEFAULT_BASE_REFS = ImmutableList.of("origin/HEAD", "HEAD");
+
+    public interface Params extends BuildServiceParameters {
+        DirectoryProperty getWorkingDirectory();
+
+        Property<String> getBaseRef();
+    }
+
+    private final Supplier<Optional<Set<File>>> changedFiles = Suppliers.memoize(this::computeChangedFiles);
+
+    /**
+     * Returns the absolute paths of changed files, or {@link Optional#empty()} if they could not be determined, e.g.
+     * because the build is not running inside a git repository.
+     */
+    public final Optional<Set<File>> getChangedFiles() {
+        return changedFiles.get();
+    }
+
+    private Optional<Set<File>> computeChangedFiles() {
+        File workingDir = getParameters().getWorkingDirectory().get().getAsFile();
+        try {
+            // Resolve the top level relative to the working directory rather than using '--show-toplevel', which
+            // returns a canonical path that may not match the paths of the sources being compiled.
+            List<String> cdup = git(workingDir, "rev-parse", "--show-cdup");
+            File topLevel = workingDir
+                    .toPath()
+                    .resolve(cdup.isEmpty() ? "" : cdup.get(0).trim())
+                    .normalize()
+                    .toFile();
+            String mergeBase = git(topLevel, "merge-base", resolveBaseRef(topLevel), "HEAD")
+                    .get(0)
+                    .trim();
+
+            ImmutableSet.Builder<File> files = ImmutableSet.builder();
+            // Comparing the working tree against a commit covers committed, staged and unstaged changes
+            git(topLevel, "diff", "--name-only", "--no-renames", "--diff-filter=d", mergeBase)
+                    .forEach(path -> files.add(new File(topLevel, path)));
+            git(topLevel, "ls-files", "--others", "--exclude-standard", "--full-name")
+                    .forEach(path -> files.add(new File(topLevel, path)));
+            Set<File> result = files.build();
+            log.info("Found {} files changed since {} in {}", result.size(), mergeBase, topLevel);
+            return Optional.of(result);
+        } catch (RuntimeException e) {
+            log.warn("Unable to determine changed files in {}", workingDir, e);
+            return Optional.empty();
+        }
+    }
+
+    private String resolveBaseRef(File topLevel) {
+        if (getParameters().getBaseRef().isPresent()) {
+            return getParameters().getBaseRef().get();
+        }
+        return DEFAULT_BASE_REFS.stream()
+                .filter(ref -> isValidCommit(topLevel, ref))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unable to resolve any of " + DEFAULT_BASE_REFS));
+    }
+
+    private static boolean isValidCommit(File topLevel, String ref) {
+        try {
+            git(topLevel, "rev-parse", "--verify", "--quiet", ref + "^{commit}");
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static List<String> git(File directory, String... args) {
+        List<String> command = ImmutableList.<String>builder()
+                .add("git")
+                .add(args)
+                .build();
+        try {
+            Process process = new ProcessBuilder(command)
+                    .directory(directory)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            String output;
+            try (InputStream inputStream = process.getInputStream()) {
+                output = new String(ByteStreams.toByteArray(inputStream), StandardCharsets.UTF_8);
+            }
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new RuntimeException("Command " + command + " failed with exit code " + exitCode);
+            }
+            return Splitter.on('\n').omitEmptyStrings().splitToList(output);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to run " + command, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running " + command, e);
+        }
+    }
+}
@@ -83,7 +83,10 @@ public abstract class JarClassHasher implements BuildService<BuildServiceParamet
                         continue;
                     }
 
-                    String className = entry.getName().replaceAll("/", ".").replaceAll("\\.class$", "");
+                    String entryName = entry.getName();
+                    String className = entryName
+                            .substring(0, entryName.length() - ".class".length())
+                            .replace('/', '.');
                     HashingInputStream inputStream = new HashingInputStream(Hashing.sha256(), jarInputStream);
                     ByteStreams.exhaust(inputStream);
 
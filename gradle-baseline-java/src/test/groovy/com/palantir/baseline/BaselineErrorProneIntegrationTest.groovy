@@ -17,6 +17,8 @@
 package com.palantir.baseline
 
 
+import com.google.common.collect.MoreCollectors
+import java.util.jar.JarFile
 import org.gradle.testkit.runner.BuildResult
 import org.gradle.testkit.runner.TaskOutcome
 import spock.lang.Unroll
@@ -156,6 +158,113 @@ class BaselineErrorProneIntegrationTest extends AbstractPluginTest {
         result.task(":compileJava").outcome == TaskOutcome.SUCCESS
     }
 
+    def 'errorProneCheck reports errors when analysis runs in a separate task'() {
+        when:
+        buildFile << standardBuildFile
+        buildFile << '''
+            baselineErrorProne {
+                analyzeInSeparateTask = true
+            }
+        '''.stripIndent()
+        file('src/main/java/test/Test.java') << invalidJavaFile
+
+        then:
+        with('compileJava').build().task(":compileJava").outcome == TaskOutcome.SUCCESS
+        BuildResult result = with('check').buildAndFail()
+        result.task(":errorProneCheck").outcome == TaskOutcome.FAILED
+        result.output.contains("[ArrayEquals] Reference equality used to compare arrays")
+    }
+
+    def 'errorProneCheck uses the compiler argument providers of compileJava'() {
+        when:
+        buildFile << standardBuildFile
+        buildFile << '''
+            baselineErrorProne {
+                analyzeInSeparateTask = true
+            }
+            tasks.named('compileJava') {
+                options.compilerArgumentProviders.add({
+                    ['--add-exports', 'jdk.compiler/com.sun.tools.javac.util=ALL-UNNAMED']
+                } as CommandLineArgumentProvider)
+            }
+        '''.stripIndent()
+        file('src/main/java/test/Test.java') << '''
+        package test;
+        import com.sun.tools.javac.util.Context;
+        public class Test {
+            Context context() {
+                return new Context();
+            }
+        }
+        '''.stripIndent()
+
+        then:
+        BuildResult result = with('errorProneCheck').build()
+        result.task(":errorProneCheck").outcome == TaskOutcome.SUCCESS
+    }
+
+    def 'errorProneCheck uses the error-prone options of compileJava'() {
+        when:
+        buildFile << standardBuildFile
+        buildFile << '''
+            baselineErrorProne {
+                analyzeInSeparateTask = true
+            }
+            tasks.named('compileJava') {
+                options.errorprone.disable 'ArrayEquals'
+            }
+        '''.stripIndent()
+        file('src/main/java/test/Test.java') << '''
+        package test;
+        public class Test {
+            boolean test(int[] a, int[] b) {
+                return a.equals(b);
+            }
+        }
+        '''.stripIndent()
+
+        then:
+        BuildResult result = with('errorProneCheck').build()
+        result.task(":errorProneCheck").outcome == TaskOutcome.SUCCESS
+        !result.output.contains("[ArrayEquals]")
+    }
+
+    @Unroll
+    def 'jar contains safety summaries when analyzeInSeparateTask is #analyzeInSeparateTask'() {
+        when:
+        buildFile << standardBuildFile
+        buildFile << """
+            baselineErrorProne {
+                analyzeInSeparateTask = $analyzeInSeparateTask
+                exportSafetySummaries = true
+            }
+            dependencies {
+                implementation 'com.palantir.safe-logging:safe-logging:3.7.0'
+            }
+        """.stripIndent()
+        file('src/main/java/test/Test.java') << '''
+        package test;
+        import com.palantir.logsafe.DoNotLog;
+        public final class Test {
+            @DoNotLog private static final String SECRET = "secret";
+            public static String secret() {
+                return SECRET;
+            }
+        }
+        '''.stripIndent()
+
+        then:
+        with('jar').build()
+        JarFile jarFile = Arrays.stream(directory("build/libs").listFiles())
+                .filter(file -> file.name.endsWith(".jar"))
+                .map(JarFile::new)
+                .collect(MoreCollectors.onlyElement())
+        jarFile.getEntry('META-INF/baseline/safety-summaries/test.Test') != null
+
+        where:
+        analyzeInSeparateTask << [false, true]
+    }
+
     def 'compileJava applies patches when error-prone finds errors'() {
         when:
         buildFile << standardBuildFile
@@ -181,6 +290,27 @@ class BaselineErrorProneIntegrationTest extends AbstractPluginTest {
         '''.stripIndent()
     }
 
+    def 'errorProneApplyScope only recompiles tasks with changed sources'() {
+        when:
+        buildFile << standardBuildFile
+        file('src/main/java/test/Main.java') << validJavaFile.replace('class Test', 'class Main')
+        "git init".execute(Collections.emptyList(), projectDir).waitFor()
+        "git config user.name Foo".execute(Collections.emptyList(), projectDir).waitFor()
+        "git config user.email foo@bar.com".execute(Collections.emptyList(), projectDir).waitFor()
+        "git add .".execute(Collections.emptyList(), projectDir).waitFor()
+        "git commit -m Commit".execute(Collections.emptyList(), projectDir).waitFor()
+        with('compileJava').build()
+        file('src/test/java/test/Test.java') << invalidJavaFile
+
+        then:
+        BuildResult result = with(
+                        'compileJava', 'compileTestJava', '-PerrorProneApply', '-PerrorProneApplyScope=since=HEAD')
+                .build()
+        result.task(":compileJava").outcome == TaskOutcome.UP_TO_DATE
+        result.task(":compileTestJava").outcome == TaskOutcome.SUCCESS
+        file('src/test/java/test/Test.java').text.contains('Arrays.equals(a, b)')
+    }
+
     def 'compileJava applies patches when errorProneApply contains specific checks'() {
         when:
         buildFile << standardBuildFile
@@ -31,4 +31,78 @@ class BaselineErrorProneTest extends Specification {
         predicate.test 'tritium-metrics/build/metricSchema/generated_src/com/palantir/tritium/metrics/TlsMetrics.java'
         predicate.test 'tritium-jmh/generated_testSrc/com/palantir/tritium/microbenchmarks/generated/ProxyBenchmark_jmhType.java'
     }
+
+    void testExcludedPathsRestrictedToChangedFiles() {
+        when:
+        File changed = new File('/repo/project/src/main/java/test/Changed.java')
+        String excludedPaths = BaselineErrorProne.excludedPathsRegex([changed])
+        def predicate = Pattern.compile(excludedPaths).asMatchPredicate()
+
+        then:
+        !predicate.test('/repo/project/src/main/java/test/Changed.java')
+        predicate.test '/repo/project/src/main/java/test/Unchanged.java'
+        predicate.test '/repo/project/src/main/java/test/Changed.java.orig'
+        predicate.test '/repo/project/build/generated/sources/annotationProcessor/java/main/test/Changed.java'
+    }
+
+    void testExcludedPathsWithoutChangedFiles() {
+        when:
+        def predicate = Pattern.compile(BaselineErrorProne.excludedPathsRegex([])).asMatchPredicate()
+
+        then:
+        predicate.test '/repo/project/src/main/java/test/Unchanged.java'
+    }
+
+    void testLocalModeEnabledByAnyValueExceptFalse() {
+        expect:
+        BaselineErrorProne.isLocalMode('true', null)
+        BaselineErrorProne.isLocalMode('', null)
+        BaselineErrorProne.isLocalMode('yes', 'false')
+        !BaselineErrorProne.isLocalMode('false', null)
+        !BaselineErrorProne.isLocalMode(null, null)
+    }
+
+    void testLocalModeDisabledOnCi() {
+        expect:
+        !BaselineErrorProne.isLocalMode('true', 'true')
+    }
+
+    void testChangedFilesOnlyArgumentsExcludeUnchangedFiles() {
+        when:
+        File changed = new File('/repo/project/src/main/java/test/Changed.java')
+        List<String> arguments = BaselineErrorProne.changedFilesOnlyArguments(
+                Optional.of(BaselineErrorProne.excludedPathsRegex()), Optional.of([changed] as Set))
+
+        then:
+        arguments == ['-XepExcludedPaths:' + BaselineErrorProne.excludedPathsRegex([changed])]
+    }
+
+    void testChangedFilesOnlyArgumentsKeepConfiguredExcludedPaths() {
+        when:
+        File changed = new File('/repo/project/src/main/java/test/Changed.java')
+        List<String> arguments = BaselineErrorProne.changedFilesOnlyArguments(
+                Optional.of('.*/src/main/java/test/Changed.java'), Optional.of([changed] as Set))
+        def predicate = Pattern.compile(arguments[0] - '-XepExcludedPaths:').asMatchPredicate()
+
+        then:
+        predicate.test '/repo/project/src/main/java/test/Changed.java'
+        predicate.test '/repo/project/src/main/java/test/Unchanged.java'
+    }
+
+    void testChangedFilesOnlyArgumentsWithoutConfiguredExcludedPaths() {
+        when:
+        File changed = new File('/repo/project/src/main/java/test/Changed.java')
+        List<String> arguments =
+                BaselineErrorProne.changedFilesOnlyArguments(Optional.empty(), Optional.of([changed] as Set))
+        def predicate = Pattern.compile(arguments[0] - '-XepExcludedPaths:').asMatchPredicate()
+
+        then:
+        !predicate.test('/repo/project/src/main/java/test/Changed.java')
+        predicate.test '/repo/project/src/main/java/test/Unchanged.java'
+    }
+
+    void testChangedFilesOnlyArgumentsWithoutGit() {
+        expect:
+        BaselineErrorProne.changedFilesOnlyArguments(Optional.empty(), Optional.empty()).isEmpty()
+    }
 }